@@ -0,0 +1,26 @@
+package com.theinside.partii.cache;
+
+/**
+ * Message broadcast to every API node when cached state must be dropped.
+ *
+ * @param origin node that published the message, so it can skip its own echo
+ * @param type   what kind of entry to invalidate; {@link Type#EVENT_ENDED} is
+ *               for events that can no longer show up in search or nearby results
+ * @param id     event or user ID; null for {@link Type#PUBLIC_FEED}
+ * @param at     epoch millis of a revocation, only set for {@link Type#USER_REVOKED}
+ */
+public record CacheInvalidation(
+    String origin,
+    Type type,
+    Long id,
+    Long at
+) {
+    public enum Type {
+        EVENT,
+        EVENT_ENDED,
+        PUBLIC_FEED,
+        USER,
+        USER_REVOKED,
+        USER_REVOCATION_CLEARED
+    }
+}
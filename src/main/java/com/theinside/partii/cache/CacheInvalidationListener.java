@@ -0,0 +1,70 @@
+package com.theinside.partii.cache;
+
+import com.theinside.partii.search.EventSearchEngine;
+import com.theinside.partii.search.EventSpatialIndex;
+import com.theinside.partii.security.PrincipalCache;
+import com.theinside.partii.security.PrincipalRevocationList;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Applies {@link CacheInvalidation} messages published by other nodes to the
+ * local near caches and the event indexes. Messages published by this node are
+ * ignored, since the publisher already evicted its own entries.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationListener implements MessageListener {
+
+    private final CacheInvalidationPublisher publisher;
+    private final EventCache eventCache;
+    private final EventSpatialIndex eventSpatialIndex;
+    private final EventSearchEngine eventSearchEngine;
+    private final PrincipalCache principalCache;
+    private final PrincipalRevocationList principalRevocationList;
+    private final JsonMapper jsonMapper;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = jsonMapper.readValue(
+                new String(message.getBody(), StandardCharsets.UTF_8), CacheInvalidation.class);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+
+        if (publisher.getNodeId().equals(invalidation.origin())) {
+            return;
+        }
+
+        switch (invalidation.type()) {
+            case EVENT -> {
+                eventCache.evictLocally(invalidation.id());
+                eventSpatialIndex.refresh(invalidation.id());
+                eventSearchEngine.refresh(invalidation.id());
+            }
+            case EVENT_ENDED -> {
+                eventCache.evictLocally(invalidation.id());
+                eventSpatialIndex.remove(invalidation.id());
+                eventSearchEngine.remove(invalidation.id());
+            }
+            case PUBLIC_FEED -> eventCache.evictLocally(null);
+            case USER -> principalCache.evict(invalidation.id());
+            case USER_REVOKED -> {
+                Instant at = invalidation.at() != null ? Instant.ofEpochMilli(invalidation.at()) : Instant.now();
+                principalRevocationList.revokeLocally(invalidation.id(), at);
+                principalCache.evict(invalidation.id());
+            }
+            case USER_REVOCATION_CLEARED -> principalRevocationList.clearLocally(invalidation.id());
+        }
+        log.debug("Applied remote {} invalidation for {}", invalidation.type(), invalidation.id());
+    }
+}
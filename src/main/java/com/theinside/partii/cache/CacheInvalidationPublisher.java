@@ -0,0 +1,57 @@
+package com.theinside.partii.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.UUID;
+
+/**
+ * Publishes {@link CacheInvalidation} messages over Redis pub/sub so that the
+ * near caches on every other node drop entries mutated on this one.
+ *
+ * Delivery is best effort; near-cache TTLs bound staleness if a message is lost.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationPublisher {
+
+    public static final String CHANNEL = "partii:cache:invalidation";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+
+    public CacheInvalidationPublisher(
+        StringRedisTemplate redisTemplate,
+        JsonMapper jsonMapper,
+        @Value("${partii.cache.invalidation.pubsub-enabled:true}") boolean enabled
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void publish(CacheInvalidation.Type type, Long id) {
+        publish(type, id, null);
+    }
+
+    public void publish(CacheInvalidation.Type type, Long id, Long at) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String message = jsonMapper.writeValueAsString(new CacheInvalidation(nodeId, type, id, at));
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish {} invalidation for {}: {}", type, id, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.theinside.partii.cache;
+
+import com.theinside.partii.dto.CursorPage;
+import com.theinside.partii.dto.EventResponse;
+import com.theinside.partii.utils.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier read-through cache for the hot event read paths: a short-lived
+ * near cache on each node in front of a shared Redis tier.
+ *
+ * Every cached value is stored as "version:json" next to a version counter.
+ * Readers fetch the value and the counter in one MGET and only accept a value
+ * written under the current version; writers bump the counter after commit.
+ * This closes the race where a reader repopulates the cache with a row it
+ * read just before a concurrent update committed. Counters expire well after
+ * the values they guard; a bump also deletes the value, so a counter that
+ * expires and restarts can never match a value written under an old one.
+ *
+ * After commit, writers also evict their own near cache and broadcast a
+ * {@link CacheInvalidation} so other nodes do the same. A local epoch counter
+ * keeps a reader from refilling the near cache with a value fetched before an
+ * invalidation arrived; the near-cache TTL bounds staleness if a message is lost.
+ *
+ * Redis failures never fail a request: they are logged and the loader is used.
+ */
+@Slf4j
+@Component
+public class EventCache {
+
+    private static final String EVENT_KEY = "partii:event:";
+    private static final String EVENT_VERSION_SUFFIX = ":version";
+    private static final String PRIVATE_CODE_KEY = "partii:event:code:";
+    private static final String PUBLIC_FIRST_PAGE_KEY = "partii:events:public:first:";
+    private static final String PUBLIC_VERSION_KEY = "partii:events:public:version";
+
+    private final StringRedisTemplate redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final boolean enabled;
+    private final Duration eventTtl;
+    private final Duration publicPageTtl;
+    private final Duration versionTtl;
+    private final JavaType publicPageType;
+
+    private final LocalTtlCache<Long, EventResponse> nearEvents;
+    private final LocalTtlCache<String, Long> nearPrivateCodes;
+    private final LocalTtlCache<Integer, CursorPage<EventResponse>> nearPublicPages;
+    private final AtomicLong localEpoch = new AtomicLong();
+
+    public EventCache(
+        StringRedisTemplate redisTemplate,
+        JsonMapper jsonMapper,
+        CacheInvalidationPublisher invalidationPublisher,
+        @Value("${partii.cache.events.enabled:true}") boolean enabled,
+        @Value("${partii.cache.events.ttl:PT10M}") Duration eventTtl,
+        @Value("${partii.cache.events.public-page-ttl:PT30S}") Duration publicPageTtl,
+        @Value("${partii.cache.near.max-size:10000}") int nearMaxSize,
+        @Value("${partii.cache.near.ttl:PT5S}") Duration nearTtl
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.invalidationPublisher = invalidationPublisher;
+        this.enabled = enabled;
+        this.eventTtl = eventTtl;
+        this.publicPageTtl = publicPageTtl;
+        this.versionTtl = (eventTtl.compareTo(publicPageTtl) >= 0 ? eventTtl : publicPageTtl).multipliedBy(2);
+        this.publicPageType = jsonMapper.getTypeFactory()
+            .constructParametricType(CursorPage.class, EventResponse.class);
+        this.nearEvents = new LocalTtlCache<>(nearMaxSize, nearTtl);
+        this.nearPrivateCodes = new LocalTtlCache<>(nearMaxSize, eventTtl);
+        this.nearPublicPages = new LocalTtlCache<>(100, nearTtl);
+    }
+
+    // ===== Reads =====
+
+    public EventResponse getEvent(Long eventId, Supplier<EventResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        EventResponse near = nearEvents.get(eventId);
+        if (near != null) {
+            return near;
+        }
+        long epoch = localEpoch.get();
+        String key = EVENT_KEY + eventId;
+        EventResponse response = readThrough(key, key + EVENT_VERSION_SUFFIX, eventTtl, loader, EventResponse.class);
+        if (epoch == localEpoch.get()) {
+            nearEvents.put(eventId, response);
+        }
+        return response;
+    }
+
+    /**
+     * Same as {@link #getEvent} for many events, with one MGET for those not in
+     * the near cache and one loader call for those not in Redis either.
+     * @return the events found, in the order of the given IDs
+     */
+    public List<EventResponse> getEvents(List<Long> eventIds, Function<List<Long>, List<EventResponse>> loader) {
+        if (!enabled) {
+            return inOrder(eventIds, loader.apply(eventIds));
+        }
+        long epoch = localEpoch.get();
+        Map<Long, EventResponse> found = new HashMap<>();
+        List<Long> remote = new ArrayList<>();
+        for (Long eventId : eventIds) {
+            EventResponse near = nearEvents.get(eventId);
+            if (near != null) {
+                found.put(eventId, near);
+            } else {
+                remote.add(eventId);
+            }
+        }
+
+        Map<Long, String> versions = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        if (!remote.isEmpty()) {
+            List<String> keys = new ArrayList<>(remote.size() * 2);
+            for (Long eventId : remote) {
+                keys.add(EVENT_KEY + eventId);
+                keys.add(EVENT_KEY + eventId + EVENT_VERSION_SUFFIX);
+            }
+            List<String> values = null;
+            try {
+                values = redisTemplate.opsForValue().multiGet(keys);
+            } catch (RuntimeException e) {
+                log.warn("Event cache read failed for {} events: {}", remote.size(), e.getMessage());
+            }
+            for (int i = 0; i < remote.size(); i++) {
+                Long eventId = remote.get(i);
+                String version = values != null && values.get(2 * i + 1) != null ? values.get(2 * i + 1) : "0";
+                EventResponse cached = values != null ? parseVersioned(values.get(2 * i), version) : null;
+                if (cached != null) {
+                    found.put(eventId, cached);
+                } else {
+                    versions.put(eventId, version);
+                    missing.add(eventId);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<EventResponse> loaded = loader.apply(missing);
+            loaded.forEach(event -> found.put(event.id(), event));
+            writeVersioned(loaded, versions);
+        }
+
+        if (epoch == localEpoch.get()) {
+            found.forEach(nearEvents::put);
+        }
+        return inOrder(eventIds, found.values());
+    }
+
+    /**
+     * Resolves the private link code to an event ID through Redis and then serves
+     * the event detail from the same entry as {@link #getEvent}.
+     */
+    public EventResponse getEventByPrivateLinkCode(String privateLinkCode, Supplier<EventResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Long nearId = nearPrivateCodes.get(privateLinkCode);
+        if (nearId != null) {
+            return getEvent(nearId, loader);
+        }
+        String codeKey = PRIVATE_CODE_KEY + privateLinkCode;
+        String eventId = safeGet(codeKey);
+        if (eventId != null) {
+            nearPrivateCodes.put(privateLinkCode, Long.valueOf(eventId));
+            return getEvent(Long.valueOf(eventId), loader);
+        }
+
+        EventResponse response = loader.get();
+        if (response != null) {
+            // The code never changes for an event, so the mapping needs no invalidation
+            safeSet(codeKey, String.valueOf(response.id()), eventTtl);
+            nearPrivateCodes.put(privateLinkCode, response.id());
+        }
+        return response;
+    }
+
+    /**
+     * Caches the first page of the public feed per page size. Deeper pages are
+     * cursor-addressed and not worth caching.
+     */
+    public CursorPage<EventResponse> getPublicFirstPage(int limit, Supplier<CursorPage<EventResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CursorPage<EventResponse> near = nearPublicPages.get(limit);
+        if (near != null) {
+            return near;
+        }
+        long epoch = localEpoch.get();
+        CursorPage<EventResponse> page =
+            readThrough(PUBLIC_FIRST_PAGE_KEY + limit, PUBLIC_VERSION_KEY, publicPageTtl, loader, publicPageType);
+        if (epoch == localEpoch.get()) {
+            nearPublicPages.put(limit, page);
+        }
+        return page;
+    }
+
+    // ===== Invalidation =====
+
+    /**
+     * Invalidates the cached detail for an event and the public feed on every
+     * node once the current transaction commits (immediately when there is none).
+     */
+    public void invalidateEvent(Long eventId) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            bumpVersion(EVENT_KEY + eventId, EVENT_KEY + eventId + EVENT_VERSION_SUFFIX);
+            bumpVersion(null, PUBLIC_VERSION_KEY);
+            evictLocally(eventId);
+            invalidationPublisher.publish(CacheInvalidation.Type.EVENT, eventId);
+        });
+    }
+
+    /**
+     * Invalidates many events at once after commit. Same as calling
+     * {@link #invalidateEvent(Long)} for each, but bumps the public feed once.
+     */
+    public void invalidateEvents(List<Long> eventIds) {
+        invalidateEvents(eventIds, CacheInvalidation.Type.EVENT);
+    }
+
+    /**
+     * Same as {@link #invalidateEvents(List)} for events that have ended (PAST,
+     * ARCHIVED or moved to the archive tier). Other nodes drop them from their
+     * indexes instead of reloading them.
+     */
+    public void invalidateEndedEvents(List<Long> eventIds) {
+        invalidateEvents(eventIds, CacheInvalidation.Type.EVENT_ENDED);
+    }
+
+    private void invalidateEvents(List<Long> eventIds, CacheInvalidation.Type type) {
+        if (!enabled || eventIds.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            bumpEventVersions(eventIds);
+            for (Long eventId : eventIds) {
+                nearEvents.invalidate(eventId);
+                invalidationPublisher.publish(type, eventId);
+            }
+            bumpVersion(null, PUBLIC_VERSION_KEY);
+            evictLocally(null);
+        });
+    }
+
+    /**
+     * Invalidates the cached public feed only, e.g. when a new event becomes visible.
+     */
+    public void invalidatePublicFeed() {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            bumpVersion(null, PUBLIC_VERSION_KEY);
+            evictLocally(null);
+            invalidationPublisher.publish(CacheInvalidation.Type.PUBLIC_FEED, null);
+        });
+    }
+
+    /**
+     * Drops near-cache entries on this node only. Called for invalidations
+     * received from other nodes; a null event ID evicts just the public feed.
+     */
+    public void evictLocally(Long eventId) {
+        localEpoch.incrementAndGet();
+        if (eventId != null) {
+            nearEvents.invalidate(eventId);
+        }
+        nearPublicPages.invalidateAll();
+    }
+
+    // ===== Internals =====
+
+    private <T> T readThrough(String key, String versionKey, Duration ttl, Supplier<T> loader, Class<T> type) {
+        return readThrough(key, versionKey, ttl, loader, jsonMapper.constructType(type));
+    }
+
+    private <T> T readThrough(String key, String versionKey, Duration ttl, Supplier<T> loader, JavaType type) {
+        String version = "0";
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of(key, versionKey));
+            if (values != null) {
+                String cached = values.get(0);
+                version = values.get(1) != null ? values.get(1) : "0";
+                if (cached != null && cached.startsWith(version + ":")) {
+                    return jsonMapper.readValue(cached.substring(version.length() + 1), type);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Event cache read failed for {}: {}", key, e.getMessage());
+        }
+
+        T loaded = loader.get();
+        if (loaded != null) {
+            try {
+                safeSet(key, version + ":" + jsonMapper.writeValueAsString(loaded), ttl);
+            } catch (RuntimeException e) {
+                log.warn("Event cache serialization failed for {}: {}", key, e.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * The value of a "version:json" entry if it was written under the given version.
+     */
+    private EventResponse parseVersioned(String cached, String version) {
+        if (cached == null || !cached.startsWith(version + ":")) {
+            return null;
+        }
+        try {
+            return jsonMapper.readValue(cached.substring(version.length() + 1), EventResponse.class);
+        } catch (RuntimeException e) {
+            log.warn("Event cache entry unreadable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes loaded events under the versions read with them, in one pipelined round trip.
+     */
+    private void writeVersioned(List<EventResponse> events, Map<Long, String> versions) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (EventResponse event : events) {
+                    String value = versions.getOrDefault(event.id(), "0") + ":" + jsonMapper.writeValueAsString(event);
+                    connection.stringCommands().set(
+                        (EVENT_KEY + event.id()).getBytes(StandardCharsets.UTF_8),
+                        value.getBytes(StandardCharsets.UTF_8),
+                        Expiration.from(eventTtl),
+                        RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Event cache write failed for {} events: {}", events.size(), e.getMessage());
+        }
+    }
+
+    private static List<EventResponse> inOrder(List<Long> eventIds, Collection<EventResponse> events) {
+        Map<Long, EventResponse> byId = new HashMap<>();
+        events.forEach(event -> byId.put(event.id(), event));
+        return eventIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private void bumpVersion(String dataKey, String versionKey) {
+        try {
+            redisTemplate.opsForValue().increment(versionKey);
+            redisTemplate.expire(versionKey, versionTtl);
+            if (dataKey != null) {
+                // The version check already hides the old value; deleting it frees memory
+                // and covers the case where the counter itself was evicted.
+                redisTemplate.delete(dataKey);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Event cache invalidation failed for {}: {}", versionKey, e.getMessage());
+        }
+    }
+
+    /**
+     * Same as {@link #bumpVersion} for many events, in one pipelined round trip.
+     */
+    private void bumpEventVersions(List<Long> eventIds) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long eventId : eventIds) {
+                    byte[] dataKey = (EVENT_KEY + eventId).getBytes(StandardCharsets.UTF_8);
+                    byte[] versionKey = (EVENT_KEY + eventId + EVENT_VERSION_SUFFIX).getBytes(StandardCharsets.UTF_8);
+                    connection.stringCommands().incr(versionKey);
+                    connection.keyCommands().expire(versionKey, versionTtl.toSeconds());
+                    connection.keyCommands().del(dataKey);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Event cache invalidation failed for {} events: {}", eventIds.size(), e.getMessage());
+        }
+    }
+
+    private String safeGet(String key) {
+        try {
+            return redisTemplate.opsForValue().get(key);
+        } catch (RuntimeException e) {
+            log.warn("Event cache read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void safeSet(String key, String value, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(key, value, ttl);
+        } catch (RuntimeException e) {
+            log.warn("Event cache write failed for {}: {}", key, e.getMessage());
+        }
+    }
+}
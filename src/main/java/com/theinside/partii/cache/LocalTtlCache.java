@@ -0,0 +1,121 @@
+package com.theinside.partii.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Small bounded, TTL-evicting in-process cache.
+ *
+ * Reads are lock-free. When the cache grows past its maximum size, expired
+ * entries are purged first and then the oldest writes are dropped until it is
+ * back to 90% of the bound, so the eviction cost is amortized over many puts.
+ * Null values are never stored.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class LocalTtlCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    public LocalTtlCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public LocalTtlCache(int maxSize, Duration ttl, Clock clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached value, or null if absent or expired.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(clock.millis())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Returns the cached value, loading and caching it on a miss.
+     * A null result from the loader is returned but not cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        if (value == null) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, clock.millis() + ttlMillis));
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private synchronized void evict() {
+        long now = clock.millis();
+        entries.entrySet().removeIf(e -> e.getValue().isExpired(now));
+        int target = Math.max(1, maxSize - maxSize / 10);
+        if (entries.size() <= target) {
+            return;
+        }
+        // Drop the entries closest to expiry, i.e. the oldest writes
+        long threshold = entries.values().stream()
+            .mapToLong(Entry::expiresAt)
+            .sorted()
+            .skip(entries.size() - target)
+            .findFirst()
+            .orElse(Long.MAX_VALUE);
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext() && entries.size() > target) {
+            if (it.next().getValue().expiresAt() < threshold) {
+                it.remove();
+            }
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.theinside.partii.config;
+
+import com.theinside.partii.cache.CacheInvalidationListener;
+import com.theinside.partii.cache.CacheInvalidationPublisher;
+import com.theinside.partii.cache.EventCache;
+import com.theinside.partii.search.EventSearchEngine;
+import com.theinside.partii.search.EventSpatialIndex;
+import com.theinside.partii.security.PrincipalCache;
+import com.theinside.partii.security.PrincipalRevocationList;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Subscribes this node to cross-node cache invalidation messages.
+ * Disable with partii.cache.invalidation.pubsub-enabled=false for single-node setups.
+ */
+@Configuration
+@ConditionalOnProperty(name = "partii.cache.invalidation.pubsub-enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+
+    @Bean
+    CacheInvalidationListener cacheInvalidationListener(
+        CacheInvalidationPublisher publisher,
+        EventCache eventCache,
+        EventSpatialIndex eventSpatialIndex,
+        EventSearchEngine eventSearchEngine,
+        PrincipalCache principalCache,
+        PrincipalRevocationList principalRevocationList,
+        JsonMapper jsonMapper
+    ) {
+        return new CacheInvalidationListener(
+            publisher, eventCache, eventSpatialIndex, eventSearchEngine, principalCache, principalRevocationList, jsonMapper);
+    }
+
+    @Bean
+    RedisMessageListenerContainer cacheInvalidationListenerContainer(
+        RedisConnectionFactory connectionFactory,
+        CacheInvalidationListener cacheInvalidationListener
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationListener, new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        return container;
+    }
+}
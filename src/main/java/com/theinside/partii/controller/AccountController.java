@@ -7,11 +7,15 @@ import com.theinside.partii.service.AccountService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST controller for account management endpoints.
@@ -23,6 +27,8 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AccountController {
 
+    private static final MediaType ZIP = MediaType.parseMediaType("application/zip");
+
     private final AccountService accountService;
 
     /**
@@ -83,6 +89,26 @@ public class AccountController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/account/export/download
+     * Stream the authenticated user's personal data as a ZIP of NDJSON files.
+     * Bounded by partii.mvc.async-request-timeout (see WebMvcConfig).
+     */
+    @GetMapping("/export/download")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> downloadExport(
+        @AuthenticationPrincipal SecurityUser currentUser
+    ) {
+        Long userId = currentUser.getUserId();
+        log.info("User {} downloading personal data export", userId);
+        StreamingResponseBody body = out -> accountService.writeUserDataExport(userId, out);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("partii-export-" + userId + ".zip").build().toString())
+            .contentType(ZIP)
+            .body(body);
+    }
+
     /**
      * GET /api/account/deactivation-status
      * Check if the authenticated user's account is deactivated.
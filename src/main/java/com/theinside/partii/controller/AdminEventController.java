@@ -7,9 +7,6 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -28,15 +25,16 @@ public class AdminEventController {
 
     /**
      * GET /api/v1/admin/events
-     * List all events in the system (offset pagination).
+     * List all events in the system, newest first (keyset pagination).
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Page<EventResponse>> getAllEvents(
-        @PageableDefault(size = 50) Pageable pageable
+    public ResponseEntity<CursorPage<EventResponse>> getAllEvents(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") @Min(1) @Max(100) int limit
     ) {
-        log.info("Admin fetching all events (offset), page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<EventResponse> events = eventService.getAllEvents(pageable);
+        log.info("Admin fetching all events, cursor: {}, limit: {}", cursor, limit);
+        CursorPage<EventResponse> events = eventService.getAllEventsKeyset(cursor, limit);
         return ResponseEntity.ok(events);
     }
 
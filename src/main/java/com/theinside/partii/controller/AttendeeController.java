@@ -1,13 +1,17 @@
 package com.theinside.partii.controller;
 
 import com.theinside.partii.dto.AttendeeResponse;
+import com.theinside.partii.dto.BulkAttendeeRequest;
+import com.theinside.partii.dto.BulkAttendeeResponse;
+import com.theinside.partii.dto.CursorPage;
+import com.theinside.partii.dto.JoinQueueStatus;
 import com.theinside.partii.security.SecurityUser;
 import com.theinside.partii.service.AttendeeService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -31,31 +35,51 @@ public class AttendeeController {
     /**
      * POST /events/{eventId}/attendees/join
      * Request to join an event. Auto-waitlists if event is full.
+     * With the admission queue enabled, returns 202 with the queue position instead;
+     * poll /join/status until the request is admitted.
      */
     @PostMapping("/join")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<AttendeeResponse> requestToJoin(
+    public ResponseEntity<?> requestToJoin(
         @PathVariable Long eventId,
         @AuthenticationPrincipal SecurityUser user
     ) {
         log.info("User {} requesting to join event {}", user.getUserId(), eventId);
+        JoinQueueStatus queued = attendeeService.enqueueJoinRequest(eventId, user.getUserId());
+        if (queued != null) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(queued);
+        }
         AttendeeResponse response = attendeeService.requestToJoin(eventId, user.getUserId());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * GET /events/{eventId}/attendees/join/status
+     * The current user's position in the admission queue, or their attendee status once admitted.
+     */
+    @GetMapping("/join/status")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<JoinQueueStatus> getJoinStatus(
+        @PathVariable Long eventId,
+        @AuthenticationPrincipal SecurityUser user
+    ) {
+        return ResponseEntity.ok(attendeeService.getJoinQueueStatus(eventId, user.getUserId()));
+    }
+
     /**
      * GET /events/{eventId}/attendees
      * List attendees for an event. Optional status filter.
      */
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<AttendeeResponse>> getAttendees(
+    public ResponseEntity<CursorPage<AttendeeResponse>> getAttendees(
         @PathVariable Long eventId,
         @RequestParam(required = false) String status,
-        @PageableDefault(size = 20) Pageable pageable
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
     ) {
         log.debug("Listing attendees for event {}, status filter: {}", eventId, status);
-        Page<AttendeeResponse> attendees = attendeeService.getAttendees(eventId, status, pageable);
+        CursorPage<AttendeeResponse> attendees = attendeeService.getAttendees(eventId, status, cursor, limit);
         return ResponseEntity.ok(attendees);
     }
 
@@ -94,7 +118,7 @@ public class AttendeeController {
     /**
      * POST /events/{eventId}/attendees/{userId}/remove
      * Remove an approved attendee. Organizer only.
-     * Promotes first waitlisted user to PENDING.
+     * Waitlisted users are promoted to PENDING into the freed seat.
      */
     @PostMapping("/{userId}/remove")
     @PreAuthorize("isAuthenticated()")
@@ -107,4 +131,53 @@ public class AttendeeController {
         attendeeService.removeAttendee(eventId, userId, organizer.getUserId());
         return ResponseEntity.noContent().build();
     }
+
+    // ===== Bulk Endpoints =====
+
+    /**
+     * POST /events/{eventId}/attendees/bulk/approve
+     * Approve the listed users, or the first 10000 attendees in the given status. Organizer only.
+     * Returns one result per user; approvals stop when the event is full.
+     */
+    @PostMapping("/bulk/approve")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkAttendeeResponse> bulkApprove(
+        @PathVariable Long eventId,
+        @Valid @RequestBody BulkAttendeeRequest request,
+        @AuthenticationPrincipal SecurityUser organizer
+    ) {
+        log.info("Organizer {} bulk approving for event {}", organizer.getUserId(), eventId);
+        return ResponseEntity.ok(attendeeService.bulkApprove(eventId, request, organizer.getUserId()));
+    }
+
+    /**
+     * POST /events/{eventId}/attendees/bulk/decline
+     * Decline the listed users, or the first 10000 attendees in the given status. Organizer only.
+     */
+    @PostMapping("/bulk/decline")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkAttendeeResponse> bulkDecline(
+        @PathVariable Long eventId,
+        @Valid @RequestBody BulkAttendeeRequest request,
+        @AuthenticationPrincipal SecurityUser organizer
+    ) {
+        log.info("Organizer {} bulk declining for event {}", organizer.getUserId(), eventId);
+        return ResponseEntity.ok(attendeeService.bulkDecline(eventId, request, organizer.getUserId()));
+    }
+
+    /**
+     * POST /events/{eventId}/attendees/bulk/remove
+     * Remove the listed users, or the first 10000 attendees in the given status. Organizer only.
+     * Waitlisted users are promoted to PENDING into the freed seats.
+     */
+    @PostMapping("/bulk/remove")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkAttendeeResponse> bulkRemove(
+        @PathVariable Long eventId,
+        @Valid @RequestBody BulkAttendeeRequest request,
+        @AuthenticationPrincipal SecurityUser organizer
+    ) {
+        log.info("Organizer {} bulk removing from event {}", organizer.getUserId(), eventId);
+        return ResponseEntity.ok(attendeeService.bulkRemove(eventId, request, organizer.getUserId()));
+    }
 }
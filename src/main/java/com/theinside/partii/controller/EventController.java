@@ -3,17 +3,19 @@ package com.theinside.partii.controller;
 import com.theinside.partii.dto.CreateEventRequest;
 import com.theinside.partii.dto.CursorPage;
 import com.theinside.partii.dto.EventResponse;
+import com.theinside.partii.dto.EventSearchRequest;
+import com.theinside.partii.dto.EventSearchResponse;
 import com.theinside.partii.dto.UpdateEventRequest;
 import com.theinside.partii.security.SecurityUser;
 import com.theinside.partii.service.EventService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -50,6 +52,68 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * GET /api/events/search
+     * Search public events with dynamic filters. Keyword matches come back best match first.
+     * With facets=true the response also carries per-facet result counts.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<EventSearchResponse> searchEvents(
+        @Valid @ModelAttribute EventSearchRequest request,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit,
+        @RequestParam(defaultValue = "false") boolean facets
+    ) {
+        log.debug("Searching events with filters: {} (facets: {})", request, facets);
+        EventSearchResponse response = facets
+            ? eventService.searchEventsWithFacets(request, cursor, limit)
+            : EventSearchResponse.of(eventService.searchEvents(request, cursor, limit), null);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/events/nearby
+     * List upcoming public events within a radius (km), nearest first.
+     */
+    @GetMapping("/nearby")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<EventResponse>> listNearbyEvents(
+        @RequestParam @DecimalMin("-90.0") @DecimalMax("90.0") double latitude,
+        @RequestParam @DecimalMin("-180.0") @DecimalMax("180.0") double longitude,
+        @RequestParam(defaultValue = "10") @Positive @Max(500) double radiusKm,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        log.debug("Fetching nearby events around ({}, {}) within {} km", latitude, longitude, radiusKm);
+        CursorPage<EventResponse> events = eventService.getNearbyEvents(latitude, longitude, radiusKm, cursor, limit);
+        return ResponseEntity.ok(events);
+    }
+
+    /**
+     * GET /api/events/feed/new
+     * "New Events" landing section: recently created upcoming public events, newest first.
+     */
+    @GetMapping("/feed/new")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<EventResponse>> getNewEvents(
+        @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit
+    ) {
+        return ResponseEntity.ok(eventService.getNewEvents(limit));
+    }
+
+    /**
+     * GET /api/events/feed/filling-fast
+     * "Filling Fast" landing section: upcoming public events at least 75% full, fullest first.
+     */
+    @GetMapping("/feed/filling-fast")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<EventResponse>> getFillingFastEvents(
+        @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit
+    ) {
+        return ResponseEntity.ok(eventService.getFillingFastEvents(limit));
+    }
+
     /**
      * POST /api/events
      * Create a new event.
@@ -158,11 +222,12 @@ public class EventController {
 
     @GetMapping("/my-events/organized")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<EventResponse>> getMyOrganizedEvents(
+    public ResponseEntity<CursorPage<EventResponse>> getMyOrganizedEvents(
         @AuthenticationPrincipal SecurityUser user,
-        @PageableDefault(size = 20) Pageable pageable
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
     ) {
-        Page<EventResponse> events = eventService.getMyOrganizedEvents(user.getUserId(), pageable);
+        CursorPage<EventResponse> events = eventService.getMyOrganizedEvents(user.getUserId(), cursor, limit);
         return ResponseEntity.ok(events);
     }
 
@@ -186,11 +251,12 @@ public class EventController {
 
     @GetMapping("/my-events/past")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<EventResponse>> getMyPastEvents(
+    public ResponseEntity<CursorPage<EventResponse>> getMyPastEvents(
         @AuthenticationPrincipal SecurityUser user,
-        @PageableDefault(size = 20) Pageable pageable
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
     ) {
-        Page<EventResponse> events = eventService.getMyPastEvents(user.getUserId(), pageable);
+        CursorPage<EventResponse> events = eventService.getMyPastEvents(user.getUserId(), cursor, limit);
         return ResponseEntity.ok(events);
     }
 
@@ -0,0 +1,27 @@
+package com.theinside.partii.dto;
+
+import com.theinside.partii.enums.AttendeeStatus;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Request DTO for a bulk approve, decline or remove.
+ * Targets either the listed users or the attendees currently in the given
+ * status, up to MAX_TARGETS users per request either way.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAttendeeRequest {
+
+    public static final int MAX_TARGETS = 10000;
+
+    @Size(max = MAX_TARGETS, message = "Cannot target more than 10000 users at once")
+    private List<@NotNull Long> userIds;
+
+    private AttendeeStatus status;
+}
@@ -0,0 +1,21 @@
+package com.theinside.partii.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk attendee action, with one result per targeted user.
+ * hasMore is set when a status filter matched more attendees than one request
+ * handles; repeating the request handles the next ones.
+ */
+public record BulkAttendeeResponse(
+    int succeeded,
+    int failed,
+    boolean hasMore,
+    List<BulkAttendeeResult> results
+) {
+
+    public static BulkAttendeeResponse of(List<BulkAttendeeResult> results, boolean hasMore) {
+        int succeeded = (int) results.stream().filter(BulkAttendeeResult::success).count();
+        return new BulkAttendeeResponse(succeeded, results.size() - succeeded, hasMore, results);
+    }
+}
@@ -0,0 +1,23 @@
+package com.theinside.partii.dto;
+
+import com.theinside.partii.enums.AttendeeStatus;
+
+/**
+ * Outcome of a bulk attendee action for one user.
+ * status is the attendee's status afterwards, or null if they have no request for the event.
+ */
+public record BulkAttendeeResult(
+    Long userId,
+    boolean success,
+    AttendeeStatus status,
+    String message
+) {
+
+    public static BulkAttendeeResult succeeded(Long userId, AttendeeStatus status) {
+        return new BulkAttendeeResult(userId, true, status, null);
+    }
+
+    public static BulkAttendeeResult failed(Long userId, AttendeeStatus status, String message) {
+        return new BulkAttendeeResult(userId, false, status, message);
+    }
+}
@@ -1,10 +1,16 @@
 package com.theinside.partii.dto;
 
+import com.theinside.partii.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Generic cursor-based pagination response.
  * Provides O(1) performance for pagination regardless of page depth.
+ * Database-backed pages get their cursors from {@code Keyset}.
  *
  * @param <T> the type of content in the page
  */
@@ -28,4 +34,40 @@ public record CursorPage<T>(
     public static <T> CursorPage<T> empty() {
         return new CursorPage<>(List.of(), null, false, 0);
     }
+
+    /**
+     * Pages through a list already held in memory, in its existing order.
+     * The cursor is an opaque offset into the list.
+     */
+    public static <T> CursorPage<T> ofList(List<T> items, String cursor, int requestedSize) {
+        int offset = decodeOffset(cursor);
+        int from = Math.min(offset, items.size());
+        int to = Math.min(from + requestedSize + 1, items.size());
+        return of(items.subList(from, to), encodeOffset(from + requestedSize), requestedSize);
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorPage<>(mapped, nextCursor, hasNext, mapped.size());
+    }
+
+    private static String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(("offset:" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith("offset:")) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return Math.max(0, Integer.parseInt(raw.substring("offset:".length())));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package com.theinside.partii.dto;
+
+import com.theinside.partii.enums.EventType;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-facet result counts for an event search.
+ *
+ * Each facet is counted under every other active filter but not its own, so
+ * the counts show how many results picking that value would give: with
+ * eventTypes=[PARTY] the type counts still cover every type, while the budget,
+ * availability and date counts only cover parties.
+ */
+public record EventSearchFacets(
+    Map<EventType, Long> eventTypes,
+    Map<BudgetBucket, Long> budgets,
+    long withAvailableSpots,
+    long full,
+    Map<DateBucket, Long> dates
+) {
+
+    /**
+     * Estimated budget ranges, lower bound exclusive, upper bound inclusive.
+     * Events without a budget count as FREE.
+     */
+    public enum BudgetBucket {
+        FREE(null, BigDecimal.ZERO),
+        UP_TO_100(BigDecimal.ZERO, BigDecimal.valueOf(100)),
+        UP_TO_500(BigDecimal.valueOf(100), BigDecimal.valueOf(500)),
+        UP_TO_2000(BigDecimal.valueOf(500), BigDecimal.valueOf(2000)),
+        OVER_2000(BigDecimal.valueOf(2000), null);
+
+        private final BigDecimal lower;
+        private final BigDecimal upper;
+
+        BudgetBucket(BigDecimal lower, BigDecimal upper) {
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        public BigDecimal lower() {
+            return lower;
+        }
+
+        public BigDecimal upper() {
+            return upper;
+        }
+    }
+
+    /**
+     * Event date ranges relative to the start of today.
+     * PAST counts events dated before today in the searched statuses. Under the
+     * default ACTIVE/FULL filter those are only events the lifecycle job has not
+     * marked PAST yet, so it is near zero unless the search asks for past statuses.
+     */
+    public enum DateBucket {
+        PAST(null, Duration.ZERO),
+        TODAY(Duration.ZERO, Duration.ofDays(1)),
+        THIS_WEEK(Duration.ofDays(1), Duration.ofDays(7)),
+        THIS_MONTH(Duration.ofDays(7), Duration.ofDays(30)),
+        LATER(Duration.ofDays(30), null);
+
+        private final Duration from;
+        private final Duration to;
+
+        DateBucket(Duration from, Duration to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public Duration from() {
+            return from;
+        }
+
+        public Duration to() {
+            return to;
+        }
+    }
+}
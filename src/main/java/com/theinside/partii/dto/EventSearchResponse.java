@@ -0,0 +1,20 @@
+package com.theinside.partii.dto;
+
+import java.util.List;
+
+/**
+ * A page of event search results, with facet counts when they were requested.
+ * Serializes like {@link CursorPage} plus a {@code facets} field.
+ */
+public record EventSearchResponse(
+    List<EventResponse> content,
+    String nextCursor,
+    boolean hasNext,
+    int size,
+    EventSearchFacets facets
+) {
+
+    public static EventSearchResponse of(CursorPage<EventResponse> page, EventSearchFacets facets) {
+        return new EventSearchResponse(page.content(), page.nextCursor(), page.hasNext(), page.size(), facets);
+    }
+}
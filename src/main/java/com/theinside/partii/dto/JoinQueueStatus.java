@@ -0,0 +1,35 @@
+package com.theinside.partii.dto;
+
+import com.theinside.partii.enums.AttendeeStatus;
+
+/**
+ * A user's place in an event's join admission queue.
+ *
+ * QUEUED carries the 1-based position and the queue length; ADMITTED carries
+ * the status the request was recorded with once it left the queue.
+ */
+public record JoinQueueStatus(
+    State state,
+    Long position,
+    Long queueLength,
+    AttendeeStatus attendeeStatus
+) {
+
+    public enum State {
+        QUEUED,
+        ADMITTED,
+        NOT_QUEUED
+    }
+
+    public static JoinQueueStatus queued(long position, long queueLength) {
+        return new JoinQueueStatus(State.QUEUED, position, queueLength, null);
+    }
+
+    public static JoinQueueStatus admitted(AttendeeStatus attendeeStatus) {
+        return new JoinQueueStatus(State.ADMITTED, null, null, attendeeStatus);
+    }
+
+    public static JoinQueueStatus notQueued() {
+        return new JoinQueueStatus(State.NOT_QUEUED, null, null, null);
+    }
+}
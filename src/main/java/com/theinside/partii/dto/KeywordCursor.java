@@ -0,0 +1,47 @@
+package com.theinside.partii.dto;
+
+import com.theinside.partii.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor for keyword search results, which are ordered by full-text rank and then ID.
+ * Holds the rank and the ID of the last event of a page.
+ */
+public record KeywordCursor(
+    float rank,
+    Long id
+) {
+    /**
+     * Encode cursor to Base64 string for API responses.
+     * Format: "rank|id"
+     */
+    public String encode() {
+        String raw = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode Base64 cursor string back to KeywordCursor; null for the first page.
+     */
+    public static KeywordCursor decode(String encodedCursor) {
+        if (encodedCursor == null || encodedCursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(encodedCursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|");
+            if (parts.length != 2) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            float rank = Float.parseFloat(parts[0]);
+            if (!Float.isFinite(rank)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new KeywordCursor(rank, Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.theinside.partii.dto;
+
+import com.theinside.partii.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor for the nearby feed, which is ordered by distance and then ID.
+ * Holds the distance in kilometers and the ID of the last event of a page.
+ */
+public record NearbyCursor(
+    double distanceKm,
+    Long id
+) {
+    /**
+     * Encode cursor to Base64 string for API responses.
+     * Format: "distanceKm|id"
+     */
+    public String encode() {
+        String raw = distanceKm + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode Base64 cursor string back to NearbyCursor; null for the first page.
+     */
+    public static NearbyCursor decode(String encodedCursor) {
+        if (encodedCursor == null || encodedCursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(encodedCursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|");
+            if (parts.length != 2) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            double distanceKm = Double.parseDouble(parts[0]);
+            if (!Double.isFinite(distanceKm)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new NearbyCursor(distanceKm, Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
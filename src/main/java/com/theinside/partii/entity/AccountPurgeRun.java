@@ -0,0 +1,69 @@
+package com.theinside.partii.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Progress of one account purge run.
+ * {@code lastUserId} is the checkpoint: every batch advances it in the same
+ * transaction that purges the batch, so an interrupted run resumes after the
+ * last committed batch.
+ */
+@Entity
+@Table(name = "account_purge_runs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountPurgeRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Accounts deleted before this instant are purged by the run.
+     */
+    @Column(nullable = false, updatable = false)
+    private Instant cutoff;
+
+    @Column(name = "last_user_id", nullable = false)
+    @Builder.Default
+    private long lastUserId = 0;
+
+    @Column(name = "accounts_purged", nullable = false)
+    @Builder.Default
+    private long accountsPurged = 0;
+
+    @Column(name = "rows_affected", nullable = false)
+    @Builder.Default
+    private long rowsAffected = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int batches = 0;
+
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        startedAt = Instant.now();
+    }
+
+    /**
+     * Records a committed batch and moves the checkpoint past it.
+     */
+    public void recordBatch(long lastUserId, int accounts, long rows) {
+        this.lastUserId = lastUserId;
+        this.accountsPurged += accounts;
+        this.rowsAffected += rows;
+        this.batches++;
+    }
+}
@@ -14,6 +14,7 @@ import java.time.Instant;
 @Getter
 @Setter
 public class AuthToken {
+    private final Long userId;
     private String accessToken;
     private String refreshToken;
     private final Instant accessTokenExpiresAt;
@@ -17,9 +17,8 @@ import java.time.Instant;
 @Table(
     name = "contribution_items",
     indexes = {
-        @Index(name = "idx_contributions_event", columnList = "event_id"),
-        @Index(name = "idx_contributions_assigned_to", columnList = "assigned_to"),
-        @Index(name = "idx_contributions_status", columnList = "status"),
+        @Index(name = "idx_contributions_event_status", columnList = "event_id, status"),
+        @Index(name = "idx_contributions_assigned_status", columnList = "assigned_to, status"),
         @Index(name = "idx_contributions_category", columnList = "category")
     }
 )
@@ -3,9 +3,11 @@ package com.theinside.partii.entity;
 import com.theinside.partii.enums.EventStatus;
 import com.theinside.partii.enums.EventType;
 import com.theinside.partii.enums.EventVisibility;
+import com.theinside.partii.utils.geo.GeoHash;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -13,20 +15,24 @@ import java.time.LocalDateTime;
 
 /**
  * Represents an event that users can organize and attend.
+ *
+ * Updates write only the changed columns, and currentAttendees is never
+ * written from the entity: seats are taken and given back with conditional
+ * UPDATEs (see SeatReservationService) so a stale copy cannot overwrite them.
  */
 @Entity
 @Table(name = "events", indexes = {
-    @Index(name = "idx_events_organizer", columnList = "organizer_id"),
-    @Index(name = "idx_events_status", columnList = "status"),
-    @Index(name = "idx_events_visibility", columnList = "visibility"),
-    @Index(name = "idx_events_event_date", columnList = "event_date"),
-    @Index(name = "idx_events_location", columnList = "latitude, longitude")
+    @Index(name = "idx_events_organizer_status", columnList = "organizer_id, status"),
+    @Index(name = "idx_events_keyset", columnList = "event_date, id"),
+    @Index(name = "idx_events_location", columnList = "latitude, longitude"),
+    @Index(name = "idx_events_geohash", columnList = "geohash")
 })
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@DynamicUpdate
 public class Event {
 
     @Id
@@ -69,6 +75,12 @@ public class Event {
     @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
     private Double longitude;
 
+    /**
+     * Geohash of the coordinates, maintained on every write for spatial prefiltering.
+     */
+    @Column(length = 12)
+    private String geohash;
+
     @NotNull(message = "Event date is required")
     @Future(message = "Event date must be in the future")
     @Column(name = "event_date", nullable = false)
@@ -95,7 +107,7 @@ public class Event {
     private Integer maxAttendees = 10;
 
     @Min(value = 0, message = "Current attendees cannot be negative")
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Integer currentAttendees = 0;
 
@@ -146,11 +158,19 @@ public class Event {
         if (visibility == EventVisibility.PRIVATE && privateLinkCode == null) {
             privateLinkCode = generatePrivateLinkCode();
         }
+        updateGeohash();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = Instant.now();
+        updateGeohash();
+    }
+
+    private void updateGeohash() {
+        geohash = (latitude != null && longitude != null)
+            ? GeoHash.encode(latitude, longitude, GeoHash.STORED_PRECISION)
+            : null;
     }
 
     /**
@@ -185,30 +205,4 @@ public class Event {
         }
         return hasAvailableSpots();
     }
-
-    /**
-     * Increments the current attendee count.
-     * @throws IllegalStateException if event is at capacity
-     */
-    public void incrementAttendees() {
-        if (!hasAvailableSpots()) {
-            throw new IllegalStateException("Event is at capacity");
-        }
-        this.currentAttendees++;
-        if (this.currentAttendees >= this.maxAttendees) {
-            this.status = EventStatus.FULL;
-        }
-    }
-
-    /**
-     * Decrements the current attendee count.
-     */
-    public void decrementAttendees() {
-        if (this.currentAttendees > 0) {
-            this.currentAttendees--;
-            if (this.status == EventStatus.FULL && hasAvailableSpots()) {
-                this.status = EventStatus.ACTIVE;
-            }
-        }
-    }
 }
@@ -5,6 +5,7 @@ import com.theinside.partii.enums.PaymentStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -23,10 +24,9 @@ import java.time.Instant;
         )
     },
     indexes = {
-        @Index(name = "idx_event_attendees_event", columnList = "event_id"),
-        @Index(name = "idx_event_attendees_user", columnList = "user_id"),
-        @Index(name = "idx_event_attendees_status", columnList = "status"),
-        @Index(name = "idx_event_attendees_payment", columnList = "payment_status")
+        @Index(name = "idx_event_attendees_event_status", columnList = "event_id, status, joined_at"),
+        @Index(name = "idx_event_attendees_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_event_attendees_event_payment", columnList = "event_id, payment_status")
     }
 )
 @Getter
@@ -34,6 +34,7 @@ import java.time.Instant;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@DynamicUpdate
 public class EventAttendee {
 
     @Id
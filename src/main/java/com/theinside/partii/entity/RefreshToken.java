@@ -42,6 +42,13 @@ public class RefreshToken {
     
     private boolean revoked = false;
 
+    /**
+     * The token that replaced this one when it was rotated.
+     */
+    private UUID replacedBy;
+
+    private Instant rotatedAt;
+
     public boolean isExpired() {
         return Instant.now().isAfter(expiresAt);
     }
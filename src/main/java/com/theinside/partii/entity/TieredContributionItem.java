@@ -0,0 +1,64 @@
+package com.theinside.partii.entity;
+
+import com.theinside.partii.enums.ContributionStatus;
+import com.theinside.partii.enums.ContributionType;
+import com.theinside.partii.enums.Priority;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read-only view of a contribution item in either storage tier, see {@link TieredEvent}.
+ */
+@Entity
+@Immutable
+@Table(name = "contribution_items_all")
+@Getter
+@NoArgsConstructor
+public class TieredContributionItem {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    private TieredEvent event;
+
+    private String name;
+
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    private ContributionType type;
+
+    private Integer quantity;
+
+    @Column(name = "time_commitment")
+    private Integer timeCommitment;
+
+    @Column(name = "estimated_cost")
+    private BigDecimal estimatedCost;
+
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    private String notes;
+
+    @Enumerated(EnumType.STRING)
+    private ContributionStatus status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_to")
+    private User assignedTo;
+
+    private boolean completed;
+
+    @Column(name = "claimed_at")
+    private Instant claimedAt;
+
+    @Column(name = "confirmed_at")
+    private Instant confirmedAt;
+}
@@ -0,0 +1,86 @@
+package com.theinside.partii.entity;
+
+import com.theinside.partii.enums.EventStatus;
+import com.theinside.partii.enums.EventType;
+import com.theinside.partii.enums.EventVisibility;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of an event in either storage tier: the live events table
+ * or the events_archive table that archived events are moved to.
+ * Used by listings that must include archived events; writes go through {@link Event}.
+ */
+@Entity
+@Immutable
+@Table(name = "events_all")
+@Getter
+@NoArgsConstructor
+public class TieredEvent {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "organizer_id")
+    private User organizer;
+
+    private String title;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    private String locationAddress;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(name = "event_date")
+    private LocalDateTime eventDate;
+
+    private String imageUrl;
+
+    private BigDecimal estimatedBudget;
+
+    private String currency;
+
+    private Integer maxAttendees;
+
+    private Integer currentAttendees;
+
+    private Integer ageRestriction;
+
+    @Column(name = "payment_deadline")
+    private LocalDateTime paymentDeadline;
+
+    @Column(name = "join_deadline")
+    private LocalDateTime joinDeadline;
+
+    @Enumerated(EnumType.STRING)
+    private EventVisibility visibility;
+
+    @Enumerated(EnumType.STRING)
+    private EventStatus status;
+
+    @Column(name = "private_link_code")
+    private String privateLinkCode;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /**
+     * True once the event has been moved to the archive tier.
+     */
+    private boolean archived;
+}
@@ -0,0 +1,53 @@
+package com.theinside.partii.entity;
+
+import com.theinside.partii.enums.AttendeeStatus;
+import com.theinside.partii.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read-only view of an event attendee in either storage tier, see {@link TieredEvent}.
+ */
+@Entity
+@Immutable
+@Table(name = "event_attendees_all")
+@Getter
+@NoArgsConstructor
+public class TieredEventAttendee {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    private TieredEvent event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    private AttendeeStatus status;
+
+    @Column(name = "payment_amount")
+    private BigDecimal paymentAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status")
+    private PaymentStatus paymentStatus;
+
+    @Column(name = "amount_paid")
+    private BigDecimal amountPaid;
+
+    @Column(name = "joined_at")
+    private Instant joinedAt;
+
+    @Column(name = "approved_at")
+    private Instant approvedAt;
+
+    private String notes;
+}
@@ -77,6 +77,12 @@ public class User {
     private Instant updatedAt;
 
     private Instant deletedAt;
+
+    /**
+     * Set once the account's personal data has been purged after the grace period.
+     */
+    private Instant purgedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
@@ -0,0 +1,168 @@
+package com.theinside.partii.export;
+
+import com.theinside.partii.entity.TieredContributionItem;
+import com.theinside.partii.entity.TieredEvent;
+import com.theinside.partii.entity.TieredEventAttendee;
+import com.theinside.partii.entity.UserBlock;
+import com.theinside.partii.entity.UserReport;
+import com.theinside.partii.enums.AttendeeStatus;
+import com.theinside.partii.enums.ContributionStatus;
+import com.theinside.partii.enums.ContributionType;
+import com.theinside.partii.enums.EventStatus;
+import com.theinside.partii.enums.EventType;
+import com.theinside.partii.enums.EventVisibility;
+import com.theinside.partii.enums.PaymentStatus;
+import com.theinside.partii.enums.Priority;
+import com.theinside.partii.enums.ReportStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * One line of each NDJSON file in a personal data export.
+ * Other users appear only by ID and display name.
+ */
+public final class ExportRecords {
+
+    private ExportRecords() {
+    }
+
+    public record OrganizedEvent(
+        Long id,
+        String title,
+        String description,
+        EventType eventType,
+        String locationAddress,
+        LocalDateTime eventDate,
+        BigDecimal estimatedBudget,
+        String currency,
+        Integer maxAttendees,
+        Integer currentAttendees,
+        EventVisibility visibility,
+        EventStatus status,
+        boolean archived,
+        Instant createdAt
+    ) {
+        public static OrganizedEvent from(TieredEvent event) {
+            return new OrganizedEvent(
+                event.getId(),
+                event.getTitle(),
+                event.getDescription(),
+                event.getEventType(),
+                event.getLocationAddress(),
+                event.getEventDate(),
+                event.getEstimatedBudget(),
+                event.getCurrency(),
+                event.getMaxAttendees(),
+                event.getCurrentAttendees(),
+                event.getVisibility(),
+                event.getStatus(),
+                event.isArchived(),
+                event.getCreatedAt()
+            );
+        }
+    }
+
+    public record Attendance(
+        Long eventId,
+        String eventTitle,
+        LocalDateTime eventDate,
+        AttendeeStatus status,
+        BigDecimal paymentAmount,
+        PaymentStatus paymentStatus,
+        BigDecimal amountPaid,
+        Instant joinedAt,
+        Instant approvedAt,
+        String notes
+    ) {
+        public static Attendance from(TieredEventAttendee attendee) {
+            return new Attendance(
+                attendee.getEvent().getId(),
+                attendee.getEvent().getTitle(),
+                attendee.getEvent().getEventDate(),
+                attendee.getStatus(),
+                attendee.getPaymentAmount(),
+                attendee.getPaymentStatus(),
+                attendee.getAmountPaid(),
+                attendee.getJoinedAt(),
+                attendee.getApprovedAt(),
+                attendee.getNotes()
+            );
+        }
+    }
+
+    public record Contribution(
+        Long id,
+        Long eventId,
+        String eventTitle,
+        String name,
+        String category,
+        ContributionType type,
+        Integer quantity,
+        Integer timeCommitment,
+        BigDecimal estimatedCost,
+        Priority priority,
+        String notes,
+        ContributionStatus status,
+        boolean completed,
+        Instant claimedAt,
+        Instant confirmedAt
+    ) {
+        public static Contribution from(TieredContributionItem item) {
+            return new Contribution(
+                item.getId(),
+                item.getEvent().getId(),
+                item.getEvent().getTitle(),
+                item.getName(),
+                item.getCategory(),
+                item.getType(),
+                item.getQuantity(),
+                item.getTimeCommitment(),
+                item.getEstimatedCost(),
+                item.getPriority(),
+                item.getNotes(),
+                item.getStatus(),
+                item.isCompleted(),
+                item.getClaimedAt(),
+                item.getConfirmedAt()
+            );
+        }
+    }
+
+    public record Block(
+        Long blockedUserId,
+        String blockedDisplayName,
+        Instant createdAt
+    ) {
+        public static Block from(UserBlock block) {
+            return new Block(
+                block.getBlocked().getId(),
+                block.getBlocked().getDisplayName(),
+                block.getCreatedAt()
+            );
+        }
+    }
+
+    public record Report(
+        Long id,
+        Long reportedUserId,
+        String reason,
+        String description,
+        ReportStatus status,
+        Instant createdAt,
+        Instant reviewedAt
+    ) {
+        public static Report from(UserReport report) {
+            return new Report(
+                report.getId(),
+                report.getReported().getId(),
+                report.getReason(),
+                report.getDescription(),
+                report.getStatus(),
+                report.getCreatedAt(),
+                report.getReviewedAt()
+            );
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.theinside.partii.export;
+
+import com.theinside.partii.dto.CursorPage;
+import com.theinside.partii.dto.UserProfileResponse;
+import com.theinside.partii.entity.TieredContributionItem;
+import com.theinside.partii.entity.TieredEvent;
+import com.theinside.partii.entity.TieredEventAttendee;
+import com.theinside.partii.entity.UserBlock;
+import com.theinside.partii.entity.UserReport;
+import com.theinside.partii.exception.ResourceNotFoundException;
+import com.theinside.partii.mapper.UserMapper;
+import com.theinside.partii.repository.TieredContributionItemRepository;
+import com.theinside.partii.repository.TieredEventAttendeeRepository;
+import com.theinside.partii.repository.TieredEventRepository;
+import com.theinside.partii.repository.UserBlockRepository;
+import com.theinside.partii.repository.UserReportRepository;
+import com.theinside.partii.repository.UserRepository;
+import com.theinside.partii.specification.Keyset;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads one chunk of a user's data per call, each in its own short read-only
+ * transaction, so an export never holds a connection between chunks.
+ * Chunks are keyset pages by ID; entities are mapped to export records before
+ * the transaction ends.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserDataExportReader {
+
+    private static final Keyset<TieredEvent> ORGANIZED_EVENTS = Keyset.of(Sort.by("id"));
+    private static final Keyset<TieredEventAttendee> ATTENDANCES =
+        Keyset.<TieredEventAttendee>of(Sort.by("id")).fetching("event");
+    private static final Keyset<TieredContributionItem> CONTRIBUTIONS =
+        Keyset.<TieredContributionItem>of(Sort.by("id")).fetching("event");
+    private static final Keyset<UserBlock> BLOCKS = Keyset.<UserBlock>of(Sort.by("id")).fetching("blocked");
+    private static final Keyset<UserReport> REPORTS = Keyset.<UserReport>of(Sort.by("id")).fetching("reported");
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final TieredEventRepository tieredEventRepository;
+    private final TieredEventAttendeeRepository tieredEventAttendeeRepository;
+    private final TieredContributionItemRepository tieredContributionItemRepository;
+    private final UserBlockRepository userBlockRepository;
+    private final UserReportRepository userReportRepository;
+
+    public UserProfileResponse profile(Long userId) {
+        return userRepository.findById(userId)
+            .map(userMapper::toProfileResponse)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    /**
+     * Events the user organized, including archived ones.
+     */
+    public CursorPage<ExportRecords.OrganizedEvent> organizedEvents(Long userId, String cursor, int limit) {
+        return ORGANIZED_EVENTS.fetch(tieredEventRepository,
+                (root, query, cb) -> cb.equal(root.get("organizer").get("id"), userId), cursor, limit)
+            .map(ExportRecords.OrganizedEvent::from);
+    }
+
+    /**
+     * The user's join requests and participations, including archived events.
+     */
+    public CursorPage<ExportRecords.Attendance> attendances(Long userId, String cursor, int limit) {
+        return ATTENDANCES.fetch(tieredEventAttendeeRepository,
+                (root, query, cb) -> cb.equal(root.get("user").get("id"), userId), cursor, limit)
+            .map(ExportRecords.Attendance::from);
+    }
+
+    /**
+     * Contribution items assigned to the user, including those of archived events.
+     */
+    public CursorPage<ExportRecords.Contribution> contributions(Long userId, String cursor, int limit) {
+        return CONTRIBUTIONS.fetch(tieredContributionItemRepository,
+                (root, query, cb) -> cb.equal(root.get("assignedTo").get("id"), userId), cursor, limit)
+            .map(ExportRecords.Contribution::from);
+    }
+
+    /**
+     * Users this user has blocked.
+     */
+    public CursorPage<ExportRecords.Block> blocks(Long userId, String cursor, int limit) {
+        return BLOCKS.fetch(userBlockRepository,
+                (root, query, cb) -> cb.equal(root.get("blocker").get("id"), userId), cursor, limit)
+            .map(ExportRecords.Block::from);
+    }
+
+    /**
+     * Reports this user filed.
+     */
+    public CursorPage<ExportRecords.Report> reports(Long userId, String cursor, int limit) {
+        return REPORTS.fetch(userReportRepository,
+                (root, query, cb) -> cb.equal(root.get("reporter").get("id"), userId), cursor, limit)
+            .map(ExportRecords.Report::from);
+    }
+}
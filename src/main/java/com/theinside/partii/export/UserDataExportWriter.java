@@ -0,0 +1,91 @@
+package com.theinside.partii.export;
+
+import com.theinside.partii.dto.CursorPage;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a user's personal data as a ZIP of one JSON profile and one NDJSON file
+ * per record type, straight to the given stream.
+ *
+ * Records are read in chunks of {@code partii.export.chunk-size} and written
+ * out before the next chunk is read, so memory stays flat however long the
+ * history is and no database connection is held while the client downloads.
+ */
+@Slf4j
+@Component
+public class UserDataExportWriter {
+
+    /**
+     * Reads one chunk of a record type after the cursor.
+     */
+    @FunctionalInterface
+    private interface ChunkReader<T> {
+        CursorPage<T> read(Long userId, String cursor, int limit);
+    }
+
+    private final UserDataExportReader reader;
+    private final JsonMapper jsonMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int chunkSize;
+
+    public UserDataExportWriter(
+        UserDataExportReader reader,
+        JsonMapper jsonMapper,
+        EntityManagerFactory entityManagerFactory,
+        @Value("${partii.export.chunk-size:500}") int chunkSize
+    ) {
+        this.reader = reader;
+        this.jsonMapper = jsonMapper;
+        this.entityManagerFactory = entityManagerFactory;
+        this.chunkSize = chunkSize;
+    }
+
+    public void write(Long userId, OutputStream out) throws IOException {
+        // With open-in-view the request's EntityManager is bound to this thread too.
+        // Set it aside so every chunk gets a fresh persistence context and connection.
+        Object requestEntityManager = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("profile.json"));
+            zip.write(jsonMapper.writeValueAsBytes(reader.profile(userId)));
+            zip.closeEntry();
+
+            long rows = writeEntries(zip, "organized-events.ndjson", userId, reader::organizedEvents)
+                + writeEntries(zip, "attendances.ndjson", userId, reader::attendances)
+                + writeEntries(zip, "contributions.ndjson", userId, reader::contributions)
+                + writeEntries(zip, "blocks.ndjson", userId, reader::blocks)
+                + writeEntries(zip, "reports.ndjson", userId, reader::reports);
+            log.info("Exported {} records for user {}", rows, userId);
+        } finally {
+            if (requestEntityManager != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestEntityManager);
+            }
+        }
+    }
+
+    private <T> long writeEntries(ZipOutputStream zip, String name, Long userId, ChunkReader<T> chunks) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        long rows = 0;
+        String cursor = null;
+        do {
+            CursorPage<T> page = chunks.read(userId, cursor, chunkSize);
+            for (T row : page.content()) {
+                zip.write(jsonMapper.writeValueAsBytes(row));
+                zip.write('\n');
+            }
+            rows += page.size();
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        zip.closeEntry();
+        return rows;
+    }
+}
@@ -0,0 +1,254 @@
+package com.theinside.partii.feed;
+
+import com.theinside.partii.dto.EventResponse;
+import com.theinside.partii.enums.EventStatus;
+import com.theinside.partii.enums.EventVisibility;
+import com.theinside.partii.repository.EventRepository;
+import com.theinside.partii.utils.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputed, ranked landing-page feeds held in Redis sorted sets, so a feed
+ * read is one ZREVRANGE instead of a scan over events.
+ *
+ * "New Events" ranks upcoming public ACTIVE events created within the window
+ * by creation time. "Filling Fast" ranks those at least 75% full by fill ratio.
+ * Each set keeps the top {@code partii.feed.size} entries.
+ *
+ * Entries are kept current after commit by the event write paths and every
+ * seat change ({@link #refresh}). A periodic {@link #rebuild} restores entries
+ * that were trimmed and drops anything missed, and {@link #trimExpired} drops
+ * events that left the "New Events" window. Readers still skip events that
+ * have started or aged out since, so reads never write.
+ *
+ * Redis failures never fail a request: {@link #top} returns null and callers
+ * fall back to the database.
+ */
+@Slf4j
+@Component
+public class EventFeedSnapshots {
+
+    private static final String KEY_PREFIX = "partii:feed:";
+    private static final String REBUILD_SUFFIX = ":rebuild";
+    private static final String BUILT_KEY = KEY_PREFIX + "built";
+    private static final double FILLING_FAST_RATIO = 0.75;
+
+    public enum Feed {
+        NEW_EVENTS("new"),
+        FILLING_FAST("filling-fast");
+
+        private final String key;
+
+        Feed(String name) {
+            this.key = KEY_PREFIX + name;
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+    private final Duration newWindow;
+    private final int size;
+
+    public EventFeedSnapshots(
+        StringRedisTemplate redisTemplate,
+        EventRepository eventRepository,
+        @Value("${partii.feed.enabled:true}") boolean enabled,
+        @Value("${partii.feed.new-window:P7D}") Duration newWindow,
+        @Value("${partii.feed.size:500}") int size
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+        this.newWindow = newWindow;
+        this.size = size;
+    }
+
+    // ===== Reads =====
+
+    /**
+     * IDs of the top entries of a feed, best first.
+     * @return null if the snapshot is disabled, not built yet, or unavailable
+     */
+    public List<Long> top(Feed feed, int limit) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            Set<String> members = redisTemplate.opsForZSet().reverseRange(feed.key, 0, limit - 1);
+            if (members == null || (members.isEmpty() && !Boolean.TRUE.equals(redisTemplate.hasKey(BUILT_KEY)))) {
+                return null;
+            }
+            return members.stream().map(Long::valueOf).toList();
+        } catch (RuntimeException e) {
+            log.warn("Feed snapshot {} unavailable: {}", feed, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether an event still belongs in the feed, for filtering entries read from the snapshot.
+     */
+    public boolean isEligible(Feed feed, EventResponse event) {
+        if (event.visibility() != EventVisibility.PUBLIC
+                || event.status() != EventStatus.ACTIVE
+                || !event.eventDate().isAfter(LocalDateTime.now())) {
+            return false;
+        }
+        return switch (feed) {
+            case NEW_EVENTS -> event.createdAt().isAfter(newEventsSince());
+            case FILLING_FAST -> fillRatio(event) >= FILLING_FAST_RATIO;
+        };
+    }
+
+    /**
+     * Creation time after which an event counts as new.
+     */
+    public Instant newEventsSince() {
+        return Instant.now().minus(newWindow);
+    }
+
+    // ===== Sync =====
+
+    /**
+     * Re-ranks the event in both feeds from its current state once the
+     * surrounding transaction commits (immediately when there is none).
+     */
+    public void refresh(Long eventId) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            try {
+                List<EventResponse> found = eventRepository.findResponsesByIdIn(List.of(eventId));
+                if (found.isEmpty()) {
+                    removeNow(eventId);
+                } else {
+                    apply(found.get(0));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh feed snapshots for event {}: {}", eventId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Drops events from both feeds once the surrounding transaction commits.
+     */
+    public void remove(List<Long> eventIds) {
+        if (!enabled || eventIds.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> eventIds.forEach(this::removeNow));
+    }
+
+    /**
+     * Drops events created before the "New Events" window from that feed.
+     */
+    public void trimExpired() {
+        if (!enabled) {
+            return;
+        }
+        Long trimmed = redisTemplate.opsForZSet()
+            .removeRangeByScore(Feed.NEW_EVENTS.key, 0, newEventsSince().toEpochMilli());
+        log.debug("Trimmed {} expired entries from the new events feed", trimmed);
+    }
+
+    // ===== Rebuild =====
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfMissing() {
+        try {
+            if (enabled && !Boolean.TRUE.equals(redisTemplate.hasKey(BUILT_KEY))) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not check feed snapshots, feeds will use the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes both feeds from the database and swaps them in atomically.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest top = PageRequest.of(0, size);
+        List<EventResponse> newEvents = eventRepository.findNewlyCreatedEvents(now, newEventsSince(), top).getContent();
+        List<EventResponse> fillingFast = eventRepository.findEventsFillingFast(now, top).getContent();
+
+        replace(Feed.NEW_EVENTS, newEvents.stream()
+            .map(event -> TypedTuple.of(event.id().toString(), score(Feed.NEW_EVENTS, event)))
+            .collect(Collectors.toSet()));
+        replace(Feed.FILLING_FAST, fillingFast.stream()
+            .map(event -> TypedTuple.of(event.id().toString(), score(Feed.FILLING_FAST, event)))
+            .collect(Collectors.toSet()));
+        redisTemplate.opsForValue().set(BUILT_KEY, now.toString());
+        log.info("Feed snapshots rebuilt: new={} fillingFast={}", newEvents.size(), fillingFast.size());
+    }
+
+    // ===== Internals =====
+
+    private void apply(EventResponse event) {
+        for (Feed feed : Feed.values()) {
+            String member = event.id().toString();
+            if (isEligible(feed, event)) {
+                redisTemplate.opsForZSet().add(feed.key, member, score(feed, event));
+                redisTemplate.opsForZSet().removeRange(feed.key, 0, -(size + 1));
+            } else {
+                redisTemplate.opsForZSet().remove(feed.key, member);
+            }
+        }
+    }
+
+    private void removeNow(Long eventId) {
+        try {
+            for (Feed feed : Feed.values()) {
+                redisTemplate.opsForZSet().remove(feed.key, eventId.toString());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove event {} from feed snapshots: {}", eventId, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the new ranking under a scratch key, then renames it over the live one.
+     */
+    private void replace(Feed feed, Set<TypedTuple<String>> entries) {
+        if (entries.isEmpty()) {
+            redisTemplate.delete(feed.key);
+            return;
+        }
+        String scratch = feed.key + REBUILD_SUFFIX;
+        redisTemplate.delete(scratch);
+        redisTemplate.opsForZSet().add(scratch, entries);
+        redisTemplate.rename(scratch, feed.key);
+    }
+
+    private double score(Feed feed, EventResponse event) {
+        return switch (feed) {
+            case NEW_EVENTS -> event.createdAt().toEpochMilli();
+            case FILLING_FAST -> fillRatio(event);
+        };
+    }
+
+    private static double fillRatio(EventResponse event) {
+        return event.maxAttendees() > 0 ? (double) event.currentAttendees() / event.maxAttendees() : 0;
+    }
+}
@@ -23,5 +23,6 @@ public interface EventMapper {
      * @param event   the existing event entity to update
      */
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "geohash", ignore = true)
     void updateEventFromDto(UpdateEventRequest request, @MappingTarget Event event);
 }
@@ -0,0 +1,306 @@
+package com.theinside.partii.queue;
+
+import com.theinside.partii.exception.BadRequestException;
+import com.theinside.partii.repository.EventAttendeeRepository;
+import com.theinside.partii.utils.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-event admission queue for join requests, held in Redis so a burst on a
+ * popular event is absorbed without touching Postgres.
+ *
+ * Each event has a sorted set of user IDs scored by a per-event sequence, so
+ * positions are first come, first served across all nodes and a user can only
+ * be queued once. Each event also has a set of the users who already have a
+ * request, seeded from event_attendees the first time the event is queued and
+ * extended as batches are admitted, so a repeated request is rejected when it
+ * is made rather than dropped later.
+ *
+ * The drainer claims the head of every active queue in batches by moving it
+ * to a processing set, writes each batch with one INSERT ... SELECT and only
+ * then deletes the processing set. A batch whose insert failed, or whose node
+ * died mid-drain, is still claimed and is retried first on the next drain; the
+ * insert skips rows that already exist, so a retry never duplicates one. Only
+ * one node drains at a time (see JoinQueueScheduler), which bounds the insert
+ * rate at batch-size per drain interval per event.
+ *
+ * Every per-event key expires after partii.join-queue.key-ttl without a new
+ * request. Redis failures never fail a request: enqueue returns null and the
+ * caller falls back to writing the request directly.
+ */
+@Slf4j
+@Component
+public class JoinAdmissionQueue {
+
+    private static final String QUEUE_KEY = "partii:join-queue:";
+    private static final String SEQUENCE_SUFFIX = ":seq";
+    private static final String PROCESSING_SUFFIX = ":processing";
+    private static final String REQUESTED_SUFFIX = ":requested";
+    private static final String ACTIVE_EVENTS_KEY = "partii:join-queue:events";
+
+    /**
+     * Member that marks a seeded requested set, so an event nobody has joined
+     * yet is not seeded again. User IDs start at 1.
+     */
+    private static final String SEEDED_MARKER = "0";
+
+    private static final long ALREADY_REQUESTED = -1;
+    private static final long NOT_SEEDED = -2;
+
+    /**
+     * Returns the 1-based position, ALREADY_REQUESTED, or NOT_SEEDED when the
+     * requested set has to be loaded first.
+     */
+    private static final DefaultRedisScript<Long> ENQUEUE_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('exists', KEYS[4]) == 0 then
+            return -2
+        end
+        if redis.call('sismember', KEYS[4], ARGV[1]) == 1 then
+            return -1
+        end
+        local rank = redis.call('zrank', KEYS[3], ARGV[1])
+        if rank then
+            return rank + 1
+        end
+        rank = redis.call('zrank', KEYS[1], ARGV[1])
+        if not rank then
+            redis.call('zadd', KEYS[1], redis.call('incr', KEYS[2]), ARGV[1])
+            rank = redis.call('zrank', KEYS[1], ARGV[1])
+        end
+        redis.call('sadd', KEYS[5], ARGV[2])
+        for i = 1, 4 do
+            redis.call('pexpire', KEYS[i], ARGV[3])
+        end
+        return redis.call('zcard', KEYS[3]) + rank + 1
+        """, Long.class);
+
+    private static final DefaultRedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('exists', KEYS[1]) == 0 then
+            for i = 2, #ARGV do
+                redis.call('sadd', KEYS[1], ARGV[i])
+            end
+            redis.call('pexpire', KEYS[1], ARGV[1])
+        end
+        return 1
+        """, Long.class);
+
+    private static final DefaultRedisScript<Long> POSITION_SCRIPT = new DefaultRedisScript<>("""
+        local rank = redis.call('zrank', KEYS[2], ARGV[1])
+        if rank then
+            return rank + 1
+        end
+        rank = redis.call('zrank', KEYS[1], ARGV[1])
+        if rank then
+            return redis.call('zcard', KEYS[2]) + rank + 1
+        end
+        return nil
+        """, Long.class);
+
+    /**
+     * Moves up to ARGV[1] users from the head of the queue to the processing
+     * set, unless a previous batch is still there, and returns the processing
+     * set in queue order.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('exists', KEYS[2]) == 0 then
+            local batch = redis.call('zpopmin', KEYS[1], ARGV[1])
+            for i = 1, #batch, 2 do
+                redis.call('zadd', KEYS[2], batch[i + 1], batch[i])
+            end
+            if #batch > 0 then
+                redis.call('pexpire', KEYS[2], ARGV[2])
+            end
+        end
+        return redis.call('zrange', KEYS[2], 0, -1)
+        """, List.class);
+
+    /**
+     * Drops the processing set and records its users as requested, if the
+     * requested set is seeded.
+     */
+    private static final DefaultRedisScript<Long> ACK_SCRIPT = new DefaultRedisScript<>("""
+        local members = redis.call('zrange', KEYS[1], 0, -1)
+        if redis.call('exists', KEYS[2]) == 1 then
+            for _, member in ipairs(members) do
+                redis.call('sadd', KEYS[2], member)
+            end
+        end
+        redis.call('del', KEYS[1])
+        return #members
+        """, Long.class);
+
+    private static final DefaultRedisScript<Long> MARK_REQUESTED_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('exists', KEYS[1]) == 1 then
+            return redis.call('sadd', KEYS[1], ARGV[1])
+        end
+        return 0
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final EventAttendeeRepository attendeeRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration keyTtl;
+
+    public JoinAdmissionQueue(
+        StringRedisTemplate redisTemplate,
+        EventAttendeeRepository attendeeRepository,
+        @Value("${partii.join-queue.enabled:false}") boolean enabled,
+        @Value("${partii.join-queue.batch-size:200}") int batchSize,
+        @Value("${partii.join-queue.key-ttl:PT24H}") Duration keyTtl
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.attendeeRepository = attendeeRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.keyTtl = keyTtl;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a join request, keeping the original position if the user is already queued.
+     * @return the 1-based position, or null if the queue is unavailable
+     * @throws BadRequestException if the user already has a request for the event
+     */
+    public Long enqueue(Long eventId, Long userId) {
+        Long position;
+        try {
+            position = tryEnqueue(eventId, userId);
+            if (position == NOT_SEEDED) {
+                seedRequested(eventId);
+                position = tryEnqueue(eventId, userId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Join queue unavailable for event {}: {}", eventId, e.getMessage());
+            return null;
+        }
+        if (position == ALREADY_REQUESTED) {
+            throw new BadRequestException("You have already requested to join this event");
+        }
+        return position > 0 ? position : null;
+    }
+
+    /**
+     * @return the 1-based position, or null if the user is not queued
+     */
+    public Long position(Long eventId, Long userId) {
+        String key = QUEUE_KEY + eventId;
+        return redisTemplate.execute(POSITION_SCRIPT, List.of(key, key + PROCESSING_SUFFIX), userId.toString());
+    }
+
+    public long length(Long eventId) {
+        String key = QUEUE_KEY + eventId;
+        Long queued = redisTemplate.opsForZSet().zCard(key);
+        Long processing = redisTemplate.opsForZSet().zCard(key + PROCESSING_SUFFIX);
+        return (queued != null ? queued : 0) + (processing != null ? processing : 0);
+    }
+
+    /**
+     * Records a request written directly, once the current transaction commits,
+     * so the same user cannot also be queued for the event.
+     */
+    public void markRequested(Long eventId, Long userId) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            try {
+                redisTemplate.execute(MARK_REQUESTED_SCRIPT,
+                    List.of(QUEUE_KEY + eventId + REQUESTED_SUFFIX), userId.toString());
+            } catch (RuntimeException e) {
+                log.warn("Failed to record join request of user {} for event {}: {}", userId, eventId, e.getMessage());
+            }
+        });
+    }
+
+    private Long tryEnqueue(Long eventId, Long userId) {
+        String key = QUEUE_KEY + eventId;
+        return redisTemplate.execute(ENQUEUE_SCRIPT,
+            List.of(key, key + SEQUENCE_SUFFIX, key + PROCESSING_SUFFIX, key + REQUESTED_SUFFIX, ACTIVE_EVENTS_KEY),
+            userId.toString(),
+            eventId.toString(),
+            String.valueOf(keyTtl.toMillis()));
+    }
+
+    private void seedRequested(Long eventId) {
+        List<Long> userIds = attendeeRepository.findUserIdsByEventId(eventId);
+        List<String> args = new ArrayList<>(userIds.size() + 2);
+        args.add(String.valueOf(keyTtl.toMillis()));
+        args.add(SEEDED_MARKER);
+        userIds.forEach(userId -> args.add(userId.toString()));
+        redisTemplate.execute(SEED_SCRIPT, List.of(QUEUE_KEY + eventId + REQUESTED_SUFFIX), args.toArray());
+        log.debug("Seeded {} existing join requests for event {}", userIds.size(), eventId);
+    }
+
+    // ===== Drain =====
+
+    /**
+     * Admits up to one batch from the head of every active queue.
+     * Callers must make sure only one node drains at a time.
+     * @return the number of attendee rows inserted
+     */
+    public int drain() {
+        if (!enabled) {
+            return 0;
+        }
+        Set<String> events = redisTemplate.opsForSet().members(ACTIVE_EVENTS_KEY);
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        int admitted = 0;
+        for (String eventId : events) {
+            admitted += drainEvent(Long.valueOf(eventId));
+        }
+        return admitted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int drainEvent(Long eventId) {
+        String key = QUEUE_KEY + eventId;
+        String processingKey = key + PROCESSING_SUFFIX;
+        List<String> batch = redisTemplate.execute(CLAIM_SCRIPT, List.of(key, processingKey),
+            String.valueOf(batchSize), String.valueOf(keyTtl.toMillis()));
+        if (batch == null || batch.isEmpty()) {
+            deactivate(eventId);
+            return 0;
+        }
+
+        // The claimed batch comes back in score order
+        Long[] userIds = batch.stream().map(Long::valueOf).toArray(Long[]::new);
+        int inserted;
+        try {
+            inserted = attendeeRepository.insertQueuedJoinRequests(eventId, userIds, Instant.now());
+        } catch (RuntimeException e) {
+            // The batch stays claimed and is retried first on the next drain
+            log.error("Failed to admit queued join requests for event {}", eventId, e);
+            return 0;
+        }
+        redisTemplate.execute(ACK_SCRIPT, List.of(processingKey, key + REQUESTED_SUFFIX));
+        log.debug("Admitted {} of {} queued join requests for event {}", inserted, userIds.length, eventId);
+        return inserted;
+    }
+
+    /**
+     * Drops an event from the active set, re-adding it if a request slipped in meanwhile.
+     */
+    private void deactivate(Long eventId) {
+        redisTemplate.opsForSet().remove(ACTIVE_EVENTS_KEY, eventId.toString());
+        if (length(eventId) > 0) {
+            redisTemplate.opsForSet().add(ACTIVE_EVENTS_KEY, eventId.toString());
+        }
+    }
+}
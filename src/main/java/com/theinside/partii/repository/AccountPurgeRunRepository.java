@@ -0,0 +1,27 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.entity.AccountPurgeRun;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for account purge runs and their checkpoints.
+ */
+@Repository
+public interface AccountPurgeRunRepository extends JpaRepository<AccountPurgeRun, Long> {
+
+    /**
+     * The run a crash or shutdown left unfinished, if any.
+     */
+    Optional<AccountPurgeRun> findFirstByFinishedAtIsNullOrderByIdDesc();
+
+    /**
+     * Locks the run until commit, so batches of one run never overlap.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<AccountPurgeRun> findWithLockById(Long id);
+}
@@ -7,18 +7,21 @@ import com.theinside.partii.enums.Priority;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 /**
  * Repository for ContributionItem entity with custom query methods.
  */
 @Repository
-public interface ContributionItemRepository extends JpaRepository<ContributionItem, Long> {
+public interface ContributionItemRepository extends JpaRepository<ContributionItem, Long>, JpaSpecificationExecutor<ContributionItem> {
 
     // ===== Basic Queries =====
 
@@ -106,6 +109,27 @@ public interface ContributionItemRepository extends JpaRepository<ContributionIt
         @Param("userId") Long userId
     );
 
+    /**
+     * Hands the user's open claims on upcoming events back to the pool.
+     * Completed items keep their assignee.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE contribution_items ci
+        SET assigned_to = NULL,
+            status = 'AVAILABLE',
+            claimed_at = NULL,
+            confirmed_at = NULL,
+            updated_at = :now
+        FROM events e
+        WHERE e.id = ci.event_id
+        AND ci.assigned_to = :userId
+        AND ci.status IN ('CLAIMED', 'CONFIRMED')
+        AND ci.completed = FALSE
+        AND e.status IN ('DRAFT', 'ACTIVE', 'FULL')
+        """, nativeQuery = true)
+    int releaseOpenClaimsOfUser(@Param("userId") Long userId, @Param("now") Instant now);
+
     // ===== Cost Queries =====
 
     @Query("SELECT SUM(ci.estimatedCost) FROM ContributionItem ci WHERE ci.event.id = :eventId")
@@ -155,4 +179,32 @@ public interface ContributionItemRepository extends JpaRepository<ContributionIt
     // ===== Deletion =====
 
     void deleteByEventId(Long eventId);
+
+    /**
+     * Unassigns every item held by the given users. Open items become AVAILABLE
+     * again; completed items keep their status and lose only the assignee.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE contribution_items
+        SET assigned_to = NULL,
+            status = CASE WHEN completed THEN status ELSE 'AVAILABLE' END,
+            claimed_at = CASE WHEN completed THEN claimed_at ELSE NULL END,
+            confirmed_at = CASE WHEN completed THEN confirmed_at ELSE NULL END,
+            updated_at = :now
+        WHERE assigned_to = ANY(CAST(:userIds AS bigint[]))
+        """, nativeQuery = true)
+    int releaseAssignmentsOfUsers(@Param("userIds") Long[] userIds, @Param("now") Instant now);
+
+    /**
+     * Removes the given users as assignees of archived items. The items keep
+     * their status as a record of the past event.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE contribution_items_archive
+        SET assigned_to = NULL
+        WHERE assigned_to = ANY(CAST(:userIds AS bigint[]))
+        """, nativeQuery = true)
+    int releaseArchivedAssignmentsOfUsers(@Param("userIds") Long[] userIds);
 }
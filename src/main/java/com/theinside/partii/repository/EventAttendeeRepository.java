@@ -1,16 +1,23 @@
 package com.theinside.partii.repository;
 
+import com.theinside.partii.dto.EventResponse;
 import com.theinside.partii.entity.EventAttendee;
 import com.theinside.partii.enums.AttendeeStatus;
 import com.theinside.partii.enums.PaymentStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +25,7 @@ import java.util.Optional;
  * Repository for EventAttendee entity with custom query methods.
  */
 @Repository
-public interface EventAttendeeRepository extends JpaRepository<EventAttendee, Long> {
+public interface EventAttendeeRepository extends JpaRepository<EventAttendee, Long>, JpaSpecificationExecutor<EventAttendee> {
 
     // ===== Basic Queries =====
 
@@ -34,6 +41,8 @@ public interface EventAttendeeRepository extends JpaRepository<EventAttendee, Lo
 
     boolean existsByEventIdAndUserId(Long eventId, Long userId);
 
+    List<EventAttendee> findByEventIdAndUserIdIn(Long eventId, Collection<Long> userIds);
+
     // ===== Status Queries =====
 
     List<EventAttendee> findByEventIdAndStatus(Long eventId, AttendeeStatus status);
@@ -42,6 +51,21 @@ public interface EventAttendeeRepository extends JpaRepository<EventAttendee, Lo
 
     List<EventAttendee> findByUserIdAndStatus(Long userId, AttendeeStatus status);
 
+    @Query("SELECT ea.user.id FROM EventAttendee ea WHERE ea.event.id = :eventId")
+    List<Long> findUserIdsByEventId(@Param("eventId") Long eventId);
+
+    @Query("""
+        SELECT ea.user.id FROM EventAttendee ea
+        WHERE ea.event.id = :eventId
+        AND ea.status = :status
+        ORDER BY ea.joinedAt ASC
+        """)
+    List<Long> findUserIdsByEventIdAndStatus(
+        @Param("eventId") Long eventId,
+        @Param("status") AttendeeStatus status,
+        Limit limit
+    );
+
     @Query("""
         SELECT ea FROM EventAttendee ea
         WHERE ea.event.id = :eventId
@@ -89,6 +113,125 @@ public interface EventAttendeeRepository extends JpaRepository<EventAttendee, Lo
         """)
     BigDecimal sumPaymentAmountByEvent(@Param("eventId") Long eventId);
 
+    // ===== Status Transitions =====
+
+    /**
+     * Approves a request only if it is still PENDING, so two concurrent
+     * approvals of the same request cannot both take a seat.
+     */
+    @Modifying
+    @Query("""
+        UPDATE EventAttendee ea
+        SET ea.status = 'APPROVED', ea.approvedAt = :now
+        WHERE ea.id = :id
+        AND ea.status = 'PENDING'
+        """)
+    int approveIfPending(@Param("id") Long id, @Param("now") Instant now);
+
+    /**
+     * Removes an attendee only if it is still APPROVED.
+     */
+    @Modifying
+    @Query("""
+        UPDATE EventAttendee ea
+        SET ea.status = 'REMOVED'
+        WHERE ea.id = :id
+        AND ea.status = 'APPROVED'
+        """)
+    int removeIfApproved(@Param("id") Long id);
+
+    // ===== Bulk Status Transitions =====
+    // Each is one statement for the whole batch and returns the user IDs it changed.
+
+    /**
+     * Approves up to :limit of the given users' PENDING requests, earliest first.
+     */
+    @Query(value = """
+        UPDATE event_attendees
+        SET status = 'APPROVED', approved_at = :now
+        WHERE id IN (
+            SELECT id FROM event_attendees
+            WHERE event_id = :eventId
+            AND user_id = ANY(CAST(:userIds AS bigint[]))
+            AND status = 'PENDING'
+            ORDER BY joined_at, id
+            LIMIT :limit
+            FOR UPDATE
+        )
+        AND status = 'PENDING'
+        RETURNING user_id
+        """, nativeQuery = true)
+    List<Long> approvePending(
+        @Param("eventId") Long eventId,
+        @Param("userIds") Long[] userIds,
+        @Param("limit") int limit,
+        @Param("now") Instant now
+    );
+
+    @Query(value = """
+        UPDATE event_attendees
+        SET status = 'DECLINED'
+        WHERE event_id = :eventId
+        AND user_id = ANY(CAST(:userIds AS bigint[]))
+        AND status = 'PENDING'
+        RETURNING user_id
+        """, nativeQuery = true)
+    List<Long> declinePending(@Param("eventId") Long eventId, @Param("userIds") Long[] userIds);
+
+    @Query(value = """
+        UPDATE event_attendees
+        SET status = 'REMOVED'
+        WHERE event_id = :eventId
+        AND user_id = ANY(CAST(:userIds AS bigint[]))
+        AND status = 'APPROVED'
+        RETURNING user_id
+        """, nativeQuery = true)
+    List<Long> removeApproved(@Param("eventId") Long eventId, @Param("userIds") Long[] userIds);
+
+    /**
+     * Sets the notes of every APPROVED participation of the user.
+     */
+    @Modifying
+    @Query("""
+        UPDATE EventAttendee ea
+        SET ea.notes = :notes
+        WHERE ea.user.id = :userId
+        AND ea.status = 'APPROVED'
+        """)
+    int annotateApprovedOfUser(@Param("userId") Long userId, @Param("notes") String notes);
+
+    // ===== Join Admission =====
+
+    /**
+     * Records a batch of queued join requests in one statement, in queue order.
+     * Each request is PENDING while the event has free seats and WAITLIST
+     * otherwise, like a direct request. Requests from deleted users, for
+     * events that stopped accepting requests, or that already exist are skipped.
+     * joined_at is spaced one microsecond apart so the waitlist keeps queue order.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO event_attendees (event_id, user_id, status, payment_amount, payment_status, amount_paid, joined_at)
+        SELECT e.id, q.user_id,
+            CASE WHEN e.current_attendees < e.max_attendees THEN 'PENDING' ELSE 'WAITLIST' END,
+            0, 'UNPAID', 0,
+            CAST(:now AS timestamptz) + q.pos * INTERVAL '1 microsecond'
+        FROM unnest(CAST(:userIds AS bigint[])) WITH ORDINALITY AS q(user_id, pos)
+        JOIN events e ON e.id = :eventId
+        JOIN users u ON u.id = q.user_id
+        WHERE e.status IN ('ACTIVE', 'FULL')
+        AND e.organizer_id <> q.user_id
+        AND u.deleted_at IS NULL
+        ORDER BY q.pos
+        ON CONFLICT (event_id, user_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertQueuedJoinRequests(
+        @Param("eventId") Long eventId,
+        @Param("userIds") Long[] userIds,
+        @Param("now") Instant now
+    );
+
     // ===== Waitlist Queries =====
 
     @Query("""
@@ -108,45 +251,52 @@ public interface EventAttendeeRepository extends JpaRepository<EventAttendee, Lo
         """)
     Optional<EventAttendee> findFirstInWaitlist(@Param("eventId") Long eventId);
 
+    /**
+     * Moves the first :limit waitlisted requests back to PENDING, in join order.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE event_attendees
+        SET status = 'PENDING'
+        WHERE id IN (
+            SELECT id FROM event_attendees
+            WHERE event_id = :eventId
+            AND status = 'WAITLIST'
+            ORDER BY joined_at, id
+            LIMIT :limit
+            FOR UPDATE
+        )
+        """, nativeQuery = true)
+    int promoteFromWaitlist(@Param("eventId") Long eventId, @Param("limit") int limit);
+
     // ===== User Event Participation =====
 
     /**
-     * Find all events a user is actively participating in.
+     * Find all events a user is actively participating in, projected with their organizer.
      */
-    @Query("""
-        SELECT ea FROM EventAttendee ea
-        JOIN FETCH ea.event e
+    @Query(EventRepository.EVENT_RESPONSE + """
+        FROM EventAttendee ea
+        JOIN ea.event e
+        JOIN e.organizer o
         WHERE ea.user.id = :userId
         AND ea.status = 'APPROVED'
         AND e.status IN ('ACTIVE', 'FULL')
         ORDER BY e.eventDate ASC
         """)
-    List<EventAttendee> findActiveParticipationsByUser(@Param("userId") Long userId);
+    List<EventResponse> findActiveParticipationEventsByUser(@Param("userId") Long userId);
 
     /**
-     * Find all pending join requests for a user.
+     * Find the events a user has pending join requests for, projected with their organizer.
      */
-    @Query("""
-        SELECT ea FROM EventAttendee ea
-        JOIN FETCH ea.event e
+    @Query(EventRepository.EVENT_RESPONSE + """
+        FROM EventAttendee ea
+        JOIN ea.event e
+        JOIN e.organizer o
         WHERE ea.user.id = :userId
         AND ea.status = 'PENDING'
         ORDER BY ea.joinedAt DESC
         """)
-    List<EventAttendee> findPendingRequestsByUser(@Param("userId") Long userId);
-
-    /**
-     * Find all past events a user attended.
-     */
-    @Query("""
-        SELECT ea FROM EventAttendee ea
-        JOIN FETCH ea.event e
-        WHERE ea.user.id = :userId
-        AND ea.status = 'APPROVED'
-        AND e.status IN ('PAST', 'ARCHIVED')
-        ORDER BY e.eventDate DESC
-        """)
-    Page<EventAttendee> findPastParticipationsByUser(@Param("userId") Long userId, Pageable pageable);
+    List<EventResponse> findPendingRequestEventsByUser(@Param("userId") Long userId);
 
     // ===== Organizer Queries =====
 
@@ -178,4 +328,19 @@ public interface EventAttendeeRepository extends JpaRepository<EventAttendee, Lo
     void deleteByEventId(Long eventId);
 
     void deleteByEventIdAndUserId(Long eventId, Long userId);
+
+    /**
+     * Deletes every attendee record of the given users. Release their seats first
+     * with {@link EventRepository#releaseSeatsOfUsers}.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM event_attendees WHERE user_id = ANY(CAST(:userIds AS bigint[]))", nativeQuery = true)
+    int deleteByUserIds(@Param("userIds") Long[] userIds);
+
+    /**
+     * Deletes every archived attendee record of the given users.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM event_attendees_archive WHERE user_id = ANY(CAST(:userIds AS bigint[]))", nativeQuery = true)
+    int deleteArchivedByUserIds(@Param("userIds") Long[] userIds);
 }
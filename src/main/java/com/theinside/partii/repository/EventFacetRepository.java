@@ -0,0 +1,21 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.dto.EventSearchFacets;
+import com.theinside.partii.dto.EventSearchRequest;
+
+import java.util.Collection;
+
+/**
+ * Facet counts for the event search, mixed into {@link EventRepository}.
+ */
+public interface EventFacetRepository {
+
+    /**
+     * Counts search results per facet value in a single aggregate query.
+     *
+     * @param request         the search filters
+     * @param keywordMatchIds IDs matching {@code request.keyword()} from an in-process search engine,
+     *                        or null to match the keyword, if any, against the full-text index
+     */
+    EventSearchFacets countFacets(EventSearchRequest request, Collection<Long> keywordMatchIds);
+}
@@ -0,0 +1,99 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.dto.EventSearchFacets;
+import com.theinside.partii.dto.EventSearchFacets.BudgetBucket;
+import com.theinside.partii.dto.EventSearchFacets.DateBucket;
+import com.theinside.partii.dto.EventSearchRequest;
+import com.theinside.partii.entity.Event;
+import com.theinside.partii.enums.EventType;
+import com.theinside.partii.specification.EventSpecifications;
+import com.theinside.partii.specification.EventSpecifications.SearchFacet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes every facet in one pass over the rows matching the non-facet filters:
+ * each facet value is a {@code COUNT(CASE WHEN <other facet filters> AND <value> THEN id END)}
+ * column of a single-row aggregate.
+ */
+public class EventFacetRepositoryImpl implements EventFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public EventSearchFacets countFacets(EventSearchRequest request, Collection<Long> keywordMatchIds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> root = query.from(Event.class);
+        LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
+
+        List<Selection<?>> counts = new ArrayList<>();
+        for (EventType type : EventType.values()) {
+            counts.add(countWhere(request, SearchFacet.EVENT_TYPE, cb.equal(root.get("eventType"), type), root, cb));
+        }
+        for (BudgetBucket bucket : BudgetBucket.values()) {
+            counts.add(countWhere(request, SearchFacet.BUDGET,
+                EventSpecifications.inBudgetBucket(bucket, root, cb), root, cb));
+        }
+        counts.add(countWhere(request, SearchFacet.AVAILABILITY,
+            cb.lessThan(root.get("currentAttendees"), root.get("maxAttendees")), root, cb));
+        counts.add(countWhere(request, SearchFacet.AVAILABILITY,
+            cb.greaterThanOrEqualTo(root.get("currentAttendees"), root.get("maxAttendees")), root, cb));
+        for (DateBucket bucket : DateBucket.values()) {
+            counts.add(countWhere(request, SearchFacet.DATE,
+                EventSpecifications.inDateBucket(bucket, startOfToday, root, cb), root, cb));
+        }
+
+        query.multiselect(counts)
+            .where(EventSpecifications.baseSearchPredicates(request, keywordMatchIds, root, cb).toArray(new Predicate[0]));
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+
+        int column = 0;
+        Map<EventType, Long> eventTypes = new EnumMap<>(EventType.class);
+        for (EventType type : EventType.values()) {
+            eventTypes.put(type, row.get(column++, Long.class));
+        }
+        Map<BudgetBucket, Long> budgets = new EnumMap<>(BudgetBucket.class);
+        for (BudgetBucket bucket : BudgetBucket.values()) {
+            budgets.put(bucket, row.get(column++, Long.class));
+        }
+        long withAvailableSpots = row.get(column++, Long.class);
+        long full = row.get(column++, Long.class);
+        Map<DateBucket, Long> dates = new EnumMap<>(DateBucket.class);
+        for (DateBucket bucket : DateBucket.values()) {
+            dates.put(bucket, row.get(column++, Long.class));
+        }
+        return new EventSearchFacets(eventTypes, budgets, withAvailableSpots, full, dates);
+    }
+
+    /**
+     * Rows matching {@code value} and every active facet filter except {@code facet}'s own.
+     */
+    private static Selection<Long> countWhere(
+        EventSearchRequest request,
+        SearchFacet facet,
+        Predicate value,
+        Root<Event> root,
+        CriteriaBuilder cb
+    ) {
+        List<Predicate> conditions = new ArrayList<>(EventSpecifications.facetFilters(request, facet, root, cb));
+        conditions.add(value);
+        return cb.count(cb.<Long>selectCase()
+            .when(cb.and(conditions.toArray(new Predicate[0])), root.<Long>get("id")));
+    }
+}
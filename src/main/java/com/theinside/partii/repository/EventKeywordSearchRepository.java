@@ -0,0 +1,21 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.dto.CursorPage;
+import com.theinside.partii.dto.EventSearchRequest;
+import com.theinside.partii.entity.Event;
+
+/**
+ * Keyword search over the full-text index, mixed into {@link EventRepository}.
+ */
+public interface EventKeywordSearchRepository {
+
+    /**
+     * Returns a page of events matching {@code request.keyword()} and every other
+     * search filter, best match first, in a single statement. Pages by keyset on
+     * full-text rank and ID, so deep pages cost the same as the first.
+     *
+     * @param request the search filters, with a non-blank keyword
+     * @param cursor  a {@link com.theinside.partii.dto.KeywordCursor}, or null for the first page
+     */
+    CursorPage<Event> searchByKeyword(EventSearchRequest request, String cursor, int limit);
+}
@@ -0,0 +1,61 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.dto.CursorPage;
+import com.theinside.partii.dto.EventSearchRequest;
+import com.theinside.partii.dto.KeywordCursor;
+import com.theinside.partii.entity.Event;
+import com.theinside.partii.specification.EventSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the keyword as one more predicate of the search query, next to the
+ * location, facet and other filters, and orders by ts_rank_cd. The rank depends
+ * only on the event and the query, so it is a stable keyset key.
+ */
+public class EventKeywordSearchRepositoryImpl implements EventKeywordSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public CursorPage<Event> searchByKeyword(EventSearchRequest request, String cursor, int limit) {
+        KeywordCursor after = KeywordCursor.decode(cursor);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> root = query.from(Event.class);
+        root.fetch("organizer");
+        Expression<Float> rank = EventSpecifications.keywordRank(request.keyword(), root, cb);
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>(EventSpecifications.baseSearchPredicates(request, null, root, cb));
+        predicates.addAll(EventSpecifications.facetFilters(request, null, root, cb));
+        if (after != null) {
+            // Strictly after the cursor: a lower rank, or the same rank and a higher ID
+            predicates.add(cb.or(
+                cb.lessThan(rank, after.rank()),
+                cb.and(cb.equal(rank, after.rank()), cb.greaterThan(id, after.id()))));
+        }
+        query.multiselect(root, rank)
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(rank), cb.asc(id));
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            Tuple last = rows.get(limit - 1);
+            nextCursor = new KeywordCursor(last.get(1, Float.class), last.get(0, Event.class).getId()).encode();
+        }
+        return CursorPage.of(rows.stream().map(row -> row.get(0, Event.class)).toList(), nextCursor, limit);
+    }
+}
@@ -1,11 +1,17 @@
 package com.theinside.partii.repository;
 
+import com.theinside.partii.dto.EventResponse;
 import com.theinside.partii.entity.Event;
 import com.theinside.partii.enums.EventStatus;
 import com.theinside.partii.enums.EventType;
 import com.theinside.partii.enums.EventVisibility;
+import com.theinside.partii.search.EventDistance;
+import com.theinside.partii.search.EventLocation;
+import com.theinside.partii.utils.geo.GeoBoundingBox;
+import com.theinside.partii.utils.geo.GeoHash;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -13,24 +19,80 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for Event entity with custom query methods.
+ *
+ * List and feed queries select {@link EventResponse} directly with the organizer
+ * joined, so a page of results is a single statement with no entity hydration.
+ * Those that only feed a list or a cursor return a {@link Slice}, so no count
+ * query runs alongside them.
  */
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository
+    extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventFacetRepository,
+        EventKeywordSearchRepository {
+
+    /**
+     * Select clause projecting an event and its organizer onto {@link EventResponse}.
+     * Queries using it join the event as {@code e} and its organizer as {@code o}.
+     */
+    String EVENT_RESPONSE = """
+        SELECT new com.theinside.partii.dto.EventResponse(
+            e.id, o.id, o.displayName, e.title, e.description, e.eventType,
+            e.locationAddress, e.latitude, e.longitude, e.eventDate, e.imageUrl,
+            e.estimatedBudget, e.currency, e.maxAttendees, e.currentAttendees,
+            e.ageRestriction, e.paymentDeadline, e.joinDeadline, e.visibility,
+            e.status, e.privateLinkCode, e.createdAt, e.updatedAt)
+        """;
 
     // ===== Basic Queries =====
 
     Optional<Event> findByPrivateLinkCode(String privateLinkCode);
 
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.id = :id")
+    Optional<Event> findWithOrganizerById(@Param("id") Long id);
+
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.privateLinkCode = :privateLinkCode")
+    Optional<Event> findWithOrganizerByPrivateLinkCode(@Param("privateLinkCode") String privateLinkCode);
+
+    @Query(EVENT_RESPONSE + """
+        FROM Event e
+        JOIN e.organizer o
+        WHERE e.id IN :ids
+        """)
+    List<EventResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Upcoming public events (ACTIVE or FULL) in ID order, for building the in-memory search index.
+     */
+    @Query("""
+        SELECT e FROM Event e
+        WHERE e.visibility = 'PUBLIC'
+        AND e.status IN ('ACTIVE', 'FULL')
+        AND e.eventDate > :now
+        AND e.id > :afterId
+        ORDER BY e.id ASC
+        """)
+    List<Event> findUpcomingPublicEventsAfterId(
+        @Param("now") LocalDateTime now,
+        @Param("afterId") Long afterId,
+        org.springframework.data.domain.Limit limit
+    );
+
     List<Event> findByOrganizerId(Long organizerId);
 
     Page<Event> findByOrganizerId(Long organizerId, Pageable pageable);
 
+    @Query("SELECT e.id FROM Event e WHERE e.organizer.id = :organizerId")
+    List<Long> findIdsByOrganizerId(@Param("organizerId") Long organizerId);
+
     List<Event> findByStatus(EventStatus status);
 
     Page<Event> findByStatus(EventStatus status, Pageable pageable);
@@ -56,21 +118,22 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
 
     // ===== Public Event Discovery =====
 
-    @Query("""
-        SELECT e FROM Event e
+    @Query(EVENT_RESPONSE + """
+        FROM Event e
+        JOIN e.organizer o
         WHERE e.visibility = :visibility
         AND e.status IN :statuses
         AND e.eventDate > :now
         ORDER BY e.eventDate ASC
         """)
-    Page<Event> findUpcomingPublicEvents(
+    Slice<EventResponse> findUpcomingPublicEvents(
         @Param("visibility") EventVisibility visibility,
         @Param("statuses") List<EventStatus> statuses,
         @Param("now") LocalDateTime now,
         Pageable pageable
     );
 
-    default Page<Event> findUpcomingPublicEvents(Pageable pageable) {
+    default Slice<EventResponse> findUpcomingPublicEvents(Pageable pageable) {
         return findUpcomingPublicEvents(
             EventVisibility.PUBLIC,
             List.of(EventStatus.ACTIVE, EventStatus.FULL),
@@ -82,39 +145,155 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
     // ===== Location-Based Search =====
 
     /**
-     * Find events within a radius using Haversine formula.
-     * Distance is calculated in kilometers.
+     * Nearby search, shared by the two queries below: upcoming public events
+     * inside the bounding box with their Haversine distance in kilometers.
+     */
+    String NEARBY_CANDIDATES = """
+        SELECT n.id AS "id", n.distance_km AS "distanceKm" FROM (
+            SELECT e.id, 2 * 6371.0 * ASIN(LEAST(1.0, SQRT(
+                    POWER(SIN(RADIANS(e.latitude - :lat) / 2), 2)
+                    + COS(RADIANS(:lat)) * COS(RADIANS(e.latitude))
+                    * POWER(SIN(RADIANS(e.longitude - :lng) / 2), 2)))) AS distance_km
+            FROM events e
+            WHERE e.visibility = 'PUBLIC'
+            AND e.status IN ('ACTIVE', 'FULL')
+            AND e.event_date > :now
+            AND e.latitude BETWEEN :minLat AND :maxLat
+            AND e.longitude BETWEEN :minLng AND :maxLng
+        """;
+
+    /**
+     * Keeps the candidates within the radius and returns the page after the
+     * (afterDistance, afterId) position, nearest first.
+     */
+    String NEARBY_PAGE = """
+        ) n
+        WHERE n.distance_km <= :radiusKm
+        AND (n.distance_km > :afterDistance OR (n.distance_km = :afterDistance AND n.id > :afterId))
+        ORDER BY n.distance_km ASC, n.id ASC
+        LIMIT :limit
+        """;
+
+    /**
+     * Nearby page for candidates in up to four geohash cells (prefix scans on
+     * idx_events_geohash).
+     */
+    @Query(value = NEARBY_CANDIDATES + """
+            AND (e.geohash LIKE :cell1 OR e.geohash LIKE :cell2
+                OR e.geohash LIKE :cell3 OR e.geohash LIKE :cell4)
+        """ + NEARBY_PAGE, nativeQuery = true)
+    List<EventDistance> findNearbyInCells(
+        @Param("lat") double latitude,
+        @Param("lng") double longitude,
+        @Param("radiusKm") double radiusKm,
+        @Param("now") LocalDateTime now,
+        @Param("cell1") String cell1,
+        @Param("cell2") String cell2,
+        @Param("cell3") String cell3,
+        @Param("cell4") String cell4,
+        @Param("minLat") double minLatitude,
+        @Param("maxLat") double maxLatitude,
+        @Param("minLng") double minLongitude,
+        @Param("maxLng") double maxLongitude,
+        @Param("afterDistance") double afterDistance,
+        @Param("afterId") long afterId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Nearby page for radii too large for any geohash prefix to narrow the
+     * scan; only the bounding box applies.
+     */
+    @Query(value = NEARBY_CANDIDATES + NEARBY_PAGE, nativeQuery = true)
+    List<EventDistance> findNearbyInBox(
+        @Param("lat") double latitude,
+        @Param("lng") double longitude,
+        @Param("radiusKm") double radiusKm,
+        @Param("now") LocalDateTime now,
+        @Param("minLat") double minLatitude,
+        @Param("maxLat") double maxLatitude,
+        @Param("minLng") double minLongitude,
+        @Param("maxLng") double maxLongitude,
+        @Param("afterDistance") double afterDistance,
+        @Param("afterId") long afterId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Find up to {@code limit} events within a radius, nearest first, after the
+     * given (distance, ID) position; pass a negative distance for the first page.
+     * Distance is in kilometers. Filtering, ordering and the limit all run in
+     * the database.
+     */
+    default List<EventDistance> findNearbyEvents(
+        double latitude,
+        double longitude,
+        double radiusKm,
+        LocalDateTime now,
+        double afterDistance,
+        long afterId,
+        int limit
+    ) {
+        GeoBoundingBox box = GeoBoundingBox.around(latitude, longitude, radiusKm);
+        List<String> patterns = new ArrayList<>();
+        GeoHash.coveringCells(box).forEach(cell -> patterns.add(cell + "%"));
+        if (patterns.isEmpty()) {
+            return findNearbyInBox(latitude, longitude, radiusKm, now,
+                box.minLatitude(), box.maxLatitude(), box.minLongitude(), box.maxLongitude(),
+                afterDistance, afterId, limit);
+        }
+        while (patterns.size() < 4) {
+            patterns.add(patterns.get(0));
+        }
+        return findNearbyInCells(latitude, longitude, radiusKm, now,
+            patterns.get(0), patterns.get(1), patterns.get(2), patterns.get(3),
+            box.minLatitude(), box.maxLatitude(), box.minLongitude(), box.maxLongitude(),
+            afterDistance, afterId, limit);
+    }
+
+    /**
+     * Locations of upcoming public events, in ID order, for building the in-memory spatial index.
      */
     @Query("""
-        SELECT e FROM Event e
+        SELECT new com.theinside.partii.search.EventLocation(e.id, e.latitude, e.longitude, e.eventDate)
+        FROM Event e
         WHERE e.visibility = 'PUBLIC'
         AND e.status IN ('ACTIVE', 'FULL')
+        AND e.eventDate > :now
         AND e.latitude IS NOT NULL
         AND e.longitude IS NOT NULL
-        AND (6371 * acos(cos(radians(:lat)) * cos(radians(e.latitude))
-            * cos(radians(e.longitude) - radians(:lng))
-            + sin(radians(:lat)) * sin(radians(e.latitude)))) <= :radiusKm
-        AND e.eventDate > :now
-        ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(e.latitude))
-            * cos(radians(e.longitude) - radians(:lng))
-            + sin(radians(:lat)) * sin(radians(e.latitude)))) ASC
+        AND e.id > :afterId
+        ORDER BY e.id ASC
         """)
-    Page<Event> findNearbyEvents(
-        @Param("lat") Double latitude,
-        @Param("lng") Double longitude,
-        @Param("radiusKm") Double radiusKm,
+    List<EventLocation> findUpcomingPublicLocations(
         @Param("now") LocalDateTime now,
-        Pageable pageable
+        @Param("afterId") Long afterId,
+        org.springframework.data.domain.Limit limit
     );
 
-    default Page<Event> findNearbyEvents(Double latitude, Double longitude, Double radiusKm, Pageable pageable) {
-        return findNearbyEvents(latitude, longitude, radiusKm, LocalDateTime.now(), pageable);
-    }
+    /**
+     * Locations of the given events that are upcoming and public; the others are not indexable.
+     */
+    @Query("""
+        SELECT new com.theinside.partii.search.EventLocation(e.id, e.latitude, e.longitude, e.eventDate)
+        FROM Event e
+        WHERE e.id IN :ids
+        AND e.visibility = 'PUBLIC'
+        AND e.status IN ('ACTIVE', 'FULL')
+        AND e.eventDate > :now
+        AND e.latitude IS NOT NULL
+        AND e.longitude IS NOT NULL
+        """)
+    List<EventLocation> findUpcomingPublicLocationsByIdIn(
+        @Param("ids") Collection<Long> ids,
+        @Param("now") LocalDateTime now
+    );
 
     // ===== Search and Filter =====
 
-    @Query("""
-        SELECT e FROM Event e
+    @Query(EVENT_RESPONSE + """
+        FROM Event e
+        JOIN e.organizer o
         WHERE e.visibility = 'PUBLIC'
         AND e.status IN ('ACTIVE', 'FULL')
         AND e.eventDate > :now
@@ -124,7 +303,7 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
         AND (:hasSpots = false OR e.currentAttendees < e.maxAttendees)
         ORDER BY e.eventDate ASC
         """)
-    Page<Event> searchEvents(
+    Slice<EventResponse> searchEvents(
         @Param("now") LocalDateTime now,
         @Param("eventType") EventType eventType,
         @Param("minBudget") java.math.BigDecimal minBudget,
@@ -133,36 +312,21 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
         Pageable pageable
     );
 
-    @Query("""
-        SELECT e FROM Event e
-        WHERE e.visibility = 'PUBLIC'
-        AND e.status IN ('ACTIVE', 'FULL')
-        AND e.eventDate > :now
-        AND (LOWER(e.title) LIKE LOWER(CONCAT('%', :query, '%'))
-            OR LOWER(e.description) LIKE LOWER(CONCAT('%', :query, '%'))
-            OR LOWER(e.locationAddress) LIKE LOWER(CONCAT('%', :query, '%')))
-        ORDER BY e.eventDate ASC
-        """)
-    Page<Event> searchByKeyword(
-        @Param("query") String query,
-        @Param("now") LocalDateTime now,
-        Pageable pageable
-    );
-
     // ===== Feed Queries =====
 
     /**
      * Find newly created events (for "New Events" feed section).
      */
-    @Query("""
-        SELECT e FROM Event e
+    @Query(EVENT_RESPONSE + """
+        FROM Event e
+        JOIN e.organizer o
         WHERE e.visibility = 'PUBLIC'
         AND e.status = 'ACTIVE'
         AND e.eventDate > :now
         AND e.createdAt > :since
         ORDER BY e.createdAt DESC
         """)
-    Page<Event> findNewlyCreatedEvents(
+    Slice<EventResponse> findNewlyCreatedEvents(
         @Param("now") LocalDateTime now,
         @Param("since") java.time.Instant since,
         Pageable pageable
@@ -171,15 +335,16 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
     /**
      * Find events filling up fast (> 75% capacity).
      */
-    @Query("""
-        SELECT e FROM Event e
+    @Query(EVENT_RESPONSE + """
+        FROM Event e
+        JOIN e.organizer o
         WHERE e.visibility = 'PUBLIC'
         AND e.status = 'ACTIVE'
         AND e.eventDate > :now
         AND (CAST(e.currentAttendees AS double) / CAST(e.maxAttendees AS double)) >= 0.75
         ORDER BY (CAST(e.currentAttendees AS double) / CAST(e.maxAttendees AS double)) DESC
         """)
-    Page<Event> findEventsFillingFast(
+    Slice<EventResponse> findEventsFillingFast(
         @Param("now") LocalDateTime now,
         Pageable pageable
     );
@@ -210,16 +375,257 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
         """)
     int archiveOldEvents(@Param("archiveDate") LocalDateTime archiveDate);
 
-    // ===== Date Range Queries =====
+    /**
+     * Marks up to :limit started events as PAST, skipping rows another transaction holds.
+     * Returns the IDs it changed.
+     */
+    @Query(value = """
+        UPDATE events
+        SET status = 'PAST', updated_at = :updatedAt
+        WHERE id IN (
+            SELECT id FROM events
+            WHERE status IN ('ACTIVE', 'FULL')
+            AND event_date < :now
+            ORDER BY event_date
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id
+        """, nativeQuery = true)
+    List<Long> markPastEvents(
+        @Param("now") LocalDateTime now,
+        @Param("limit") int limit,
+        @Param("updatedAt") Instant updatedAt
+    );
 
+    /**
+     * Archives up to :limit PAST events older than :archiveDate.
+     * Returns the IDs it changed.
+     */
+    @Query(value = """
+        UPDATE events
+        SET status = 'ARCHIVED', updated_at = :updatedAt
+        WHERE id IN (
+            SELECT id FROM events
+            WHERE status = 'PAST'
+            AND event_date < :archiveDate
+            ORDER BY event_date
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id
+        """, nativeQuery = true)
+    List<Long> archivePastEvents(
+        @Param("archiveDate") LocalDateTime archiveDate,
+        @Param("limit") int limit,
+        @Param("updatedAt") Instant updatedAt
+    );
+
+    /**
+     * Cancels every event of the organizer that has not started yet, in one statement.
+     * Returns the IDs it changed.
+     */
+    @Query(value = """
+        UPDATE events
+        SET status = 'CANCELLED', cancellation_reason = :reason, updated_at = :updatedAt
+        WHERE organizer_id = :organizerId
+        AND status IN ('DRAFT', 'ACTIVE', 'FULL')
+        RETURNING id
+        """, nativeQuery = true)
+    List<Long> cancelEventsOfOrganizer(
+        @Param("organizerId") Long organizerId,
+        @Param("reason") String reason,
+        @Param("updatedAt") Instant updatedAt
+    );
+
+    /**
+     * Event date of the longest-overdue event still ACTIVE or FULL, or null if none.
+     */
     @Query("""
-        SELECT e FROM Event e
+        SELECT MIN(e.eventDate) FROM Event e
+        WHERE e.status IN ('ACTIVE', 'FULL')
+        AND e.eventDate < :now
+        """)
+    LocalDateTime findOldestOverdueEventDate(@Param("now") LocalDateTime now);
+
+    // ===== Archival =====
+    // Archived events move to the partitioned *_archive tables; children first, for the foreign keys.
+
+    @Query(value = "SELECT partii_ensure_archive_partitions(:year)", nativeQuery = true)
+    int ensureArchivePartitions(@Param("year") int year);
+
+    /**
+     * Locks up to :limit events for moving, oldest first: ARCHIVED events, and
+     * CANCELLED events dated before :archiveDate, which keep their status.
+     */
+    @Query(value = """
+        SELECT id FROM events
+        WHERE status = 'ARCHIVED'
+        OR (status = 'CANCELLED' AND event_date < :archiveDate)
+        ORDER BY event_date
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<Long> lockRetiredEventIds(@Param("archiveDate") LocalDateTime archiveDate, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+        WITH moved AS (
+            DELETE FROM event_attendees ea
+            USING events e
+            WHERE e.id = ea.event_id
+            AND ea.event_id = ANY(CAST(:eventIds AS bigint[]))
+            RETURNING ea.*, e.event_date AS archived_event_date
+        )
+        INSERT INTO event_attendees_archive (id, event_id, user_id, status, payment_amount, payment_status,
+            amount_paid, joined_at, approved_at, notes, event_date)
+        SELECT id, event_id, user_id, status, payment_amount, payment_status,
+            amount_paid, joined_at, approved_at, notes, archived_event_date
+        FROM moved
+        """, nativeQuery = true)
+    int moveAttendeesToArchive(@Param("eventIds") Long[] eventIds);
+
+    @Modifying
+    @Query(value = """
+        WITH moved AS (
+            DELETE FROM contribution_items ci
+            USING events e
+            WHERE e.id = ci.event_id
+            AND ci.event_id = ANY(CAST(:eventIds AS bigint[]))
+            RETURNING ci.*, e.event_date AS archived_event_date
+        )
+        INSERT INTO contribution_items_archive (id, event_id, name, category, type, quantity, time_commitment,
+            estimated_cost, priority, notes, status, assigned_to, completed, created_at, updated_at,
+            claimed_at, confirmed_at, event_date)
+        SELECT id, event_id, name, category, type, quantity, time_commitment,
+            estimated_cost, priority, notes, status, assigned_to, completed, created_at, updated_at,
+            claimed_at, confirmed_at, archived_event_date
+        FROM moved
+        """, nativeQuery = true)
+    int moveContributionItemsToArchive(@Param("eventIds") Long[] eventIds);
+
+    @Modifying
+    @Query(value = """
+        WITH moved AS (
+            DELETE FROM events
+            WHERE id = ANY(CAST(:eventIds AS bigint[]))
+            RETURNING *
+        )
+        INSERT INTO events_archive (id, organizer_id, title, description, event_type, location_address,
+            latitude, longitude, event_date, image_url, estimated_budget, currency, max_attendees,
+            current_attendees, age_restriction, payment_deadline, join_deadline, visibility, status,
+            private_link_code, link_expiration, cancellation_reason, created_at, updated_at)
+        SELECT id, organizer_id, title, description, event_type, location_address,
+            latitude, longitude, event_date, image_url, estimated_budget, currency, max_attendees,
+            current_attendees, age_restriction, payment_deadline, join_deadline, visibility, status,
+            private_link_code, link_expiration, cancellation_reason, created_at, updated_at
+        FROM moved
+        """, nativeQuery = true)
+    int moveEventsToArchive(@Param("eventIds") Long[] eventIds);
+
+    // ===== Seat Reservation =====
+
+    /**
+     * Takes the given number of seats if the event has room for all of them,
+     * marking it FULL when they were the last ones.
+     * Returns 0 when the event lacks room or is no longer open.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Event e
+        SET e.currentAttendees = e.currentAttendees + :seats,
+            e.status = CASE WHEN e.currentAttendees + :seats >= e.maxAttendees
+                THEN com.theinside.partii.enums.EventStatus.FULL
+                ELSE com.theinside.partii.enums.EventStatus.ACTIVE END,
+            e.updatedAt = :now
+        WHERE e.id = :eventId
+        AND e.status IN ('ACTIVE', 'FULL')
+        AND e.currentAttendees + :seats <= e.maxAttendees
+        """)
+    int reserveSeats(@Param("eventId") Long eventId, @Param("seats") int seats, @Param("now") Instant now);
+
+    /**
+     * Gives back the given number of seats. An open event is ACTIVE or FULL
+     * depending on the seats left taken, so a FULL event whose capacity was
+     * lowered below its attendance stays FULL.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Event e
+        SET e.currentAttendees = e.currentAttendees - :seats,
+            e.status = CASE
+                WHEN e.status NOT IN (com.theinside.partii.enums.EventStatus.ACTIVE,
+                    com.theinside.partii.enums.EventStatus.FULL) THEN e.status
+                WHEN e.currentAttendees - :seats >= e.maxAttendees
+                THEN com.theinside.partii.enums.EventStatus.FULL
+                ELSE com.theinside.partii.enums.EventStatus.ACTIVE END,
+            e.updatedAt = :now
+        WHERE e.id = :eventId
+        AND e.currentAttendees >= :seats
+        """)
+    int releaseSeats(@Param("eventId") Long eventId, @Param("seats") int seats, @Param("now") Instant now);
+
+    /**
+     * Free seats of an open event, locking its row until commit so concurrent
+     * waitlist promotions and bulk approvals for the event run one at a time.
+     */
+    @Query(value = """
+        SELECT max_attendees - current_attendees FROM events
+        WHERE id = :eventId
+        AND status IN ('ACTIVE', 'FULL')
+        FOR UPDATE
+        """, nativeQuery = true)
+    Optional<Integer> lockFreeSeats(@Param("eventId") Long eventId);
+
+    /**
+     * Recomputes ACTIVE/FULL from the seat counts, e.g. after maxAttendees changed.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Event e
+        SET e.status = CASE WHEN e.currentAttendees >= e.maxAttendees
+                THEN com.theinside.partii.enums.EventStatus.FULL
+                ELSE com.theinside.partii.enums.EventStatus.ACTIVE END
+        WHERE e.id = :eventId
+        AND e.status IN ('ACTIVE', 'FULL')
+        """)
+    int syncCapacityStatus(@Param("eventId") Long eventId);
+
+    /**
+     * Gives back the seats the given users hold as APPROVED attendees of open
+     * events, in one statement. Each event is ACTIVE or FULL depending on the
+     * seats left taken, as in {@link #syncCapacityStatus}.
+     * @return the IDs of the events that got seats back
+     */
+    @Query(value = """
+        UPDATE events e
+        SET current_attendees = GREATEST(e.current_attendees - a.seats, 0),
+            status = CASE WHEN GREATEST(e.current_attendees - a.seats, 0) >= e.max_attendees
+                THEN 'FULL' ELSE 'ACTIVE' END,
+            updated_at = :now
+        FROM (
+            SELECT event_id, COUNT(*) AS seats FROM event_attendees
+            WHERE user_id = ANY(CAST(:userIds AS bigint[]))
+            AND status = 'APPROVED'
+            GROUP BY event_id
+        ) a
+        WHERE e.id = a.event_id
+        AND e.status IN ('ACTIVE', 'FULL')
+        RETURNING e.id
+        """, nativeQuery = true)
+    List<Long> releaseSeatsOfUsers(@Param("userIds") Long[] userIds, @Param("now") Instant now);
+
+    // ===== Date Range Queries =====
+
+    @Query(EVENT_RESPONSE + """
+        FROM Event e
+        JOIN e.organizer o
         WHERE e.visibility = 'PUBLIC'
         AND e.status IN ('ACTIVE', 'FULL')
         AND e.eventDate BETWEEN :startDate AND :endDate
         ORDER BY e.eventDate ASC
         """)
-    Page<Event> findByDateRange(
+    Slice<EventResponse> findByDateRange(
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate,
         Pageable pageable
@@ -236,8 +642,9 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
      * Uses composite key (eventDate, id) for stable ordering.
      * Fetches limit+1 to determine if there's a next page.
      */
-    @Query("""
-        SELECT e FROM Event e
+    @Query(EVENT_RESPONSE + """
+        FROM Event e
+        JOIN e.organizer o
         WHERE e.visibility = 'PUBLIC'
         AND e.status IN ('ACTIVE', 'FULL')
         AND e.eventDate > :now
@@ -245,25 +652,10 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
             OR (e.eventDate = :afterDate AND e.id > :afterId))
         ORDER BY e.eventDate ASC, e.id ASC
         """)
-    List<Event> findPublicEventsKeyset(
+    List<EventResponse> findPublicEventsKeyset(
         @Param("now") LocalDateTime now,
         @Param("afterDate") LocalDateTime afterDate,
         @Param("afterId") Long afterId,
         org.springframework.data.domain.Limit limit
     );
-
-    /**
-     * Find all events using keyset pagination (admin only).
-     */
-    @Query("""
-        SELECT e FROM Event e
-        WHERE (CAST(:afterDate AS timestamp) IS NULL OR e.createdAt > :afterDate
-            OR (e.createdAt = :afterDate AND e.id > :afterId))
-        ORDER BY e.createdAt DESC, e.id ASC
-        """)
-    List<Event> findAllEventsKeyset(
-        @Param("afterDate") java.time.Instant afterDate,
-        @Param("afterId") Long afterId,
-        org.springframework.data.domain.Limit limit
-    );
 }
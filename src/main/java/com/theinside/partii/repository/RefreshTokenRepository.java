@@ -4,8 +4,12 @@ import com.theinside.partii.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,6 +17,25 @@ import java.util.UUID;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByToken(UUID token);
 
+    /**
+     * Revokes the token if it is still active and records its successor, as one
+     * compare-and-set. Returns the revoked row, or nothing if the token was
+     * missing, already revoked or expired.
+     */
+    @Query(value = """
+        UPDATE refresh_tokens
+        SET revoked = TRUE, replaced_by = :successor, rotated_at = :now
+        WHERE token = :token
+        AND revoked = FALSE
+        AND expires_at > :now
+        RETURNING *
+        """, nativeQuery = true)
+    Optional<RefreshToken> rotate(
+        @Param("token") UUID token,
+        @Param("successor") UUID successor,
+        @Param("now") Instant now
+    );
+
     /**
      * Revokes all tokens in a token family (used for token reuse detection).
      */
@@ -27,10 +50,39 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.userId = :userId")
     void revokeByUserId(Long userId);
 
+    // ===== Cleanup =====
+    // Small batches, each its own transaction, so cleanup never holds long locks
+    // or writes one large burst of WAL. Revoked tokens are kept until they
+    // expire: replaying one must still find it to detect reuse.
+
+    /**
+     * Deletes up to :limit tokens that expired before :now, oldest first.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        DELETE FROM refresh_tokens
+        WHERE id IN (
+            SELECT id FROM refresh_tokens
+            WHERE expires_at < :now
+            ORDER BY expires_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Expiry of the oldest token still waiting for cleanup, or null if none.
+     * One lookup at the start of idx_refresh_tokens_expires.
+     */
+    @Query("SELECT MIN(rt.expiresAt) FROM RefreshToken rt WHERE rt.expiresAt < :now")
+    Instant findOldestExpiresAt(@Param("now") Instant now);
+
     /**
-     * Deletes revoked and expired tokens (for scheduled cleanup).
+     * Deletes every token issued to the given users.
      */
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.revoked = true OR rt.expiresAt < CURRENT_TIMESTAMP")
-    void deleteRevokedAndExpiredTokens();
+    @Query(value = "DELETE FROM refresh_tokens WHERE user_id = ANY(CAST(:userIds AS bigint[]))", nativeQuery = true)
+    int deleteByUserIds(@Param("userIds") Long[] userIds);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.entity.TieredContributionItem;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Read-only access to contribution items across the live and archive tiers.
+ */
+@org.springframework.stereotype.Repository
+public interface TieredContributionItemRepository
+    extends Repository<TieredContributionItem, Long>, JpaSpecificationExecutor<TieredContributionItem> {
+}
@@ -0,0 +1,13 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.entity.TieredEventAttendee;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Read-only access to event attendees across the live and archive tiers.
+ */
+@org.springframework.stereotype.Repository
+public interface TieredEventAttendeeRepository
+    extends Repository<TieredEventAttendee, Long>, JpaSpecificationExecutor<TieredEventAttendee> {
+}
@@ -0,0 +1,19 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.entity.TieredEvent;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Read-only access to events across the live and archive tiers.
+ */
+@org.springframework.stereotype.Repository
+public interface TieredEventRepository extends Repository<TieredEvent, Long>, JpaSpecificationExecutor<TieredEvent> {
+
+    @Query("SELECT e FROM TieredEvent e JOIN FETCH e.organizer WHERE e.id = :id")
+    Optional<TieredEvent> findWithOrganizerById(@Param("id") Long id);
+}
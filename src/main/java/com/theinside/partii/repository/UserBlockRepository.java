@@ -2,6 +2,8 @@ package com.theinside.partii.repository;
 
 import com.theinside.partii.entity.UserBlock;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,7 +15,7 @@ import java.util.Optional;
  * Repository for UserBlock entity.
  */
 @Repository
-public interface UserBlockRepository extends JpaRepository<UserBlock, Long> {
+public interface UserBlockRepository extends JpaRepository<UserBlock, Long>, JpaSpecificationExecutor<UserBlock> {
 
     /**
      * Find a block where blocker blocked blocked.
@@ -82,4 +84,15 @@ public interface UserBlockRepository extends JpaRepository<UserBlock, Long> {
      * Delete all blocks involving a specific user.
      */
     void deleteByBlockerIdOrBlockedId(Long blockerId, Long blockedId);
+
+    /**
+     * Delete all blocks involving any of the given users.
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM user_blocks
+        WHERE blocker_id = ANY(CAST(:userIds AS bigint[]))
+        OR blocked_id = ANY(CAST(:userIds AS bigint[]))
+        """, nativeQuery = true)
+    int deleteInvolvingUsers(@Param("userIds") Long[] userIds);
 }
@@ -1,10 +1,15 @@
 package com.theinside.partii.repository;
 
+import com.theinside.partii.dto.CursorPage;
 import com.theinside.partii.entity.UserReport;
 import com.theinside.partii.enums.ReportStatus;
+import com.theinside.partii.specification.Keyset;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,7 +21,7 @@ import java.util.List;
  * Repository for UserReport entity.
  */
 @Repository
-public interface UserReportRepository extends JpaRepository<UserReport, Long> {
+public interface UserReportRepository extends JpaRepository<UserReport, Long>, JpaSpecificationExecutor<UserReport> {
 
     // ===== Find by Reporter =====
 
@@ -42,10 +47,16 @@ public interface UserReportRepository extends JpaRepository<UserReport, Long> {
     Page<UserReport> findByStatus(ReportStatus status, Pageable pageable);
 
     /**
-     * Find pending reports (for admin review queue).
+     * Find pending reports (for admin review queue), oldest first, one keyset page at a time.
      */
-    @Query("SELECT ur FROM UserReport ur WHERE ur.status IN ('PENDING', 'UNDER_REVIEW') ORDER BY ur.createdAt ASC")
-    Page<UserReport> findPendingReports(Pageable pageable);
+    default CursorPage<UserReport> findPendingReports(String cursor, int limit) {
+        return Keyset.<UserReport>of(Sort.by(Sort.Direction.ASC, "createdAt")).fetch(
+            this,
+            (root, query, cb) -> root.get("status").in(List.of(ReportStatus.PENDING, ReportStatus.UNDER_REVIEW)),
+            cursor,
+            limit
+        );
+    }
 
     // ===== Count Queries =====
 
@@ -103,4 +114,17 @@ public interface UserReportRepository extends JpaRepository<UserReport, Long> {
     void deleteByReporterId(Long reporterId);
 
     void deleteByReportedId(Long reportedId);
+
+    /**
+     * Clears the free-text description of reports filed by the given users.
+     * The reports themselves stay for moderation history.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE user_reports
+        SET description = NULL
+        WHERE reporter_id = ANY(CAST(:userIds AS bigint[]))
+        AND description IS NOT NULL
+        """, nativeQuery = true)
+    int scrubReportsFiledBy(@Param("userIds") Long[] userIds);
 }
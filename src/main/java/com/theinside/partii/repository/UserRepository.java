@@ -4,9 +4,13 @@ import com.theinside.partii.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -21,4 +25,71 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByProviderAndProviderId(String provider, String providerId);
 
     boolean existsByEmail(String email);
+
+    // ===== Account Purge =====
+
+    /**
+     * Locks the next :limit accounts deleted before :cutoff and not yet purged, after :afterId.
+     */
+    @Query(value = """
+        SELECT id FROM users
+        WHERE deleted_at IS NOT NULL
+        AND purged_at IS NULL
+        AND deleted_at < :cutoff
+        AND id > :afterId
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<Long> lockPurgeBatch(
+        @Param("cutoff") Instant cutoff,
+        @Param("afterId") long afterId,
+        @Param("limit") int limit
+    );
+
+    @Query("SELECT COUNT(u) FROM User u WHERE u.deletedAt < :cutoff AND u.purgedAt IS NULL")
+    long countAwaitingPurge(@Param("cutoff") Instant cutoff);
+
+    /**
+     * Deletes the email verification and password reset tokens issued to the users' emails.
+     * Must run before {@link #anonymizeUsers} replaces the emails.
+     */
+    @Query(value = """
+        WITH emails AS (
+            SELECT email FROM users WHERE id = ANY(CAST(:userIds AS bigint[]))
+        ), verification AS (
+            DELETE FROM email_verification_tokens WHERE email IN (SELECT email FROM emails) RETURNING 1
+        ), reset AS (
+            DELETE FROM password_reset_tokens WHERE email IN (SELECT email FROM emails) RETURNING 1
+        )
+        SELECT (SELECT COUNT(*) FROM verification) + (SELECT COUNT(*) FROM reset)
+        """, nativeQuery = true)
+    long deleteEmailTokensOfUsers(@Param("userIds") Long[] userIds);
+
+    /**
+     * Replaces the users' personal data with placeholders and marks them purged.
+     * The rows stay because events and reports still reference them.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE users
+        SET email = 'deleted-' || id || '@deleted.invalid',
+            password = NULL,
+            display_name = 'Deleted user',
+            provider = 'deleted',
+            provider_id = CAST(id AS varchar),
+            legal_name = NULL,
+            bio = NULL,
+            general_location = '',
+            primary_address = '',
+            phone_number = '',
+            dob = NULL,
+            profile_picture_url = NULL,
+            is_enabled = FALSE,
+            is_verified = FALSE,
+            purged_at = :now,
+            updated_at = :now
+        WHERE id = ANY(CAST(:userIds AS bigint[]))
+        """, nativeQuery = true)
+    int anonymizeUsers(@Param("userIds") Long[] userIds, @Param("now") Instant now);
 }
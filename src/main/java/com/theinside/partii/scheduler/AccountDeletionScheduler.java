@@ -1,21 +1,37 @@
 package com.theinside.partii.scheduler;
 
 import com.theinside.partii.service.AccountService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Scheduler for account deletion tasks.
  * Handles purging expired accounts and updating deletion schedules.
+ * The purge runs on one replica at a time.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class AccountDeletionScheduler {
 
+    private static final String PURGE_LEASE_NAME = "account-purge";
+
     private final AccountService accountService;
+    private final SchedulerLease schedulerLease;
+    private final Duration purgeLeaseTtl;
+
+    public AccountDeletionScheduler(
+        AccountService accountService,
+        SchedulerLease schedulerLease,
+        @Value("${partii.account.purge.lease-ttl:PT2H}") Duration purgeLeaseTtl
+    ) {
+        this.accountService = accountService;
+        this.schedulerLease = schedulerLease;
+        this.purgeLeaseTtl = purgeLeaseTtl;
+    }
 
     /**
      * Purge accounts that have completed their grace period.
@@ -23,12 +39,19 @@ public class AccountDeletionScheduler {
      */
     @Scheduled(cron = "0 0 0 * * ?", zone = "UTC")
     public void purgeExpiredAccounts() {
+        String lease = schedulerLease.tryAcquire(PURGE_LEASE_NAME, purgeLeaseTtl);
+        if (lease == null) {
+            log.debug("Skipping account purge: lease held elsewhere");
+            return;
+        }
         try {
             log.info("Starting scheduled task: purge expired accounts");
             long purgedCount = accountService.purgeExpiredAccounts();
             log.info("Purged {} expired accounts", purgedCount);
         } catch (Exception e) {
             log.error("Error during account purging", e);
+        } finally {
+            schedulerLease.release(PURGE_LEASE_NAME, lease);
         }
     }
 
@@ -41,7 +64,7 @@ public class AccountDeletionScheduler {
         try {
             log.info("Starting scheduled task: update account deletion schedules");
             long updatedCount = accountService.updateAccountDeletionSchedules();
-            log.info("Updated {} account deletion schedules", updatedCount);
+            log.info("{} accounts waiting to be purged", updatedCount);
         } catch (Exception e) {
             log.error("Error during deletion schedule update", e);
         }
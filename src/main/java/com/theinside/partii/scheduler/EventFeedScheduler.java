@@ -0,0 +1,56 @@
+package com.theinside.partii.scheduler;
+
+import com.theinside.partii.feed.EventFeedSnapshots;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Rebuilds the feed snapshots from the database on one replica at a time,
+ * and trims expired entries between rebuilds.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventFeedScheduler {
+
+    private static final String LEASE_NAME = "event-feed-rebuild";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(5);
+
+    private final EventFeedSnapshots eventFeedSnapshots;
+    private final SchedulerLease schedulerLease;
+
+    /**
+     * Runs every 15 minutes by default.
+     */
+    @Scheduled(cron = "${partii.feed.rebuild-cron:0 */15 * * * *}", zone = "UTC")
+    public void rebuildFeeds() {
+        String lease = schedulerLease.tryAcquire(LEASE_NAME, LEASE_TTL);
+        if (lease == null) {
+            return;
+        }
+        try {
+            eventFeedSnapshots.rebuild();
+        } catch (Exception e) {
+            log.error("Error rebuilding feed snapshots", e);
+        } finally {
+            schedulerLease.release(LEASE_NAME, lease);
+        }
+    }
+
+    /**
+     * Drops events that aged out of the "New Events" window. Idempotent, so it
+     * runs on every replica without a lease; every minute by default.
+     */
+    @Scheduled(fixedDelayString = "${partii.feed.trim-interval-ms:60000}")
+    public void trimFeeds() {
+        try {
+            eventFeedSnapshots.trimExpired();
+        } catch (Exception e) {
+            log.warn("Error trimming feed snapshots: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.theinside.partii.scheduler;
+
+import com.theinside.partii.search.EventSearchEngine;
+import com.theinside.partii.search.EventSpatialIndex;
+import com.theinside.partii.service.EventLifecycleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+/**
+ * Scheduler for event lifecycle transitions.
+ * Marks started events PAST, archives old PAST events and moves ARCHIVED
+ * events, and CANCELLED ones as old, to the archive tier, in chunks, on one
+ * replica at a time.
+ */
+@Slf4j
+@Component
+public class EventLifecycleScheduler {
+
+    private static final String LEASE_NAME = "event-lifecycle";
+
+    private final EventLifecycleService eventLifecycleService;
+    private final EventSpatialIndex eventSpatialIndex;
+    private final EventSearchEngine eventSearchEngine;
+    private final SchedulerLease schedulerLease;
+    private final int chunkSize;
+    private final int moveChunkSize;
+    private final Duration archiveAfter;
+    private final Duration leaseTtl;
+
+    public EventLifecycleScheduler(
+        EventLifecycleService eventLifecycleService,
+        EventSpatialIndex eventSpatialIndex,
+        EventSearchEngine eventSearchEngine,
+        SchedulerLease schedulerLease,
+        @Value("${partii.lifecycle.chunk-size:5000}") int chunkSize,
+        @Value("${partii.lifecycle.move-chunk-size:500}") int moveChunkSize,
+        @Value("${partii.lifecycle.archive-after:P30D}") Duration archiveAfter,
+        @Value("${partii.lifecycle.lease-ttl:PT10M}") Duration leaseTtl
+    ) {
+        this.eventLifecycleService = eventLifecycleService;
+        this.eventSpatialIndex = eventSpatialIndex;
+        this.eventSearchEngine = eventSearchEngine;
+        this.schedulerLease = schedulerLease;
+        this.chunkSize = chunkSize;
+        this.moveChunkSize = moveChunkSize;
+        this.archiveAfter = archiveAfter;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Transition PAST and ARCHIVED events.
+     * Runs every 5 minutes by default.
+     */
+    @Scheduled(cron = "${partii.lifecycle.cron:0 */5 * * * *}", zone = "UTC")
+    public void transitionEvents() {
+        String lease = schedulerLease.tryAcquire(LEASE_NAME, leaseTtl);
+        if (lease == null) {
+            log.debug("Skipping event lifecycle run: lease held elsewhere");
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime oldestOverdue = eventLifecycleService.findOldestOverdueEventDate(now);
+            Duration lag = oldestOverdue != null ? Duration.between(oldestOverdue, now) : Duration.ZERO;
+
+            int past = runInChunks(lease, chunkSize, () -> eventLifecycleService.markPastEvents(now, chunkSize));
+            LocalDateTime archiveDate = now.minus(archiveAfter);
+            int archived = runInChunks(lease, chunkSize,
+                () -> eventLifecycleService.archivePastEvents(archiveDate, chunkSize));
+
+            // Partitions for next year too, so none is missing around New Year
+            eventLifecycleService.ensureArchivePartitions(archiveDate.getYear());
+            eventLifecycleService.ensureArchivePartitions(archiveDate.getYear() + 1);
+            int moved = runInChunks(lease, moveChunkSize,
+                () -> eventLifecycleService.moveArchivedEvents(archiveDate, moveChunkSize));
+            log.info("Event lifecycle: past={} archived={} moved={} lag={}s",
+                past, archived, moved, lag.toSeconds());
+        } catch (Exception e) {
+            log.error("Error during event lifecycle transitions", e);
+        } finally {
+            schedulerLease.release(LEASE_NAME, lease);
+        }
+    }
+
+    /**
+     * Drop started events from this node's spatial and search indexes. Runs on every replica.
+     */
+    @Scheduled(cron = "${partii.lifecycle.cron:0 */5 * * * *}", zone = "UTC")
+    public void evictExpiredFromIndexes() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int evicted = eventSpatialIndex.evictExpired(now);
+            int unindexed = eventSearchEngine.evictExpired(now);
+            log.debug("Evicted {} started events from the spatial index and {} from the search index",
+                evicted, unindexed);
+        } catch (Exception e) {
+            log.error("Error evicting started events from the indexes", e);
+        }
+    }
+
+    /**
+     * Repeats a chunk until one comes back short, each in its own transaction.
+     * The lease is renewed after every chunk; if it was lost, the rest is left
+     * to whichever replica holds it now.
+     */
+    private int runInChunks(String lease, int size, IntSupplier chunk) {
+        int total = 0;
+        int transitioned;
+        do {
+            transitioned = chunk.getAsInt();
+            total += transitioned;
+            if (!schedulerLease.renew(LEASE_NAME, lease, leaseTtl)) {
+                throw new IllegalStateException("Event lifecycle lease lost after " + total + " events");
+            }
+        } while (transitioned == size);
+        return total;
+    }
+}
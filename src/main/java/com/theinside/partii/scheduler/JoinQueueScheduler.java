@@ -0,0 +1,43 @@
+package com.theinside.partii.scheduler;
+
+import com.theinside.partii.queue.JoinAdmissionQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Drains the join admission queues into event_attendees at a fixed rate, on
+ * one replica at a time so two nodes never admit the same claimed batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JoinQueueScheduler {
+
+    private static final String LEASE_NAME = "join-queue-drain";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(1);
+
+    private final JoinAdmissionQueue joinAdmissionQueue;
+    private final SchedulerLease schedulerLease;
+
+    @Scheduled(fixedDelayString = "${partii.join-queue.drain-interval-ms:250}")
+    public void drainJoinQueues() {
+        if (!joinAdmissionQueue.isEnabled()) {
+            return;
+        }
+        String lease = schedulerLease.tryAcquire(LEASE_NAME, LEASE_TTL);
+        if (lease == null) {
+            return;
+        }
+        try {
+            joinAdmissionQueue.drain();
+        } catch (Exception e) {
+            log.error("Error draining join queues", e);
+        } finally {
+            schedulerLease.release(LEASE_NAME, lease);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.theinside.partii.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redis lease that lets one replica at a time run a scheduled job.
+ *
+ * The lease is a key set with NX and a TTL, holding a random token. Only the
+ * holder's token can renew or release it, and a crashed holder's lease simply expires.
+ * If Redis is unavailable no lease is granted, so the job skips that run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchedulerLease {
+
+    private static final String LEASE_KEY = "partii:scheduler-lease:";
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('get', KEYS[1]) == ARGV[1] then
+            return redis.call('del', KEYS[1])
+        end
+        return 0
+        """, Long.class);
+
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('get', KEYS[1]) == ARGV[1] then
+            return redis.call('pexpire', KEYS[1], ARGV[2])
+        end
+        return 0
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * @return the lease token, or null if another replica holds the lease or Redis is unavailable
+     */
+    public String tryAcquire(String name, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LEASE_KEY + name, token, ttl);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (RuntimeException e) {
+            log.warn("Could not acquire scheduler lease {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Extends a held lease to the given TTL from now, for jobs that run longer than one TTL.
+     * @return false if the lease expired or was taken over, or Redis is unavailable
+     */
+    public boolean renew(String name, String token, Duration ttl) {
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(LEASE_KEY + name), token,
+                String.valueOf(ttl.toMillis()));
+            return renewed != null && renewed == 1;
+        } catch (RuntimeException e) {
+            log.warn("Could not renew scheduler lease {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    public void release(String name, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_KEY + name), token);
+        } catch (RuntimeException e) {
+            log.warn("Could not release scheduler lease {}: {}", name, e.getMessage());
+        }
+    }
+}
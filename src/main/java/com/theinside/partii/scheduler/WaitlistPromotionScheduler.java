@@ -0,0 +1,31 @@
+package com.theinside.partii.scheduler;
+
+import com.theinside.partii.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Promotes waitlists of events whose capacity changed since the last run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WaitlistPromotionScheduler {
+
+    private final WaitlistService waitlistService;
+
+    @Scheduled(fixedDelayString = "${partii.waitlist.promotion-interval-ms:500}")
+    public void promoteChangedEvents() {
+        for (Long eventId : waitlistService.drainChangedEvents()) {
+            try {
+                waitlistService.promote(eventId);
+            } catch (Exception e) {
+                // Retry on the next run
+                waitlistService.capacityChanged(eventId);
+                log.error("Error promoting waitlist for event {}", eventId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.theinside.partii.search;
+
+/**
+ * An event ID with its distance from the search point, as returned by the
+ * nearby queries in {@link com.theinside.partii.repository.EventRepository}.
+ */
+public interface EventDistance {
+
+    Long getId();
+
+    Double getDistanceKm();
+}
@@ -0,0 +1,86 @@
+package com.theinside.partii.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.metamodel.model.domain.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+
+/**
+ * HQL and Criteria functions over the events.search_vector column (see the V3
+ * migration), so keyword matching and ranking can be combined with the other
+ * search filters in one query. Postgres only.
+ *
+ * The column is generated and not mapped on {@link com.theinside.partii.entity.Event},
+ * so both functions take any column of the event row, e.g. its ID, only to find
+ * the row's table alias:
+ * <ul>
+ *   <li>{@code event_search_match(e.id, :query)}: the row matches the query, using the GIN index</li>
+ *   <li>{@code event_search_rank(e.id, :query)}: the row's ts_rank_cd for the query</li>
+ * </ul>
+ * Queries are parsed with websearch_to_tsquery('english', ...).
+ *
+ * Registered through META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class EventFullTextFunctions implements FunctionContributor {
+
+    public static final String MATCH = "event_search_match";
+    public static final String RANK = "event_search_rank";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().register(MATCH,
+            new SearchVectorFunction(MATCH, "(", " @@ ", types.resolve(StandardBasicTypes.BOOLEAN)));
+        functionContributions.getFunctionRegistry().register(RANK,
+            new SearchVectorFunction(RANK, "ts_rank_cd(", ", ", types.resolve(StandardBasicTypes.FLOAT)));
+    }
+
+    /**
+     * Renders {@code <prefix><alias>.search_vector<separator>websearch_to_tsquery('english', <query>))}.
+     */
+    private static final class SearchVectorFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        private final String prefix;
+        private final String separator;
+
+        SearchVectorFunction(String name, String prefix, String separator, BasicType<?> type) {
+            super(name, StandardArgumentsValidators.exactly(2), StandardFunctionReturnTypeResolvers.invariant(type), null);
+            this.prefix = prefix;
+            this.separator = separator;
+        }
+
+        @Override
+        public void render(
+            SqlAppender sql,
+            List<? extends SqlAstNode> arguments,
+            ReturnableType<?> returnType,
+            SqlAstTranslator<?> walker
+        ) {
+            ColumnReference row = ((Expression) arguments.get(0)).getColumnReference();
+            if (row == null) {
+                throw new IllegalArgumentException(getName() + " expects a column of the event row as its first argument");
+            }
+            sql.append(prefix);
+            if (row.getQualifier() != null) {
+                sql.append(row.getQualifier());
+                sql.append('.');
+            }
+            sql.append("search_vector");
+            sql.append(separator);
+            sql.append("websearch_to_tsquery('english', ");
+            arguments.get(1).accept(walker);
+            sql.append("))");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.theinside.partii.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * The slice of an event held by {@link EventSpatialIndex}.
+ */
+public record EventLocation(
+    Long id,
+    Double latitude,
+    Double longitude,
+    LocalDateTime eventDate
+) {
+}
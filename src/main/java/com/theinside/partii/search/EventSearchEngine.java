@@ -0,0 +1,56 @@
+package com.theinside.partii.search;
+
+import com.theinside.partii.entity.Event;
+import com.theinside.partii.enums.EventStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Resolves keyword queries to public event IDs for the event search API.
+ *
+ * The implementation is chosen with partii.search.engine: "postgres" (default)
+ * uses the full-text index in the database, "memory" uses an in-process
+ * inverted index. Write paths report changes through {@link #index} and
+ * {@link #remove}; engines that read from the database ignore them.
+ */
+public interface EventSearchEngine {
+
+    /**
+     * Returns IDs of public events in one of the statuses matching the query,
+     * best match first, or null when the search query should match the keyword
+     * against the database full-text index itself, alongside its other filters.
+     *
+     * @param query    the user's keyword query
+     * @param statuses the event statuses to keep
+     * @param limit    the maximum number of IDs to return
+     * @return ranked event IDs, or null to match in the database
+     */
+    List<Long> findMatchIds(String query, Collection<EventStatus> statuses, int limit);
+
+    /**
+     * Reflects the event's current state once the surrounding transaction commits.
+     */
+    default void index(Event event) {
+    }
+
+    /**
+     * Drops a deleted event once the surrounding transaction commits.
+     */
+    default void remove(Long eventId) {
+    }
+
+    /**
+     * Reloads a single event from the database, for changes committed on other nodes.
+     */
+    default void refresh(Long eventId) {
+    }
+
+    /**
+     * Drops events whose date has passed, returning how many were dropped.
+     */
+    default int evictExpired(LocalDateTime now) {
+        return 0;
+    }
+}
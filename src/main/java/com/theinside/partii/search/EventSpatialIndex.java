@@ -0,0 +1,375 @@
+package com.theinside.partii.search;
+
+import com.theinside.partii.entity.Event;
+import com.theinside.partii.enums.EventStatus;
+import com.theinside.partii.enums.EventVisibility;
+import com.theinside.partii.repository.EventRepository;
+import com.theinside.partii.utils.AfterCommit;
+import com.theinside.partii.utils.geo.GeoBoundingBox;
+import com.theinside.partii.utils.geo.GeoHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process spatial index of upcoming public events (ACTIVE or FULL) for the
+ * nearby feed.
+ *
+ * Events are bucketed by geohash cell. A query scans the cells overlapping the
+ * search box, then checks the exact distance only for events in those cells.
+ * The index is built once the application is ready and kept in sync after
+ * commit by the event write paths; changes from other nodes arrive through
+ * {@link #refresh}, which queues the ID and reloads queued events in batches.
+ * Events changed while the build is running are skipped by the build, so its
+ * older snapshot cannot overwrite them. Events whose date has passed are
+ * skipped at query time, so the PAST and ARCHIVED transitions need no hook.
+ *
+ * Until the build has finished, {@link #isReady()} is false and callers should
+ * fall back to the database. A failed build is retried with exponential backoff.
+ */
+@Slf4j
+@Component
+public class EventSpatialIndex {
+
+    /**
+     * Bucket size; a precision-4 cell is roughly 39km x 20km at the equator.
+     */
+    private static final int CELL_PRECISION = 4;
+    private static final int MAX_SCANNED_CELLS = 256;
+    private static final int BUILD_BATCH_SIZE = 2000;
+    private static final Duration MIN_BUILD_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration MAX_BUILD_BACKOFF = Duration.ofMinutes(5);
+
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+
+    private final Map<Long, EventLocation> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final Set<Long> pendingRefresh = ConcurrentHashMap.newKeySet();
+    private volatile Set<Long> changedDuringBuild;
+    private volatile boolean ready;
+    private Duration buildBackoff = MIN_BUILD_BACKOFF;
+    private volatile long nextBuildAttempt;
+
+    public EventSpatialIndex(
+        EventRepository eventRepository,
+        @Value("${partii.search.spatial-index.enabled:true}") boolean enabled
+    ) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // ===== Build =====
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0L;
+        int loaded = 0;
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringBuild = changed;
+        try {
+            List<EventLocation> batch;
+            do {
+                batch = eventRepository.findUpcomingPublicLocations(now, afterId, Limit.of(BUILD_BATCH_SIZE));
+                for (EventLocation location : batch) {
+                    putUnlessChanged(location, changed);
+                }
+                loaded += batch.size();
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == BUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            nextBuildAttempt = System.currentTimeMillis() + buildBackoff.toMillis();
+            log.error("Failed to build event spatial index, nearby queries will use the database; retrying in {}s",
+                buildBackoff.toSeconds(), e);
+            buildBackoff = buildBackoff.multipliedBy(2).compareTo(MAX_BUILD_BACKOFF) < 0
+                ? buildBackoff.multipliedBy(2)
+                : MAX_BUILD_BACKOFF;
+            return;
+        } finally {
+            changedDuringBuild = null;
+        }
+        ready = true;
+        buildBackoff = MIN_BUILD_BACKOFF;
+        log.info("Event spatial index built with {} events in {} ms", loaded, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Retries a failed build once its backoff has elapsed.
+     */
+    @Scheduled(fixedDelay = 5000, initialDelay = 5000)
+    public void retryBuild() {
+        if (enabled && !ready && nextBuildAttempt > 0 && System.currentTimeMillis() >= nextBuildAttempt) {
+            build();
+        }
+    }
+
+    // ===== Sync =====
+
+    /**
+     * Reconciles the index with the event's current state once the surrounding
+     * transaction commits (immediately when there is none).
+     */
+    public void update(Event event) {
+        if (!enabled || event.getId() == null) {
+            return;
+        }
+        Long eventId = event.getId();
+        EventLocation location = isIndexable(event) ? toLocation(event) : null;
+        AfterCommit.run(() -> {
+            if (location != null) {
+                put(location);
+            } else {
+                remove(eventId);
+            }
+        });
+    }
+
+    /**
+     * Drops an event from the index once the surrounding transaction commits
+     * (immediately when there is none), e.g. after it is deleted.
+     */
+    public void remove(Long eventId) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        AfterCommit.run(() -> removeEntry(eventId));
+    }
+
+    /**
+     * Drops events from the index once the surrounding transaction commits
+     * (immediately when there is none), e.g. after a bulk cancellation.
+     */
+    public void remove(List<Long> eventIds) {
+        if (!enabled || eventIds.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> eventIds.forEach(this::removeEntry));
+    }
+
+    /**
+     * Queues an event changed on another node to be reloaded with the next batch.
+     */
+    public void refresh(Long eventId) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        markChanged(eventId);
+        pendingRefresh.add(eventId);
+    }
+
+    /**
+     * Reloads the queued events in one query: those still indexable are updated,
+     * the rest are dropped.
+     */
+    @Scheduled(fixedDelayString = "${partii.search.spatial-index.refresh-interval-ms:1000}")
+    public void refreshPending() {
+        if (!enabled || pendingRefresh.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pendingRefresh);
+        pendingRefresh.removeAll(ids);
+        try {
+            Map<Long, EventLocation> locations = new HashMap<>();
+            for (EventLocation location : eventRepository.findUpcomingPublicLocationsByIdIn(ids, LocalDateTime.now())) {
+                locations.put(location.id(), location);
+            }
+            for (Long id : ids) {
+                EventLocation location = locations.get(id);
+                if (location != null) {
+                    put(location);
+                } else {
+                    removeEntry(id);
+                }
+            }
+        } catch (RuntimeException e) {
+            pendingRefresh.addAll(ids);
+            log.warn("Failed to refresh {} events in the spatial index: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Drops events whose date has passed. Queries already ignore them, so this
+     * only reclaims memory.
+     */
+    public int evictExpired(LocalDateTime now) {
+        List<Long> expired = entries.values().stream()
+            .filter(location -> !location.eventDate().isAfter(now))
+            .map(EventLocation::id)
+            .toList();
+        expired.forEach(this::removeEntry);
+        return expired.size();
+    }
+
+    // ===== Queries =====
+
+    /**
+     * Returns up to {@code limit} upcoming events within the radius, ordered by
+     * distance and then ID, after the given (distance, ID) position; pass a
+     * negative distance for the first page.
+     */
+    public List<EventDistance> findNearby(double latitude, double longitude, double radiusKm, LocalDateTime now,
+                                          double afterDistance, long afterId, int limit) {
+        GeoBoundingBox box = GeoBoundingBox.around(latitude, longitude, radiusKm);
+
+        List<Hit> hits = new ArrayList<>();
+        for (Long id : candidateIds(box)) {
+            EventLocation location = entries.get(id);
+            if (location == null
+                || !location.eventDate().isAfter(now)
+                || !box.contains(location.latitude(), location.longitude())) {
+                continue;
+            }
+            double distance = GeoBoundingBox.distanceKm(latitude, longitude, location.latitude(), location.longitude());
+            if (distance <= radiusKm
+                && (distance > afterDistance || (distance == afterDistance && id > afterId))) {
+                hits.add(new Hit(id, distance));
+            }
+        }
+        return hits.stream()
+            .sorted(Comparator.comparingDouble(Hit::distanceKm).thenComparing(Hit::id))
+            .limit(limit)
+            .<EventDistance>map(hit -> hit)
+            .toList();
+    }
+
+    private record Hit(Long id, double distanceKm) implements EventDistance {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+
+    /**
+     * Collects the events in every cell overlapping the box, or every indexed
+     * event when the box spans too many cells for the lookup to pay off.
+     */
+    private Collection<Long> candidateIds(GeoBoundingBox box) {
+        double height = GeoHash.cellHeight(CELL_PRECISION);
+        double width = GeoHash.cellWidth(CELL_PRECISION);
+        int maxLatIndex = (int) Math.round(180.0 / height) - 1;
+        int maxLngIndex = (int) Math.round(360.0 / width) - 1;
+
+        int latFrom = cellIndex(box.minLatitude() + 90.0, height, maxLatIndex);
+        int latTo = cellIndex(box.maxLatitude() + 90.0, height, maxLatIndex);
+        int lngFrom = cellIndex(box.minLongitude() + 180.0, width, maxLngIndex);
+        int lngTo = cellIndex(box.maxLongitude() + 180.0, width, maxLngIndex);
+
+        long cellCount = (long) (latTo - latFrom + 1) * (lngTo - lngFrom + 1);
+        if (cellCount > MAX_SCANNED_CELLS) {
+            return entries.keySet();
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (int lat = latFrom; lat <= latTo; lat++) {
+            for (int lng = lngFrom; lng <= lngTo; lng++) {
+                String cell = GeoHash.encode(-90.0 + (lat + 0.5) * height, -180.0 + (lng + 0.5) * width, CELL_PRECISION);
+                Set<Long> cellIds = cells.get(cell);
+                if (cellIds != null) {
+                    ids.addAll(cellIds);
+                }
+            }
+        }
+        return ids;
+    }
+
+    // ===== Internals =====
+
+    private synchronized void putUnlessChanged(EventLocation location, Set<Long> changed) {
+        if (!changed.contains(location.id())) {
+            put(location);
+        }
+    }
+
+    private synchronized void put(EventLocation location) {
+        markChanged(location.id());
+        EventLocation previous = entries.put(location.id(), location);
+        String cell = cellOf(location);
+        if (previous != null) {
+            String previousCell = cellOf(previous);
+            if (!previousCell.equals(cell)) {
+                removeFromCell(previousCell, location.id());
+            }
+        }
+        cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(location.id());
+    }
+
+    private synchronized void removeEntry(Long eventId) {
+        markChanged(eventId);
+        EventLocation previous = entries.remove(eventId);
+        if (previous != null) {
+            removeFromCell(cellOf(previous), eventId);
+        }
+    }
+
+    private void markChanged(Long eventId) {
+        Set<Long> changed = changedDuringBuild;
+        if (changed != null) {
+            changed.add(eventId);
+        }
+    }
+
+    private void removeFromCell(String cell, Long eventId) {
+        cells.computeIfPresent(cell, (key, ids) -> {
+            ids.remove(eventId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static String cellOf(EventLocation location) {
+        return GeoHash.encode(location.latitude(), location.longitude(), CELL_PRECISION);
+    }
+
+    private static int cellIndex(double offset, double cellSize, int maxIndex) {
+        return Math.min(maxIndex, Math.max(0, (int) Math.floor(offset / cellSize)));
+    }
+
+    private static boolean isIndexable(Event event) {
+        return event.getVisibility() == EventVisibility.PUBLIC
+            && (event.getStatus() == EventStatus.ACTIVE || event.getStatus() == EventStatus.FULL)
+            && event.getLatitude() != null
+            && event.getLongitude() != null
+            && event.getEventDate() != null
+            && event.getEventDate().isAfter(LocalDateTime.now());
+    }
+
+    private static EventLocation toLocation(Event event) {
+        return new EventLocation(event.getId(), event.getLatitude(), event.getLongitude(), event.getEventDate());
+    }
+}
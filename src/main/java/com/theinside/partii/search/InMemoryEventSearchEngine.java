@@ -0,0 +1,370 @@
+package com.theinside.partii.search;
+
+import com.theinside.partii.entity.Event;
+import com.theinside.partii.enums.EventStatus;
+import com.theinside.partii.enums.EventVisibility;
+import com.theinside.partii.repository.EventRepository;
+import com.theinside.partii.utils.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process inverted index over upcoming public events' (ACTIVE or FULL)
+ * title, location, event type and description, so keyword search never
+ * touches the database.
+ *
+ * Every query term must match. The last term also matches as a prefix so
+ * results update as the user types, and terms of four or more characters
+ * with no exact match fall back to terms within one or two edits. Scores
+ * combine field weights and term rarity, then favor events happening sooner.
+ *
+ * The index is built in bulk once the application is ready and updated after
+ * commit by the event write paths; changes from other nodes are queued and
+ * reloaded in batches. Events that start are evicted by the lifecycle
+ * scheduler. Until the build has finished, and for searches over other
+ * statuses, queries go to the database full-text index. A failed build is
+ * retried with exponential backoff.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "partii.search.engine", havingValue = "memory")
+public class InMemoryEventSearchEngine implements EventSearchEngine {
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float LOCATION_WEIGHT = 2.0f;
+    private static final float TYPE_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final double PREFIX_MATCH = 0.8;
+    private static final double FUZZY_MATCH = 0.6;
+    private static final int MAX_EXPANSIONS = 50;
+    private static final int BUILD_BATCH_SIZE = 500;
+    private static final Set<EventStatus> INDEXED_STATUSES = Set.of(EventStatus.ACTIVE, EventStatus.FULL);
+    private static final Duration MIN_BUILD_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration MAX_BUILD_BACKOFF = Duration.ofMinutes(5);
+
+    private final EventRepository eventRepository;
+
+    /**
+     * Term to postings (event ID to term weight), sorted for prefix scans.
+     */
+    private final NavigableMap<String, Map<Long, Float>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedEvent> events = new ConcurrentHashMap<>();
+    private final Set<Long> pendingRefresh = ConcurrentHashMap.newKeySet();
+    private volatile Set<Long> changedDuringBuild;
+    private volatile boolean ready;
+    private Duration buildBackoff = MIN_BUILD_BACKOFF;
+    private volatile long nextBuildAttempt;
+
+    private record IndexedEvent(Map<String, Float> terms, LocalDateTime eventDate, EventStatus status) {}
+
+    public InMemoryEventSearchEngine(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    // ===== Build =====
+
+    /**
+     * Rebuilds the index from the database in ID-ordered batches. Only single
+     * entries are locked, so writes committed meanwhile are not held up, and a
+     * batch never overwrites an event they changed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0L;
+        int loaded = 0;
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringBuild = changed;
+        try {
+            List<Event> batch;
+            do {
+                batch = eventRepository.findUpcomingPublicEventsAfterId(now, afterId, Limit.of(BUILD_BATCH_SIZE));
+                for (Event event : batch) {
+                    putUnlessChanged(event.getId(), analyze(event), changed);
+                }
+                loaded += batch.size();
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == BUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            nextBuildAttempt = System.currentTimeMillis() + buildBackoff.toMillis();
+            log.error("Failed to build event search index, keyword search will use the database; retrying in {}s",
+                buildBackoff.toSeconds(), e);
+            buildBackoff = buildBackoff.multipliedBy(2).compareTo(MAX_BUILD_BACKOFF) < 0
+                ? buildBackoff.multipliedBy(2)
+                : MAX_BUILD_BACKOFF;
+            return;
+        } finally {
+            changedDuringBuild = null;
+        }
+        ready = true;
+        buildBackoff = MIN_BUILD_BACKOFF;
+        log.info("Event search index built with {} events and {} terms in {} ms",
+            loaded, postings.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Retries a failed build once its backoff has elapsed.
+     */
+    @Scheduled(fixedDelay = 5000, initialDelay = 5000)
+    public void retryBuild() {
+        if (!ready && nextBuildAttempt > 0 && System.currentTimeMillis() >= nextBuildAttempt) {
+            rebuild();
+        }
+    }
+
+    // ===== Sync =====
+
+    @Override
+    public void index(Event event) {
+        if (event.getId() == null) {
+            return;
+        }
+        if (!isIndexable(event)) {
+            remove(event.getId());
+            return;
+        }
+        Long eventId = event.getId();
+        IndexedEvent document = analyze(event);
+        AfterCommit.run(() -> put(eventId, document));
+    }
+
+    @Override
+    public void remove(Long eventId) {
+        AfterCommit.run(() -> delete(eventId));
+    }
+
+    /**
+     * Queues the event to be reloaded with the next batch.
+     */
+    @Override
+    public void refresh(Long eventId) {
+        if (eventId != null) {
+            pendingRefresh.add(eventId);
+        }
+    }
+
+    /**
+     * Reloads the queued events in one query: those still indexable are updated,
+     * the rest are dropped.
+     */
+    @Scheduled(fixedDelayString = "${partii.search.memory.refresh-interval-ms:1000}")
+    public void refreshPending() {
+        if (pendingRefresh.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pendingRefresh);
+        pendingRefresh.removeAll(ids);
+        try {
+            Map<Long, Event> loaded = new HashMap<>();
+            eventRepository.findAllById(ids).forEach(event -> loaded.put(event.getId(), event));
+            for (Long id : ids) {
+                Event event = loaded.get(id);
+                if (event != null && isIndexable(event)) {
+                    put(event);
+                } else {
+                    delete(id);
+                }
+            }
+        } catch (RuntimeException e) {
+            pendingRefresh.addAll(ids);
+            log.warn("Failed to refresh {} events in the search index: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public int evictExpired(LocalDateTime now) {
+        List<Long> expired = events.entrySet().stream()
+            .filter(e -> !e.getValue().eventDate().isAfter(now))
+            .map(Map.Entry::getKey)
+            .toList();
+        expired.forEach(this::delete);
+        return expired.size();
+    }
+
+    // ===== Queries =====
+
+    @Override
+    public List<Long> findMatchIds(String query, Collection<EventStatus> statuses, int limit) {
+        if (!ready || !INDEXED_STATUSES.containsAll(statuses)) {
+            return null;
+        }
+        List<String> tokens = TextAnalyzer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+
+        Map<Long, Double> scores = null;
+        for (int i = 0; i < tokens.size(); i++) {
+            Map<Long, Double> tokenScores = scoreToken(tokens.get(i), lastIsPrefix && i == tokens.size() - 1);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                // Every token must match
+                Map<Long, Double> matched = tokenScores;
+                scores.keySet().retainAll(matched.keySet());
+                scores.replaceAll((id, score) -> score + matched.get(id));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        record Hit(Long id, double score) {}
+        return scores.entrySet().stream()
+            .map(e -> {
+                IndexedEvent event = events.get(e.getKey());
+                return event != null && statuses.contains(event.status())
+                    ? new Hit(e.getKey(), e.getValue() * dateBoost(event.eventDate(), now))
+                    : null;
+            })
+            .filter(Objects::nonNull)
+            .sorted(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id))
+            .limit(limit)
+            .map(Hit::id)
+            .toList();
+    }
+
+    /**
+     * Scores every event matching one query token, keeping each event's best
+     * match among the exact, prefix and fuzzy expansions of the token.
+     */
+    private Map<Long, Double> scoreToken(String token, boolean prefix) {
+        Map<String, Double> expansions = new HashMap<>();
+        if (postings.containsKey(token)) {
+            expansions.put(token, 1.0);
+        }
+        if (prefix) {
+            for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                expansions.put(term, PREFIX_MATCH);
+            }
+        }
+        if (expansions.isEmpty() && token.length() >= 4) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            // Typos in the first character are rare enough to skip for a much smaller scan
+            String first = token.substring(0, 1);
+            for (String term : postings.subMap(first, true, first + Character.MAX_VALUE, false).keySet()) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                if (TextAnalyzer.editDistance(token, term, maxEdits) <= maxEdits) {
+                    expansions.put(term, FUZZY_MATCH);
+                }
+            }
+        }
+
+        int documentCount = Math.max(1, events.size());
+        Map<Long, Double> scores = new HashMap<>();
+        expansions.forEach((term, quality) -> {
+            Map<Long, Float> termPostings = postings.get(term);
+            if (termPostings == null) {
+                return;
+            }
+            double idf = Math.log(1.0 + (double) documentCount / termPostings.size());
+            termPostings.forEach((id, weight) -> scores.merge(id, quality * idf * weight, Math::max));
+        });
+        return scores;
+    }
+
+    /**
+     * Between 1 and 2 for upcoming events, decaying over a few weeks; past events get 0.5.
+     */
+    private static double dateBoost(LocalDateTime eventDate, LocalDateTime now) {
+        if (eventDate == null || eventDate.isBefore(now)) {
+            return 0.5;
+        }
+        double days = Duration.between(now, eventDate).toHours() / 24.0;
+        return 1.0 + 1.0 / (1.0 + days / 7.0);
+    }
+
+    // ===== Internals =====
+
+    private static IndexedEvent analyze(Event event) {
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, event.getTitle(), TITLE_WEIGHT);
+        addField(terms, event.getLocationAddress(), LOCATION_WEIGHT);
+        addField(terms, event.getEventType() != null ? event.getEventType().name() : null, TYPE_WEIGHT);
+        addField(terms, event.getDescription(), DESCRIPTION_WEIGHT);
+        return new IndexedEvent(terms, event.getEventDate(), event.getStatus());
+    }
+
+    /**
+     * Each field counts once per term, however often the term repeats in it.
+     */
+    private static void addField(Map<String, Float> terms, String text, float weight) {
+        TextAnalyzer.tokenize(text).stream()
+            .distinct()
+            .forEach(term -> terms.merge(term, weight, Float::sum));
+    }
+
+    private static boolean isIndexable(Event event) {
+        return event.getVisibility() == EventVisibility.PUBLIC
+            && INDEXED_STATUSES.contains(event.getStatus())
+            && event.getEventDate() != null
+            && event.getEventDate().isAfter(LocalDateTime.now());
+    }
+
+    private void put(Event event) {
+        put(event.getId(), analyze(event));
+    }
+
+    private synchronized void putUnlessChanged(Long eventId, IndexedEvent document, Set<Long> changed) {
+        if (!changed.contains(eventId)) {
+            put(eventId, document);
+        }
+    }
+
+    private synchronized void put(Long eventId, IndexedEvent document) {
+        delete(eventId);
+        events.put(eventId, document);
+        document.terms().forEach((term, weight) ->
+            postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(eventId, weight));
+    }
+
+    private synchronized void delete(Long eventId) {
+        markChanged(eventId);
+        IndexedEvent previous = events.remove(eventId);
+        if (previous == null) {
+            return;
+        }
+        previous.terms().keySet().forEach(term ->
+            postings.computeIfPresent(term, (key, ids) -> {
+                ids.remove(eventId);
+                return ids.isEmpty() ? null : ids;
+            }));
+    }
+
+    private void markChanged(Long eventId) {
+        Set<Long> changed = changedDuringBuild;
+        if (changed != null) {
+            changed.add(eventId);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.theinside.partii.search;
+
+import com.theinside.partii.enums.EventStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keyword search backed by the events.search_vector GIN index. The keyword is
+ * matched and ranked by the search query itself (see {@link EventFullTextFunctions}),
+ * so every filter, the ranking and the facet counts apply in one statement.
+ */
+@Component
+@ConditionalOnProperty(name = "partii.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresEventSearchEngine implements EventSearchEngine {
+
+    @Override
+    public List<Long> findMatchIds(String query, Collection<EventStatus> statuses, int limit) {
+        return null;
+    }
+}
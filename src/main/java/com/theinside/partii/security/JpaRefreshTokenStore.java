@@ -0,0 +1,102 @@
+package com.theinside.partii.security;
+
+import com.theinside.partii.entity.RefreshToken;
+import com.theinside.partii.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh tokens in the refresh_tokens table. Revoked rows are kept for reuse
+ * detection until they expire, and expired rows are deleted by
+ * {@link TokenCleanupScheduler}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "partii.security.refresh-token-store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    @Transactional
+    public void save(RefreshToken token) {
+        refreshTokenRepository.save(token);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RefreshToken> findByToken(UUID token) {
+        return refreshTokenRepository.findByToken(token);
+    }
+
+    /**
+     * Callers run this outside any transaction (see
+     * {@link TokenManager#rotateRefreshToken}), so it commits on its own and a
+     * detected reuse stays revoked even though the refresh that detected it
+     * fails. Concurrent rotations of one token serialize on its row: the first
+     * wins the compare-and-set and the others then see its successor.
+     */
+    @Override
+    @Transactional
+    public Rotation rotate(UUID token, UUID successor, Instant now, Instant successorExpiresAt, Duration gracePeriod) {
+        Optional<RefreshToken> rotated = refreshTokenRepository.rotate(token, successor, now);
+        if (rotated.isPresent()) {
+            RefreshToken next = RefreshToken.builder()
+                .token(successor)
+                .userId(rotated.get().getUserId())
+                .familyId(rotated.get().getFamilyId())
+                .issuedAt(now)
+                .expiresAt(successorExpiresAt)
+                .revoked(false)
+                .build();
+            refreshTokenRepository.save(next);
+            return new Rotation(Rotation.Status.ROTATED, next);
+        }
+
+        RefreshToken current = refreshTokenRepository.findByToken(token).orElse(null);
+        if (current == null) {
+            return Rotation.of(Rotation.Status.INVALID);
+        }
+        if (!current.isRevoked()) {
+            return Rotation.of(Rotation.Status.EXPIRED);
+        }
+        if (current.getReplacedBy() != null && !current.getRotatedAt().plus(gracePeriod).isBefore(now)) {
+            return refreshTokenRepository.findByToken(current.getReplacedBy())
+                .filter(next -> !next.isRevoked())
+                .map(next -> new Rotation(Rotation.Status.GRACE, next))
+                .orElseGet(() -> Rotation.of(Rotation.Status.INVALID));
+        }
+        refreshTokenRepository.revokeByFamilyId(current.getFamilyId());
+        return Rotation.of(Rotation.Status.REUSED);
+    }
+
+    @Override
+    @Transactional
+    public void revokeFamily(UUID familyId) {
+        refreshTokenRepository.revokeByFamilyId(familyId);
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllOfUser(Long userId) {
+        refreshTokenRepository.revokeByUserId(userId);
+    }
+
+    @Override
+    @Transactional
+    public long deleteAllOfUsers(Long[] userIds) {
+        return refreshTokenRepository.deleteByUserIds(userIds);
+    }
+
+    @Override
+    public boolean needsCleanup() {
+        return true;
+    }
+}
@@ -1,6 +1,5 @@
 package com.theinside.partii.security;
 
-import com.theinside.partii.entity.User;
 import com.theinside.partii.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,6 +7,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,7 +26,10 @@ import java.io.IOException;
  * Flow:
  * 1. Extract token from Authorization header (Bearer scheme)
  * 2. Decode and validate JWT signature and expiry
- * 3. Load user from database using token subject (email)
+ * 3. Resolve the principal: straight from token claims in stateless mode,
+ *    otherwise from the {@link PrincipalCache} by the userId claim, loading it
+ *    from the database only on a cache miss. Tokens issued before a revocation
+ *    in {@link PrincipalRevocationList} are rejected either way.
  * 4. Set authentication in SecurityContext for downstream access
  */
 @Component
@@ -38,10 +41,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtDecoder jwtDecoder;
     private final UserRepository userRepository;
-
-    public JwtAuthenticationFilter(JwtDecoder jwtDecoder, UserRepository userRepository) {
+    private final PrincipalCache principalCache;
+    private final PrincipalRevocationList principalRevocationList;
+    private final boolean statelessPrincipal;
+
+    public JwtAuthenticationFilter(
+            JwtDecoder jwtDecoder,
+            UserRepository userRepository,
+            PrincipalCache principalCache,
+            PrincipalRevocationList principalRevocationList,
+            @Value("${partii.security.stateless-principal.enabled:false}") boolean statelessPrincipal
+    ) {
         this.jwtDecoder = jwtDecoder;
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.principalRevocationList = principalRevocationList;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -70,11 +85,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             Jwt jwt = jwtDecoder.decode(token);
 
             String email = jwt.getSubject();
+            SecurityUser securityUser = resolvePrincipal(jwt, email);
 
-            userRepository.findByEmail(email).ifPresent(user -> {
-                if (user.isEnabled()) {
-                    SecurityUser securityUser = new SecurityUser(user);
-
+            if (securityUser != null) {
+                if (securityUser.isEnabled()) {
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
                                     securityUser,
@@ -91,7 +105,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 } else {
                     logger.warn("Attempted access by disabled user: {}", email);
                 }
-            });
+            }
 
         } catch (JwtException e) {
             logger.debug("JWT validation failed: {}", e.getMessage());
@@ -100,4 +114,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Builds the principal from token claims when running stateless, otherwise
+     * looks it up by the userId claim through the cache. Tokens without the
+     * claim fall back to an uncached lookup by subject.
+     */
+    private SecurityUser resolvePrincipal(Jwt jwt, String email) {
+        Object userIdClaim = jwt.getClaim(TokenManager.USER_ID_CLAIM);
+        if (!(userIdClaim instanceof Number number)) {
+            return userRepository.findByEmail(email).map(SecurityUser::new).orElse(null);
+        }
+
+        Long userId = number.longValue();
+        if (principalRevocationList.isRevoked(userId, jwt.getIssuedAt())) {
+            logger.debug("Rejected revoked access token for user: {}", userId);
+            return null;
+        }
+
+        if (statelessPrincipal && SecurityUser.hasPrincipalClaims(jwt)) {
+            return SecurityUser.fromClaims(jwt);
+        }
+
+        SecurityUser securityUser = principalCache.get(userId, this::loadPrincipal);
+        if (securityUser != null && !securityUser.getUsername().equals(email)) {
+            // Claim and subject disagree, never trust the cached entry
+            principalCache.evict(userId);
+            return null;
+        }
+        return securityUser;
+    }
+
+    private SecurityUser loadPrincipal(Long userId) {
+        return userRepository.findById(userId).map(SecurityUser::new).orElse(null);
+    }
 }
@@ -0,0 +1,70 @@
+package com.theinside.partii.security;
+
+import com.theinside.partii.cache.CacheInvalidation;
+import com.theinside.partii.cache.CacheInvalidationPublisher;
+import com.theinside.partii.cache.LocalTtlCache;
+import com.theinside.partii.utils.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by user ID.
+ *
+ * Used by {@link JwtAuthenticationFilter} so that bearer-authenticated requests
+ * do not need a users table lookup on every call. Entries must be evicted
+ * whenever the account state that backs a {@link SecurityUser} changes.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalCache.class);
+
+    private final LocalTtlCache<Long, SecurityUser> cache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public PrincipalCache(
+            CacheInvalidationPublisher invalidationPublisher,
+            @Value("${partii.security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${partii.security.principal-cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.invalidationPublisher = invalidationPublisher;
+        this.cache = new LocalTtlCache<>(maxSize, ttl);
+    }
+
+    public SecurityUser get(Long userId, Function<Long, SecurityUser> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * Evicts the principal on this node only.
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.invalidate(userId);
+        logger.debug("Evicted cached principal for user: {}", userId);
+    }
+
+    /**
+     * Evicts now and again once the surrounding transaction commits, so a
+     * concurrent request cannot re-cache the pre-commit row in between.
+     * The post-commit eviction is broadcast to the other nodes.
+     */
+    public void evictAfterCommit(Long userId) {
+        evict(userId);
+        AfterCommit.run(() -> {
+            evict(userId);
+            invalidationPublisher.publish(CacheInvalidation.Type.USER, userId);
+        });
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+}
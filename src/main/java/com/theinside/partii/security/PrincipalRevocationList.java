@@ -0,0 +1,171 @@
+package com.theinside.partii.security;
+
+import com.theinside.partii.cache.CacheInvalidation;
+import com.theinside.partii.cache.CacheInvalidationPublisher;
+import com.theinside.partii.utils.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small in-memory set of users whose access tokens must no longer be honoured.
+ *
+ * Each entry records the moment the user was revoked; any access token issued
+ * in an earlier second is rejected. Entries are only needed until every such
+ * token has expired, so they are dropped after the access token lifetime.
+ *
+ * Revocations take effect once the surrounding transaction commits. They are
+ * broadcast so every API node rejects the same tokens, and also written to a
+ * Redis key that expires with the access token lifetime. Nodes load those keys
+ * at startup and re-read them periodically, so a node that started late or
+ * missed a message catches up within the sync interval.
+ */
+@Component
+public class PrincipalRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalRevocationList.class);
+
+    private static final String REVOKED_KEY = "partii:principal-revoked:";
+    private static final Duration ENTRY_TTL = Duration.ofMinutes(TokenManager.ACCESS_TOKEN_TTL_MINUTES);
+
+    private final ConcurrentHashMap<Long, Instant> revokedAt = new ConcurrentHashMap<>();
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final StringRedisTemplate redisTemplate;
+
+    public PrincipalRevocationList(CacheInvalidationPublisher invalidationPublisher, StringRedisTemplate redisTemplate) {
+        this.invalidationPublisher = invalidationPublisher;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Rejects every access token issued to the user up to now, on every node,
+     * once the current transaction commits (immediately when there is none).
+     */
+    public void revoke(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        AfterCommit.run(() -> {
+            revokeLocally(userId, now);
+            try {
+                redisTemplate.opsForValue().set(REVOKED_KEY + userId, String.valueOf(now.toEpochMilli()), ENTRY_TTL);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to store revocation for user {}: {}", userId, e.getMessage());
+            }
+            invalidationPublisher.publish(CacheInvalidation.Type.USER_REVOKED, userId, now.toEpochMilli());
+        });
+    }
+
+    /**
+     * Rejects every access token issued to the user up to the given instant, on this node only.
+     */
+    public void revokeLocally(Long userId, Instant at) {
+        if (userId == null) {
+            return;
+        }
+        revokedAt.merge(userId, at, (existing, incoming) -> incoming.isAfter(existing) ? incoming : existing);
+        purgeExpired();
+        logger.debug("Revoked access tokens for user {} issued before {}", userId, at);
+    }
+
+    /**
+     * Lifts a revocation on every node once the current transaction commits,
+     * e.g. when a deactivated account is reactivated.
+     */
+    public void clear(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            revokedAt.remove(userId);
+            try {
+                redisTemplate.delete(REVOKED_KEY + userId);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to clear stored revocation for user {}: {}", userId, e.getMessage());
+            }
+            invalidationPublisher.publish(CacheInvalidation.Type.USER_REVOCATION_CLEARED, userId);
+        });
+    }
+
+    /**
+     * Lifts a revocation on this node only.
+     */
+    public void clearLocally(Long userId) {
+        if (userId != null) {
+            revokedAt.remove(userId);
+        }
+    }
+
+    /**
+     * Checks whether a token issued to the user at the given time has been revoked.
+     * JWT issue times have whole-second precision, so both sides are compared in
+     * seconds: a token issued in the same second as the revocation is kept, so
+     * the session created right after a password reset is not logged out.
+     */
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        Instant revoked = revokedAt.get(userId);
+        if (revoked == null) {
+            return false;
+        }
+        return issuedAt == null
+            || issuedAt.truncatedTo(ChronoUnit.SECONDS).isBefore(revoked.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    public int size() {
+        return revokedAt.size();
+    }
+
+    // ===== Sync =====
+
+    /**
+     * Loads the revocations stored in Redis, at startup and then every
+     * partii.security.revocation.sync-interval-ms.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${partii.security.revocation.sync-interval-ms:30000}",
+        fixedDelayString = "${partii.security.revocation.sync-interval-ms:30000}")
+    public void sync() {
+        try {
+            List<String> keys = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(REVOKED_KEY + "*").count(500).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (keys.isEmpty()) {
+                return;
+            }
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values == null) {
+                return;
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                if (values.get(i) != null) {
+                    Long userId = Long.valueOf(keys.get(i).substring(REVOKED_KEY.length()));
+                    revokeLocally(userId, Instant.ofEpochMilli(Long.parseLong(values.get(i))));
+                }
+            }
+            logger.debug("Synced {} stored revocations", keys.size());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to sync stored revocations: {}", e.getMessage());
+        }
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minus(ENTRY_TTL);
+        revokedAt.values().removeIf(at -> at.isBefore(cutoff));
+    }
+}
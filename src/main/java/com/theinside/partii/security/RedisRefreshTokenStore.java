@@ -0,0 +1,241 @@
+package com.theinside.partii.security;
+
+import com.theinside.partii.entity.RefreshToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh tokens in Redis, so a refresh costs a few key operations instead of
+ * a row lookup, an update and an insert.
+ *
+ * Each token is a hash that expires with the token. A family index holds
+ * every token of the family that has not expired, revoked or not, scored by
+ * its expiry, and a user set holds the user's families, so revoking either
+ * and purging an account touch only those tokens. A rotated token keeps its
+ * hash, marked revoked, until it expires, which is what reuse detection looks
+ * at, and records its successor so a concurrent refresh within the grace
+ * window gets the same one. Revoking leaves both indexes in place: they
+ * expire with their newest token. Expired tokens are dropped from the family
+ * index whenever the family gets a token, and families whose tokens have all
+ * expired are dropped from the user set the next time the user gets a token.
+ *
+ * Every multi-key change runs as one script, so it is atomic. The scripts
+ * derive token and family keys from set members, which assumes a single
+ * Redis node or primary, as the rest of the app does.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "partii.security.refresh-token-store", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String TOKEN_KEY = "partii:refresh-token:";
+    private static final String FAMILY_KEY = "partii:refresh-family-tokens:";
+    private static final String USER_KEY = "partii:refresh-user:";
+
+    private static final DefaultRedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+        redis.call('hset', KEYS[1], 'userId', ARGV[2], 'familyId', ARGV[3],
+            'issuedAt', ARGV[4], 'expiresAt', ARGV[5], 'revoked', '0')
+        redis.call('pexpireat', KEYS[1], ARGV[5])
+        redis.call('zremrangebyscore', KEYS[2], '-inf', ARGV[6])
+        redis.call('zadd', KEYS[2], ARGV[5], ARGV[1])
+        for _, family in ipairs(redis.call('smembers', KEYS[3])) do
+            if redis.call('exists', ARGV[7] .. family) == 0 then
+                redis.call('srem', KEYS[3], family)
+            end
+        end
+        redis.call('sadd', KEYS[3], ARGV[3])
+        local remaining = tonumber(ARGV[5]) - tonumber(ARGV[6])
+        for i = 2, 3 do
+            local ttl = redis.call('pttl', KEYS[i])
+            if ttl < 0 or ttl < remaining then
+                redis.call('pexpireat', KEYS[i], ARGV[5])
+            end
+        end
+        return 1
+        """, Long.class);
+
+    /**
+     * Returns the status, then for ROTATED and GRACE the successor's user ID,
+     * family ID, token, issue time and expiry time.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+        local t = redis.call('hmget', KEYS[1], 'userId', 'familyId', 'expiresAt', 'revoked', 'replacedBy', 'rotatedAt')
+        if not t[1] then
+            return {'INVALID'}
+        end
+        local now = tonumber(ARGV[3])
+        local familyKey = ARGV[7] .. t[2]
+        if t[4] == '1' then
+            if t[5] and now - tonumber(t[6]) <= tonumber(ARGV[5]) then
+                local s = redis.call('hmget', ARGV[6] .. t[5], 'issuedAt', 'expiresAt', 'revoked')
+                if s[1] and s[3] == '0' then
+                    return {'GRACE', t[1], t[2], t[5], s[1], s[2]}
+                end
+                return {'INVALID'}
+            end
+            for _, token in ipairs(redis.call('zrange', familyKey, 0, -1)) do
+                local key = ARGV[6] .. token
+                if redis.call('exists', key) == 1 then
+                    redis.call('hset', key, 'revoked', '1')
+                end
+            end
+            return {'REUSED'}
+        end
+        if tonumber(t[3]) <= now then
+            return {'EXPIRED'}
+        end
+        redis.call('hset', KEYS[1], 'revoked', '1', 'replacedBy', ARGV[2], 'rotatedAt', ARGV[3])
+        redis.call('hset', KEYS[2], 'userId', t[1], 'familyId', t[2],
+            'issuedAt', ARGV[3], 'expiresAt', ARGV[4], 'revoked', '0')
+        redis.call('pexpireat', KEYS[2], ARGV[4])
+        redis.call('zremrangebyscore', familyKey, '-inf', ARGV[3])
+        redis.call('zadd', familyKey, ARGV[4], ARGV[2])
+        local userKey = ARGV[8] .. t[1]
+        redis.call('sadd', userKey, t[2])
+        local remaining = tonumber(ARGV[4]) - now
+        for _, key in ipairs({familyKey, userKey}) do
+            local ttl = redis.call('pttl', key)
+            if ttl < 0 or ttl < remaining then
+                redis.call('pexpireat', key, ARGV[4])
+            end
+        end
+        return {'ROTATED', t[1], t[2], ARGV[2], ARGV[3], ARGV[4]}
+        """, List.class);
+
+    private static final DefaultRedisScript<Long> REVOKE_FAMILY_SCRIPT = new DefaultRedisScript<>("""
+        local revoked = 0
+        for _, token in ipairs(redis.call('zrange', KEYS[1], 0, -1)) do
+            local key = ARGV[1] .. token
+            if redis.call('hget', key, 'revoked') == '0' then
+                redis.call('hset', key, 'revoked', '1')
+                revoked = revoked + 1
+            end
+        end
+        return revoked
+        """, Long.class);
+
+    private static final DefaultRedisScript<Long> REVOKE_USER_SCRIPT = new DefaultRedisScript<>("""
+        local revoked = 0
+        for _, family in ipairs(redis.call('smembers', KEYS[1])) do
+            local familyKey = ARGV[2] .. family
+            for _, token in ipairs(redis.call('zrange', familyKey, 0, -1)) do
+                local key = ARGV[1] .. token
+                if redis.call('hget', key, 'revoked') == '0' then
+                    redis.call('hset', key, 'revoked', '1')
+                    revoked = revoked + 1
+                end
+            end
+        end
+        return revoked
+        """, Long.class);
+
+    private static final DefaultRedisScript<Long> DELETE_USERS_SCRIPT = new DefaultRedisScript<>("""
+        local deleted = 0
+        for _, userKey in ipairs(KEYS) do
+            for _, family in ipairs(redis.call('smembers', userKey)) do
+                local familyKey = ARGV[2] .. family
+                for _, token in ipairs(redis.call('zrange', familyKey, 0, -1)) do
+                    deleted = deleted + redis.call('del', ARGV[1] .. token)
+                end
+                redis.call('del', familyKey)
+            end
+            redis.call('del', userKey)
+        end
+        return deleted
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void save(RefreshToken token) {
+        redisTemplate.execute(SAVE_SCRIPT,
+            List.of(TOKEN_KEY + token.getToken(), FAMILY_KEY + token.getFamilyId(), USER_KEY + token.getUserId()),
+            token.getToken().toString(),
+            token.getUserId().toString(),
+            token.getFamilyId().toString(),
+            String.valueOf(token.getIssuedAt().toEpochMilli()),
+            String.valueOf(token.getExpiresAt().toEpochMilli()),
+            String.valueOf(System.currentTimeMillis()),
+            FAMILY_KEY);
+    }
+
+    @Override
+    public Optional<RefreshToken> findByToken(UUID token) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(TOKEN_KEY + token);
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(RefreshToken.builder()
+            .token(token)
+            .userId(Long.valueOf((String) fields.get("userId")))
+            .familyId(UUID.fromString((String) fields.get("familyId")))
+            .issuedAt(Instant.ofEpochMilli(Long.parseLong((String) fields.get("issuedAt"))))
+            .expiresAt(Instant.ofEpochMilli(Long.parseLong((String) fields.get("expiresAt"))))
+            .revoked("1".equals(fields.get("revoked")))
+            .build());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Rotation rotate(UUID token, UUID successor, Instant now, Instant successorExpiresAt, Duration gracePeriod) {
+        List<String> result = redisTemplate.execute(ROTATE_SCRIPT,
+            List.of(TOKEN_KEY + token, TOKEN_KEY + successor),
+            token.toString(),
+            successor.toString(),
+            String.valueOf(now.toEpochMilli()),
+            String.valueOf(successorExpiresAt.toEpochMilli()),
+            String.valueOf(gracePeriod.toMillis()),
+            TOKEN_KEY,
+            FAMILY_KEY,
+            USER_KEY);
+        Rotation.Status status = Rotation.Status.valueOf(result.get(0));
+        if (result.size() == 1) {
+            return Rotation.of(status);
+        }
+        return new Rotation(status, RefreshToken.builder()
+            .userId(Long.valueOf(result.get(1)))
+            .familyId(UUID.fromString(result.get(2)))
+            .token(UUID.fromString(result.get(3)))
+            .issuedAt(Instant.ofEpochMilli(Long.parseLong(result.get(4))))
+            .expiresAt(Instant.ofEpochMilli(Long.parseLong(result.get(5))))
+            .revoked(false)
+            .build());
+    }
+
+    @Override
+    public void revokeFamily(UUID familyId) {
+        redisTemplate.execute(REVOKE_FAMILY_SCRIPT, List.of(FAMILY_KEY + familyId), TOKEN_KEY);
+    }
+
+    @Override
+    public void revokeAllOfUser(Long userId) {
+        redisTemplate.execute(REVOKE_USER_SCRIPT, List.of(USER_KEY + userId), TOKEN_KEY, FAMILY_KEY);
+    }
+
+    @Override
+    public long deleteAllOfUsers(Long[] userIds) {
+        if (userIds.length == 0) {
+            return 0;
+        }
+        List<String> keys = Arrays.stream(userIds).map(userId -> USER_KEY + userId).toList();
+        Long deleted = redisTemplate.execute(DELETE_USERS_SCRIPT, keys, TOKEN_KEY, FAMILY_KEY);
+        return deleted != null ? deleted : 0;
+    }
+
+    @Override
+    public boolean needsCleanup() {
+        return false;
+    }
+}
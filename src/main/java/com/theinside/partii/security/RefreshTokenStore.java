@@ -0,0 +1,85 @@
+package com.theinside.partii.security;
+
+import com.theinside.partii.entity.RefreshToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Persistence for refresh tokens and their rotation families.
+ *
+ * The implementation is chosen with partii.security.refresh-token-store:
+ * "jpa" (default) keeps tokens in the refresh_tokens table, "redis" keeps each
+ * token as a key that expires with the token, indexed by family and by user.
+ * Rotated and revoked tokens stay in the store until they expire, so replaying
+ * one is still detected as reuse, and are deleted with the rest when the
+ * account is purged.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Outcome of {@link #rotate}. The successor is set for ROTATED and GRACE.
+     */
+    record Rotation(Status status, RefreshToken successor) {
+
+        public enum Status {
+            /** The token was active and has been replaced. */
+            ROTATED,
+            /** The token was just rotated by a concurrent refresh; its successor is returned. */
+            GRACE,
+            /** A rotated token was presented again; its family has been revoked. */
+            REUSED,
+            EXPIRED,
+            /** Unknown token, or its successor was revoked within the grace window. */
+            INVALID
+        }
+
+        static Rotation of(Status status) {
+            return new Rotation(status, null);
+        }
+    }
+
+    /**
+     * Stores a newly issued token.
+     */
+    void save(RefreshToken token);
+
+    /**
+     * Looks a token up by its value, including revoked ones that have not expired.
+     */
+    Optional<RefreshToken> findByToken(UUID token);
+
+    /**
+     * Rotates a token in one atomic step: if it is active it is revoked and
+     * replaced by a new token of the same family, expiring at successorExpiresAt.
+     * A token rotated no more than gracePeriod ago yields its existing successor,
+     * so concurrent refreshes with the same token all succeed. Any other
+     * revoked token is reuse and revokes its whole family.
+     */
+    Rotation rotate(UUID token, UUID successor, Instant now, Instant successorExpiresAt, Duration gracePeriod);
+
+    /**
+     * Revokes every token in a rotation family.
+     */
+    void revokeFamily(UUID familyId);
+
+    /**
+     * Revokes every token issued to the user.
+     */
+    void revokeAllOfUser(Long userId);
+
+    /**
+     * Deletes every token issued to the given users, revoked ones included.
+     *
+     * @return the number of tokens deleted
+     */
+    long deleteAllOfUsers(Long[] userIds);
+
+    /**
+     * Whether expired tokens must be deleted by the cleanup job, rather than
+     * expiring on their own. Revoked tokens are kept until they expire.
+     */
+    boolean needsCleanup();
+}
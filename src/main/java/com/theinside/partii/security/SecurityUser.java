@@ -5,6 +5,7 @@ import lombok.Builder;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.util.Collection;
 import java.util.List;
@@ -12,6 +13,32 @@ import java.util.List;
 @Builder
 public record SecurityUser(User user) implements UserDetails {
 
+    /**
+     * Builds a principal from the claims of a stateless access token.
+     * The backing user only carries the fields embedded by TokenManager.
+     */
+    public static SecurityUser fromClaims(Jwt jwt) {
+        List<String> roles = jwt.getClaimAsStringList(TokenManager.ROLES_CLAIM);
+        User user = User.builder()
+                .id(((Number) jwt.getClaim(TokenManager.USER_ID_CLAIM)).longValue())
+                .email(jwt.getSubject())
+                .isAdmin(roles != null && roles.contains("ROLE_ADMIN"))
+                .profileCompleted(Boolean.TRUE.equals(jwt.getClaimAsBoolean(TokenManager.PROFILE_COMPLETED_CLAIM)))
+                .isEnabled(Boolean.TRUE.equals(jwt.getClaimAsBoolean(TokenManager.ENABLED_CLAIM)))
+                .isVerified(Boolean.TRUE.equals(jwt.getClaimAsBoolean(TokenManager.VERIFIED_CLAIM)))
+                .build();
+        return new SecurityUser(user);
+    }
+
+    /**
+     * Checks whether the token carries the claims needed by {@link #fromClaims(Jwt)}.
+     */
+    public static boolean hasPrincipalClaims(Jwt jwt) {
+        return jwt.getClaim(TokenManager.USER_ID_CLAIM) instanceof Number
+                && jwt.hasClaim(TokenManager.ROLES_CLAIM)
+                && jwt.hasClaim(TokenManager.ENABLED_CLAIM);
+    }
+
     public Long getUserId() {
         return user.getId();
     }
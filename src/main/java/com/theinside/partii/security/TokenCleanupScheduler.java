@@ -3,49 +3,116 @@ package com.theinside.partii.security;
 import com.theinside.partii.repository.EmailVerificationTokenRepository;
 import com.theinside.partii.repository.PasswordResetTokenRepository;
 import com.theinside.partii.repository.RefreshTokenRepository;
-import lombok.RequiredArgsConstructor;
+import com.theinside.partii.scheduler.SchedulerLease;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 
 /**
- * Scheduled task to clean up expired tokens.
- * Runs daily to maintain database hygiene.
+ * Scheduled tasks to clean up expired tokens.
+ *
+ * Refresh tokens churn with every rotation, so expired ones are cleaned
+ * throughout the day in small batches, each its own transaction, until the
+ * run's time budget is spent; whatever is left waits for the next run. Revoked
+ * tokens are not deleted before they expire, so a replayed rotated or stolen
+ * token is still recognised as reuse and revokes its family. The low-volume email and
+ * password reset tokens are still cleaned once a day. Refresh token stores
+ * whose tokens expire on their own skip the refresh token cleanup.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class TokenCleanupScheduler {
 
+    private static final String LEASE_NAME = "refresh-token-cleanup";
+
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final EmailVerificationTokenRepository emailVerificationTokenRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final SchedulerLease schedulerLease;
+    private final int batchSize;
+    private final Duration timeBudget;
+    private final Duration leaseTtl;
+
+    public TokenCleanupScheduler(
+        RefreshTokenRepository refreshTokenRepository,
+        RefreshTokenStore refreshTokenStore,
+        EmailVerificationTokenRepository emailVerificationTokenRepository,
+        PasswordResetTokenRepository passwordResetTokenRepository,
+        SchedulerLease schedulerLease,
+        @Value("${partii.tokens.cleanup.batch-size:1000}") int batchSize,
+        @Value("${partii.tokens.cleanup.time-budget:PT10S}") Duration timeBudget,
+        @Value("${partii.tokens.cleanup.lease-ttl:PT5M}") Duration leaseTtl
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenStore = refreshTokenStore;
+        this.emailVerificationTokenRepository = emailVerificationTokenRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.schedulerLease = schedulerLease;
+        this.batchSize = batchSize;
+        this.timeBudget = timeBudget;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Deletes expired refresh tokens in batches within the time budget, and
+     * logs how long the oldest token left behind has been expired.
+     * Runs every 10 minutes by default, on one replica at a time.
+     */
+    @Scheduled(cron = "${partii.tokens.cleanup.cron:0 */10 * * * *}", zone = "UTC")
+    public void cleanupRefreshTokens() {
+        if (!refreshTokenStore.needsCleanup()) {
+            return;
+        }
+        String lease = schedulerLease.tryAcquire(LEASE_NAME, leaseTtl);
+        if (lease == null) {
+            log.debug("Skipping refresh token cleanup: lease held elsewhere");
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            long deadline = System.nanoTime() + timeBudget.toNanos();
+
+            long expired = 0;
+            int batch = batchSize;
+            while (batch == batchSize && System.nanoTime() < deadline) {
+                batch = refreshTokenRepository.deleteExpiredBatch(now, batchSize);
+                expired += batch;
+            }
+            // A full last batch means the budget ran out first; lag is how far behind cleanup is
+            Instant oldestLeft = batch == batchSize ? refreshTokenRepository.findOldestExpiresAt(now) : null;
+            Duration lag = oldestLeft != null ? Duration.between(oldestLeft, now) : Duration.ZERO;
+            log.info("Refresh token cleanup: expired={} lag={}s", expired, lag.toSeconds());
+        } catch (Exception e) {
+            log.error("Error during refresh token cleanup", e);
+        } finally {
+            schedulerLease.release(LEASE_NAME, lease);
+        }
+    }
 
     /**
-     * Deletes expired and revoked refresh tokens daily at 2 AM
+     * Deletes expired email verification and password reset tokens daily at 2 AM
      */
     @Scheduled(cron = "0 0 2 * * *")
     @Transactional
     public void cleanupExpiredTokens() {
         Instant now = Instant.now();
-        
+
         log.info("Starting cleanup of expired tokens");
         try {
-            // Clean up refresh tokens
-            refreshTokenRepository.deleteRevokedAndExpiredTokens();
-            log.info("Successfully cleaned up expired refresh tokens");
-            
             // Clean up email verification tokens
             int emailTokensDeleted = emailVerificationTokenRepository.deleteExpiredTokens(now);
             log.info("Deleted {} expired email verification tokens", emailTokensDeleted);
-            
+
             // Clean up password reset tokens
             int resetTokensDeleted = passwordResetTokenRepository.deleteExpiredTokens(now);
             log.info("Deleted {} expired password reset tokens", resetTokensDeleted);
-            
+
         } catch (Exception e) {
             log.error("Error during token cleanup", e);
         }
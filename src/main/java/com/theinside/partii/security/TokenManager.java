@@ -3,11 +3,10 @@ package com.theinside.partii.security;
 import com.theinside.partii.entity.AuthToken;
 import com.theinside.partii.entity.RefreshToken;
 import com.theinside.partii.entity.User;
-import com.theinside.partii.exception.NotFoundException;
 import com.theinside.partii.exception.UnauthorizedException;
-import com.theinside.partii.repository.RefreshTokenRepository;
-import com.theinside.partii.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
@@ -16,6 +15,7 @@ import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -25,14 +25,37 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TokenManager {
 
+    public static final long ACCESS_TOKEN_TTL_MINUTES = 30;
+
+    static final String USER_ID_CLAIM = "userId";
+    static final String ROLES_CLAIM = "roles";
+    static final String PROFILE_COMPLETED_CLAIM = "profileCompleted";
+    static final String ENABLED_CLAIM = "enabled";
+    static final String VERIFIED_CLAIM = "verified";
+
     private final JwtEncoder jwtEncoder;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final UserRepository userRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final PrincipalCache principalCache;
+    private final PrincipalRevocationList principalRevocationList;
+
+    /**
+     * When enabled, access tokens carry every field SecurityUser needs so the
+     * JwtAuthenticationFilter can authenticate without touching the database.
+     */
+    @Value("${partii.security.stateless-principal.enabled:false}")
+    private boolean statelessPrincipal;
+
+    /**
+     * How long after a rotation the rotated token still yields its successor,
+     * for clients that refresh several requests in parallel.
+     */
+    @Value("${partii.security.refresh-token.grace-period:PT30S}")
+    private Duration refreshGracePeriod;
 
     @Transactional
     public AuthToken issueToken (User user){
         Instant currentTime = Instant.now();
-        Instant accessExpiry = currentTime.plus(30, ChronoUnit.MINUTES);
+        Instant accessExpiry = currentTime.plus(ACCESS_TOKEN_TTL_MINUTES, ChronoUnit.MINUTES);
         Instant refreshExpiry = currentTime.plus(7, ChronoUnit.DAYS);
 
         JwsHeader jwsHeader = buildJwsHeader();
@@ -42,6 +65,7 @@ public class TokenManager {
         String refreshToken = saveRefreshToken(user, currentTime);
 
         return AuthToken.builder()
+                .userId(user.getId())
                 .refreshToken(refreshToken)
                 .accessToken(accessToken)
                 .refreshTokenExpiresAt(refreshExpiry)
@@ -49,8 +73,16 @@ public class TokenManager {
                 .build();
     }
 
-    @Transactional
-    public AuthToken refreshAccessToken(String refreshTokenValue) {
+    /**
+     * Rotates the refresh token and returns its successor. Rotation is one
+     * atomic step in the store; clients that refresh the same token in parallel
+     * all get its successor if they arrive within the grace period.
+     *
+     * Call this outside any transaction: the rotation commits on its own, so a
+     * refresh holds one connection at a time and a detected reuse stays revoked
+     * even though the refresh fails.
+     */
+    public RefreshToken rotateRefreshToken(String refreshTokenValue) {
         UUID tokenId;
         try {
             tokenId = UUID.fromString(refreshTokenValue);
@@ -58,28 +90,35 @@ public class TokenManager {
             throw new UnauthorizedException("Invalid refresh token format");
         }
 
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(tokenId)
-                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
-
-        if (refreshToken.isRevoked()) {
-            // Token reuse detected - revoke entire family
-            revokeTokenFamily(refreshToken.getFamilyId());
-            throw new UnauthorizedException("Token reuse detected. All tokens in this family have been revoked.");
-        }
-
-        if (refreshToken.getExpiresAt().isBefore(Instant.now())) {
-            throw new UnauthorizedException("Refresh token expired");
-        }
-
-        User account = userRepository.findById(refreshToken.getUserId())
-                .orElseThrow(() -> new NotFoundException("Account not found"));
+        Instant currentTime = Instant.now();
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(
+                tokenId, UUID.randomUUID(), currentTime, currentTime.plus(7, ChronoUnit.DAYS), refreshGracePeriod);
+
+        return switch (rotation.status()) {
+            case ROTATED, GRACE -> rotation.successor();
+            case REUSED -> throw new UnauthorizedException("Token reuse detected. All tokens in this family have been revoked.");
+            case EXPIRED -> throw new UnauthorizedException("Refresh token expired");
+            case INVALID -> throw new UnauthorizedException("Invalid refresh token");
+        };
+    }
 
-        // Rotate the token: mark old one as used (we'll track via family and issue new one with same family)
-        refreshToken.setRevoked(true);
-        refreshTokenRepository.save(refreshToken);
+    /**
+     * Issues a new access token to go with a refresh token returned by
+     * {@link #rotateRefreshToken}.
+     */
+    public AuthToken issueAccessToken(User user, RefreshToken refreshToken) {
+        Instant currentTime = Instant.now();
+        Instant accessExpiry = currentTime.plus(ACCESS_TOKEN_TTL_MINUTES, ChronoUnit.MINUTES);
+        String accessToken = jwtEncoder.encode(
+                JwtEncoderParameters.from(buildJwsHeader(), buildJwtClaimSet(user, currentTime))).getTokenValue();
 
-        // Issue new token with rotation (same family for continuity detection)
-        return issueTokenWithFamily(account, refreshToken.getFamilyId());
+        return AuthToken.builder()
+                .userId(user.getId())
+                .refreshToken(refreshToken.getToken().toString())
+                .accessToken(accessToken)
+                .refreshTokenExpiresAt(refreshToken.getExpiresAt())
+                .accessTokenExpiresAt(accessExpiry)
+                .build();
     }
 
     /**
@@ -87,7 +126,7 @@ public class TokenManager {
      */
     @Transactional
     public void revokeTokenFamily(UUID familyId) {
-        refreshTokenRepository.revokeByFamilyId(familyId);
+        refreshTokenStore.revokeFamily(familyId);
     }
 
     /**
@@ -95,7 +134,9 @@ public class TokenManager {
      */
     @Transactional
     public void revokeAllUserTokens(Long userId) {
-        refreshTokenRepository.revokeByUserId(userId);
+        refreshTokenStore.revokeAllOfUser(userId);
+        principalRevocationList.revoke(userId);
+        principalCache.evictAfterCommit(userId);
     }
 
     private JwsHeader buildJwsHeader() {
@@ -105,14 +146,24 @@ public class TokenManager {
     }
 
     private JwtClaimsSet buildJwtClaimSet(User user, Instant currentTime) {
-        return JwtClaimsSet.builder()
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
                 .subject(user.getEmail())
                 .issuer("http://localhost:8080")
                 .issuedAt(currentTime)
-                .expiresAt(currentTime.plus(30, ChronoUnit.MINUTES))
+                .expiresAt(currentTime.plus(ACCESS_TOKEN_TTL_MINUTES, ChronoUnit.MINUTES))
                 .claim("email", user.getEmail())
-                .claim("userId", user.getId())
-                .build();
+                .claim(USER_ID_CLAIM, user.getId());
+
+        if (statelessPrincipal) {
+            SecurityUser securityUser = new SecurityUser(user);
+            claims.claim(ROLES_CLAIM, securityUser.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .toList())
+                    .claim(PROFILE_COMPLETED_CLAIM, user.isProfileCompleted())
+                    .claim(ENABLED_CLAIM, user.isEnabled())
+                    .claim(VERIFIED_CLAIM, user.isVerified());
+        }
+        return claims.build();
     }
 
     private String saveRefreshToken(User user, Instant currentTime) {
@@ -130,26 +181,7 @@ public class TokenManager {
                 .familyId(familyId)
                 .revoked(false)
                 .build();
-        refreshTokenRepository.save(refreshToken);
+        refreshTokenStore.save(refreshToken);
         return refreshTokenId.toString();
     }
-
-    private AuthToken issueTokenWithFamily(User user, UUID familyId) {
-        Instant currentTime = Instant.now();
-        Instant accessExpiry = currentTime.plus(30, ChronoUnit.MINUTES);
-        Instant refreshExpiry = currentTime.plus(7, ChronoUnit.DAYS);
-
-        JwsHeader jwsHeader = buildJwsHeader();
-        JwtClaimsSet claimSet = buildJwtClaimSet(user, currentTime);
-
-        String accessToken = jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claimSet)).getTokenValue();
-        String refreshToken = saveRefreshTokenWithFamily(user, currentTime, familyId);
-
-        return AuthToken.builder()
-                .refreshToken(refreshToken)
-                .accessToken(accessToken)
-                .refreshTokenExpiresAt(refreshExpiry)
-                .accessTokenExpiresAt(accessExpiry)
-                .build();
-    }
 }
@@ -0,0 +1,34 @@
+package com.theinside.partii.service;
+
+import com.theinside.partii.entity.AccountPurgeRun;
+
+import java.time.Instant;
+
+/**
+ * Purges the personal data of accounts whose deletion grace period has ended,
+ * one bounded batch of accounts per transaction, with a persisted checkpoint.
+ */
+public interface AccountPurgeService {
+
+    /**
+     * Resumes the unfinished run, keeping its cutoff, or starts a new run for the given cutoff.
+     */
+    AccountPurgeRun startOrResume(Instant cutoff);
+
+    /**
+     * Purges up to limit accounts after the run's checkpoint and advances it.
+     * @return the number of accounts purged
+     */
+    int purgeBatch(Long runId, int limit);
+
+    /**
+     * Marks the run finished.
+     * @return the run with its final counters
+     */
+    AccountPurgeRun finish(Long runId);
+
+    /**
+     * Accounts deleted before the cutoff that are still waiting to be purged.
+     */
+    long countAwaitingPurge(Instant cutoff);
+}
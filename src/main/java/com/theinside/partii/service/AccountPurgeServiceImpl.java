@@ -0,0 +1,107 @@
+package com.theinside.partii.service;
+
+import com.theinside.partii.cache.EventCache;
+import com.theinside.partii.entity.AccountPurgeRun;
+import com.theinside.partii.exception.ResourceNotFoundException;
+import com.theinside.partii.feed.EventFeedSnapshots;
+import com.theinside.partii.repository.AccountPurgeRunRepository;
+import com.theinside.partii.repository.ContributionItemRepository;
+import com.theinside.partii.repository.EventAttendeeRepository;
+import com.theinside.partii.repository.EventRepository;
+import com.theinside.partii.repository.UserBlockRepository;
+import com.theinside.partii.repository.UserReportRepository;
+import com.theinside.partii.repository.UserRepository;
+import com.theinside.partii.security.RefreshTokenStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Each batch is a handful of set-based statements over the batch's user IDs:
+ * seats held in open events are given back, attendee records (live and
+ * archived), blocks and tokens are deleted, contribution items (live and
+ * archived) are unassigned, filed report texts are cleared and the user rows
+ * are anonymized.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AccountPurgeServiceImpl implements AccountPurgeService {
+
+    private final AccountPurgeRunRepository accountPurgeRunRepository;
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final EventAttendeeRepository eventAttendeeRepository;
+    private final ContributionItemRepository contributionItemRepository;
+    private final UserBlockRepository userBlockRepository;
+    private final UserReportRepository userReportRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final WaitlistService waitlistService;
+    private final EventCache eventCache;
+    private final EventFeedSnapshots eventFeedSnapshots;
+
+    @Override
+    @Transactional
+    public AccountPurgeRun startOrResume(Instant cutoff) {
+        return accountPurgeRunRepository.findFirstByFinishedAtIsNullOrderByIdDesc()
+            .map(run -> {
+                log.info("Resuming account purge run {} after user {}", run.getId(), run.getLastUserId());
+                return run;
+            })
+            .orElseGet(() -> accountPurgeRunRepository.save(AccountPurgeRun.builder().cutoff(cutoff).build()));
+    }
+
+    @Override
+    @Transactional
+    public int purgeBatch(Long runId, int limit) {
+        AccountPurgeRun run = accountPurgeRunRepository.findWithLockById(runId)
+            .orElseThrow(() -> new ResourceNotFoundException("Account purge run not found"));
+        List<Long> userIds = userRepository.lockPurgeBatch(run.getCutoff(), run.getLastUserId(), limit);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        Long[] ids = userIds.toArray(Long[]::new);
+        Instant now = Instant.now();
+        List<Long> releasedEvents = eventRepository.releaseSeatsOfUsers(ids, now);
+        int attendees = eventAttendeeRepository.deleteByUserIds(ids)
+            + eventAttendeeRepository.deleteArchivedByUserIds(ids);
+        int items = contributionItemRepository.releaseAssignmentsOfUsers(ids, now)
+            + contributionItemRepository.releaseArchivedAssignmentsOfUsers(ids);
+        int blocks = userBlockRepository.deleteInvolvingUsers(ids);
+        int reports = userReportRepository.scrubReportsFiledBy(ids);
+        long tokens = refreshTokenStore.deleteAllOfUsers(ids) + userRepository.deleteEmailTokensOfUsers(ids);
+        int users = userRepository.anonymizeUsers(ids, now);
+
+        for (Long eventId : releasedEvents) {
+            eventCache.invalidateEvent(eventId);
+            eventFeedSnapshots.refresh(eventId);
+            waitlistService.capacityChanged(eventId);
+        }
+
+        long rows = releasedEvents.size() + attendees + items + blocks + reports + tokens + users;
+        run.recordBatch(userIds.get(userIds.size() - 1), users, rows);
+        log.debug("Purge run {}: {} accounts, {} events with seats released, {} attendees, {} items, {} blocks, {} reports, {} tokens",
+            runId, users, releasedEvents.size(), attendees, items, blocks, reports, tokens);
+        return userIds.size();
+    }
+
+    @Override
+    @Transactional
+    public AccountPurgeRun finish(Long runId) {
+        AccountPurgeRun run = accountPurgeRunRepository.findWithLockById(runId)
+            .orElseThrow(() -> new ResourceNotFoundException("Account purge run not found"));
+        run.setFinishedAt(Instant.now());
+        return run;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countAwaitingPurge(Instant cutoff) {
+        return userRepository.countAwaitingPurge(cutoff);
+    }
+}
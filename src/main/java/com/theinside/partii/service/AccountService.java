@@ -3,6 +3,9 @@ package com.theinside.partii.service;
 import com.theinside.partii.dto.DeleteAccountRequest;
 import com.theinside.partii.dto.ExportDataResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * Service interface for account management operations.
  * Handles account deletion, deactivation, and GDPR data export.
@@ -50,7 +53,7 @@ public interface AccountService {
 
     /**
      * Export user's personal data for GDPR compliance.
-     * Returns a downloadable file containing all user data.
+     * Returns where to download the export; see {@link #writeUserDataExport}.
      *
      * @param userId The user ID to export data for
      * @return Export data with download URL
@@ -58,18 +61,29 @@ public interface AccountService {
     ExportDataResponse exportUserData(Long userId);
 
     /**
-     * Purge all data for accounts that have completed the grace period.
-     * Called by a scheduled task daily.
+     * Stream the user's personal data as a ZIP of NDJSON files: profile,
+     * organized events, attendances, contributions, blocks and filed reports.
+     * Data is read in short chunks, so memory and connection use stay flat.
+     *
+     * @param userId The user ID to export data for
+     * @param out    The stream to write the ZIP to
+     */
+    void writeUserDataExport(Long userId, OutputStream out) throws IOException;
+
+    /**
+     * Purge all data for accounts that have completed the grace period, in
+     * batches that each commit separately. An interrupted run is resumed from
+     * its checkpoint. Called by a scheduled task daily.
      *
-     * @return Number of accounts purged
+     * @return Number of accounts purged by the run, including batches done before a resume
      */
     long purgeExpiredAccounts();
 
     /**
-     * Update account deletion status to reflect when grace period ends.
-     * Called daily to check for accounts ready for purging.
+     * Count accounts that are past the grace period and still waiting to be purged.
+     * Called daily to report the purge backlog.
      *
-     * @return Number of accounts scheduled for deletion
+     * @return Number of accounts waiting to be purged
      */
     long updateAccountDeletionSchedules();
 
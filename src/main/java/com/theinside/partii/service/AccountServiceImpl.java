@@ -2,25 +2,29 @@ package com.theinside.partii.service;
 
 import com.theinside.partii.dto.DeleteAccountRequest;
 import com.theinside.partii.dto.ExportDataResponse;
-import com.theinside.partii.entity.Event;
-import com.theinside.partii.entity.EventAttendee;
+import com.theinside.partii.entity.AccountPurgeRun;
 import com.theinside.partii.entity.User;
 import com.theinside.partii.enums.AccountDeletionStatus;
-import com.theinside.partii.enums.EventStatus;
-import com.theinside.partii.enums.AttendeeStatus;
 import com.theinside.partii.exception.BadRequestException;
 import com.theinside.partii.exception.ResourceNotFoundException;
+import com.theinside.partii.export.UserDataExportWriter;
+import com.theinside.partii.repository.ContributionItemRepository;
 import com.theinside.partii.repository.EventAttendeeRepository;
 import com.theinside.partii.repository.EventRepository;
 import com.theinside.partii.repository.UserRepository;
+import com.theinside.partii.security.PrincipalCache;
+import com.theinside.partii.security.PrincipalRevocationList;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
@@ -37,11 +41,23 @@ public class AccountServiceImpl implements AccountService {
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final EventAttendeeRepository eventAttendeeRepository;
+    private final ContributionItemRepository contributionItemRepository;
+    private final PrincipalCache principalCache;
+    private final PrincipalRevocationList principalRevocationList;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserDataExportWriter userDataExportWriter;
+    private final AccountPurgeService accountPurgeService;
 
     @Value("${partii.account.grace-period-days:30}")
     private int gracePeriodDays;
 
+    @Value("${partii.account.purge.batch-size:200}")
+    private int purgeBatchSize;
+
     private static final String DELETE_CONFIRMATION = "DELETE MY ACCOUNT";
+    private static final String EXPORT_DOWNLOAD_PATH = "/partii/api/v1/account/export/download";
+    private static final String ORGANIZER_DELETED_REASON = "Event cancelled due to organizer account deletion";
+    private static final String ATTENDEE_DELETED_NOTE = "Attendee account has been deleted";
 
     // ===== Account Deletion =====
 
@@ -57,30 +73,27 @@ public class AccountServiceImpl implements AccountService {
 
         log.warn("User {} requested account deletion. Reason: {}", userId, request.getReason());
 
-        // Step 1: Cancel all organized events
-        List<Event> organizedEvents = eventRepository.findByOrganizerId(userId);
-        for (Event event : organizedEvents) {
-            if (event.getStatus() != EventStatus.CANCELLED && event.getStatus() != EventStatus.ARCHIVED) {
-                event.setStatus(EventStatus.CANCELLED);
-                event.setCancellationReason("Event cancelled due to organizer account deletion");
-                eventRepository.save(event);
-                log.info("Cancelled event {} due to organizer deletion", event.getId());
-            }
+        // Step 1: Cancel organized events that have not started, in one statement.
+        // Caches and indexes catch up asynchronously once this commits.
+        Instant now = Instant.now();
+        List<Long> cancelledEventIds = eventRepository.cancelEventsOfOrganizer(
+            userId, ORGANIZER_DELETED_REASON, now);
+        if (!cancelledEventIds.isEmpty()) {
+            eventPublisher.publishEvent(new EventsCancelled(cancelledEventIds));
         }
 
-        // Step 2: Anonymize attendee records
-        List<EventAttendee> attendeeRecords = eventAttendeeRepository.findByUserId(userId);
-        for (EventAttendee attendee : attendeeRecords) {
-            if (attendee.getStatus() == AttendeeStatus.APPROVED) {
-                attendee.setNotes("Attendee account has been deleted");
-                eventAttendeeRepository.save(attendee);
-            }
-        }
+        // Step 2: Mark attendee records and release open contribution claims
+        int attendances = eventAttendeeRepository.annotateApprovedOfUser(userId, ATTENDEE_DELETED_NOTE);
+        int releasedItems = contributionItemRepository.releaseOpenClaimsOfUser(userId, now);
+        log.info("Account deletion of user {}: cancelled {} events, marked {} attendances, released {} contribution items",
+            userId, cancelledEventIds.size(), attendances, releasedItems);
 
         // Step 3: Schedule deletion after grace period
-        user.setDeletedAt(Instant.now());
+        user.setDeletedAt(now);
         user.setEnabled(false);
         userRepository.save(user);
+        principalRevocationList.revoke(userId);
+        principalCache.evictAfterCommit(userId);
 
         log.info("User {} account scheduled for deletion after {} days", userId, gracePeriodDays);
     }
@@ -92,6 +105,8 @@ public class AccountServiceImpl implements AccountService {
 
         user.setEnabled(false);
         userRepository.save(user);
+        principalRevocationList.revoke(userId);
+        principalCache.evictAfterCommit(userId);
 
         log.info("User {} account deactivated", userId);
     }
@@ -108,6 +123,8 @@ public class AccountServiceImpl implements AccountService {
 
         user.setEnabled(true);
         userRepository.save(user);
+        principalRevocationList.clear(userId);
+        principalCache.evictAfterCommit(userId);
 
         log.info("User {} account reactivated", userId);
     }
@@ -125,52 +142,61 @@ public class AccountServiceImpl implements AccountService {
     @Override
     @Transactional(readOnly = true)
     public ExportDataResponse exportUserData(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
 
         log.info("Exporting data for user {}", userId);
 
-        // TODO: Implement actual data export to JSON/CSV file
-        // For now, return a response indicating export is available
-        Instant now = Instant.now();
-        Instant expiresAt = now.plus(7, ChronoUnit.DAYS);
-
         return ExportDataResponse.builder()
-            .createdAt(now)
-            .expiresAt(expiresAt)
-            .message("Data export created successfully. Your data will be available for download for 7 days.")
+            .downloadUrl(EXPORT_DOWNLOAD_PATH)
+            .createdAt(Instant.now())
+            .message("Your data export is ready. Downloading it streams your current data as a ZIP of JSON files.")
             .build();
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeUserDataExport(Long userId, OutputStream out) throws IOException {
+        userDataExportWriter.write(userId, out);
+    }
+
     // ===== Scheduled Tasks =====
 
+    /**
+     * Runs outside a transaction: every batch commits on its own, so a large
+     * backlog never becomes one long transaction and a crash loses at most the
+     * batch in flight.
+     */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long purgeExpiredAccounts() {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(gracePeriodDays);
-
-        // TODO: Implement actual purging of user data after grace period
-        // This should:
-        // 1. Delete verification documents
-        // 2. Delete personal data
-        // 3. Delete events and attendee records
-        // 4. Delete user account
-
-        log.info("Purging accounts marked for deletion before {}", cutoffDate);
-        return 0; // Placeholder
+        Instant cutoff = Instant.now().minus(gracePeriodDays, ChronoUnit.DAYS);
+        AccountPurgeRun run = accountPurgeService.startOrResume(cutoff);
+        long started = System.nanoTime();
+
+        long purged = 0;
+        int batch;
+        do {
+            batch = accountPurgeService.purgeBatch(run.getId(), purgeBatchSize);
+            purged += batch;
+        } while (batch == purgeBatchSize);
+
+        AccountPurgeRun finished = accountPurgeService.finish(run.getId());
+        double seconds = Math.max((System.nanoTime() - started) / 1e9, 0.001);
+        log.info("Account purge run {} finished: {} accounts ({} this pass, {}/s), {} rows in {} batches, {} still waiting",
+            finished.getId(), finished.getAccountsPurged(), purged, Math.round(purged / seconds),
+            finished.getRowsAffected(), finished.getBatches(), accountPurgeService.countAwaitingPurge(finished.getCutoff()));
+        return finished.getAccountsPurged();
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public long updateAccountDeletionSchedules() {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(gracePeriodDays);
-
-        // Find accounts marked for deletion that have passed grace period
-        // TODO: Implement logic to find expired soft-deleted accounts
-        // and trigger purging
-
-        log.debug("Checking for accounts ready for permanent deletion");
-        return 0; // Placeholder
+        Instant cutoff = Instant.now().minus(gracePeriodDays, ChronoUnit.DAYS);
+        long awaiting = accountPurgeService.countAwaitingPurge(cutoff);
+        log.debug("{} accounts are past the grace period and waiting to be purged", awaiting);
+        return awaiting;
     }
 
     // ===== Configuration =====
@@ -1,8 +1,10 @@
 package com.theinside.partii.service;
 
 import com.theinside.partii.dto.AttendeeResponse;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.theinside.partii.dto.BulkAttendeeRequest;
+import com.theinside.partii.dto.BulkAttendeeResponse;
+import com.theinside.partii.dto.CursorPage;
+import com.theinside.partii.dto.JoinQueueStatus;
 
 
 /**
@@ -17,6 +19,17 @@ public interface AttendeeService {
      */
     AttendeeResponse requestToJoin(Long eventId, Long userId);
 
+    /**
+     * Places a join request in the event's admission queue, to be recorded in a later batch.
+     * Returns null when the queue is disabled or unavailable; use requestToJoin instead.
+     */
+    JoinQueueStatus enqueueJoinRequest(Long eventId, Long userId);
+
+    /**
+     * Where the user's join request is: still queued, admitted, or neither.
+     */
+    JoinQueueStatus getJoinQueueStatus(Long eventId, Long userId);
+
     /**
      * Approve a pending join request. Only the organizer can approve.
      * Increments event attendee count and transitions event to FULL if at capacity.
@@ -30,12 +43,30 @@ public interface AttendeeService {
 
     /**
      * Remove an approved attendee from the event. Only the organizer can remove.
-     * Decrements event attendee count and promotes first waitlisted user if any.
+     * Decrements event attendee count; waitlisted users are promoted into the freed seat.
      */
     void removeAttendee(Long eventId, Long userId, Long organizerId);
 
     /**
-     * List attendees for an event with optional status filtering.
+     * Approve many pending requests at once. Only the organizer can approve.
+     * Requests are approved in join order until the event is full; the rest are reported as failed.
+     */
+    BulkAttendeeResponse bulkApprove(Long eventId, BulkAttendeeRequest request, Long organizerId);
+
+    /**
+     * Decline many pending requests at once. Only the organizer can decline.
+     */
+    BulkAttendeeResponse bulkDecline(Long eventId, BulkAttendeeRequest request, Long organizerId);
+
+    /**
+     * Remove many approved attendees at once. Only the organizer can remove.
+     * Waitlisted users are promoted into the freed seats.
+     */
+    BulkAttendeeResponse bulkRemove(Long eventId, BulkAttendeeRequest request, Long organizerId);
+
+    /**
+     * List attendees for an event with optional status filtering, in join order,
+     * using keyset pagination.
      */
-    Page<AttendeeResponse> getAttendees(Long eventId, String status, Pageable pageable);
+    CursorPage<AttendeeResponse> getAttendees(Long eventId, String status, String cursor, int limit);
 }
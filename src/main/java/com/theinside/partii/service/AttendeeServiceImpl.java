@@ -1,6 +1,13 @@
 package com.theinside.partii.service;
 
+import com.theinside.partii.cache.EventCache;
 import com.theinside.partii.dto.AttendeeResponse;
+import com.theinside.partii.dto.BulkAttendeeRequest;
+import com.theinside.partii.dto.BulkAttendeeResponse;
+import com.theinside.partii.dto.BulkAttendeeResult;
+import com.theinside.partii.dto.CursorPage;
+import com.theinside.partii.dto.EventResponse;
+import com.theinside.partii.dto.JoinQueueStatus;
 import com.theinside.partii.entity.Event;
 import com.theinside.partii.entity.EventAttendee;
 import com.theinside.partii.entity.User;
@@ -9,16 +16,28 @@ import com.theinside.partii.enums.EventStatus;
 import com.theinside.partii.exception.BadRequestException;
 import com.theinside.partii.exception.ResourceNotFoundException;
 import com.theinside.partii.exception.UnauthorizedException;
+import com.theinside.partii.queue.JoinAdmissionQueue;
 import com.theinside.partii.repository.EventAttendeeRepository;
 import com.theinside.partii.repository.EventRepository;
 import com.theinside.partii.repository.UserRepository;
+import com.theinside.partii.specification.EventAttendeeSpecifications;
+import com.theinside.partii.specification.Keyset;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -29,33 +48,26 @@ public class AttendeeServiceImpl implements AttendeeService {
     private final EventRepository eventRepository;
     private final EventAttendeeRepository attendeeRepository;
     private final UserRepository userRepository;
+    private final EventCache eventCache;
+    private final SeatReservationService seatReservationService;
+    private final WaitlistService waitlistService;
+    private final JoinAdmissionQueue joinAdmissionQueue;
+
+    private static final Keyset<EventAttendee> ATTENDEES =
+        Keyset.<EventAttendee>of(Sort.by(Sort.Direction.ASC, "id")).fetching("user");
 
     @Override
     public AttendeeResponse requestToJoin(Long eventId, Long userId) {
         Event event = findEventOrThrow(eventId);
         User user = findUserOrThrow(userId);
 
-        // Cannot join your own event
-        if (event.getOrganizer().getId().equals(userId)) {
-            throw new BadRequestException("Organizer cannot join their own event");
-        }
+        verifyCanJoin(event.getOrganizer().getId(), event.getStatus(), event.getJoinDeadline(), userId);
 
         // Check for duplicate request
         if (attendeeRepository.existsByEventIdAndUserId(eventId, userId)) {
             throw new BadRequestException("You have already requested to join this event");
         }
 
-        // Event must be ACTIVE or FULL (waitlist)
-        if (event.getStatus() != EventStatus.ACTIVE && event.getStatus() != EventStatus.FULL) {
-            throw new BadRequestException("This event is not accepting join requests");
-        }
-
-        // Check join deadline
-        if (event.getJoinDeadline() != null
-                && java.time.LocalDateTime.now().isAfter(event.getJoinDeadline())) {
-            throw new BadRequestException("The join deadline for this event has passed");
-        }
-
         // Determine initial status: PENDING if spots available, WAITLIST if full
         AttendeeStatus initialStatus = event.hasAvailableSpots()
             ? AttendeeStatus.PENDING
@@ -68,11 +80,50 @@ public class AttendeeServiceImpl implements AttendeeService {
             .build();
 
         EventAttendee saved = attendeeRepository.save(attendee);
+        joinAdmissionQueue.markRequested(eventId, userId);
         log.info("User {} requested to join event {} with status {}", userId, eventId, initialStatus);
 
         return toResponse(saved);
     }
 
+    /**
+     * Validates against the cached event only, so a burst of requests never
+     * reaches Postgres until the queue drains. The queue rejects repeated requests.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public JoinQueueStatus enqueueJoinRequest(Long eventId, Long userId) {
+        if (!joinAdmissionQueue.isEnabled()) {
+            return null;
+        }
+        EventResponse event = eventCache.getEvent(eventId, () -> eventRepository.findResponsesByIdIn(List.of(eventId))
+            .stream()
+            .findFirst()
+            .orElseThrow(() -> new ResourceNotFoundException("Event not found")));
+        verifyCanJoin(event.organizerId(), event.status(), event.joinDeadline(), userId);
+
+        Long position = joinAdmissionQueue.enqueue(eventId, userId);
+        if (position == null) {
+            return null;
+        }
+        log.info("User {} queued to join event {} at position {}", userId, eventId, position);
+        return JoinQueueStatus.queued(position, joinAdmissionQueue.length(eventId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public JoinQueueStatus getJoinQueueStatus(Long eventId, Long userId) {
+        if (joinAdmissionQueue.isEnabled()) {
+            Long position = joinAdmissionQueue.position(eventId, userId);
+            if (position != null) {
+                return JoinQueueStatus.queued(position, joinAdmissionQueue.length(eventId));
+            }
+        }
+        return attendeeRepository.findByEventIdAndUserId(eventId, userId)
+            .map(attendee -> JoinQueueStatus.admitted(attendee.getStatus()))
+            .orElseGet(JoinQueueStatus::notQueued);
+    }
+
     @Override
     public AttendeeResponse approveRequest(Long eventId, Long userId, Long organizerId) {
         Event event = findEventOrThrow(eventId);
@@ -84,15 +135,18 @@ public class AttendeeServiceImpl implements AttendeeService {
             throw new BadRequestException("Only pending requests can be approved");
         }
 
-        if (!event.hasAvailableSpots()) {
+        // Claim the request before the seat so the hot event row is locked only until commit
+        Instant now = Instant.now();
+        if (attendeeRepository.approveIfPending(attendee.getId(), now) == 0) {
+            throw new BadRequestException("Only pending requests can be approved");
+        }
+        if (!seatReservationService.tryReserve(eventId)) {
             throw new BadRequestException("Event is at capacity. Increase max attendees first.");
         }
+        attendee.setStatus(AttendeeStatus.APPROVED);
+        attendee.setApprovedAt(now);
 
-        attendee.approve();
-        event.incrementAttendees();
-
-        attendeeRepository.save(attendee);
-        eventRepository.save(event);
+        eventCache.invalidateEvent(eventId);
         log.info("Organizer {} approved user {} for event {}", organizerId, userId, eventId);
 
         return toResponse(attendee);
@@ -111,6 +165,7 @@ public class AttendeeServiceImpl implements AttendeeService {
 
         attendee.decline();
         attendeeRepository.save(attendee);
+        waitlistService.capacityChanged(eventId);
         log.info("Organizer {} declined user {} for event {}", organizerId, userId, eventId);
 
         return toResponse(attendee);
@@ -127,35 +182,102 @@ public class AttendeeServiceImpl implements AttendeeService {
             throw new BadRequestException("Only approved attendees can be removed");
         }
 
-        attendee.remove();
-        event.decrementAttendees();
+        if (attendeeRepository.removeIfApproved(attendee.getId()) == 0) {
+            throw new BadRequestException("Only approved attendees can be removed");
+        }
+        seatReservationService.release(eventId);
+        attendee.setStatus(AttendeeStatus.REMOVED);
 
-        attendeeRepository.save(attendee);
-        eventRepository.save(event);
+        eventCache.invalidateEvent(eventId);
+        waitlistService.capacityChanged(eventId);
         log.info("Organizer {} removed user {} from event {}", organizerId, userId, eventId);
+    }
+
+    // ===== Bulk actions =====
+    // One statement per action for the whole batch, then one seat count update.
+
+    @Override
+    public BulkAttendeeResponse bulkApprove(Long eventId, BulkAttendeeRequest request, Long organizerId) {
+        Event event = findEventOrThrow(eventId);
+        verifyOrganizer(event, organizerId);
+
+        BulkTargets targets = resolveBulkTargets(eventId, request);
+        List<Long> userIds = targets.userIds();
+        // Holding the event row until commit keeps concurrent approvals from taking these seats
+        int freeSeats = userIds.isEmpty() ? 0 : Math.max(0, eventRepository.lockFreeSeats(eventId).orElse(0));
+        List<Long> approved = freeSeats == 0
+            ? List.of()
+            : attendeeRepository.approvePending(eventId, userIds.toArray(Long[]::new), freeSeats, Instant.now());
+
+        if (!seatReservationService.tryReserve(eventId, approved.size())) {
+            throw new BadRequestException("Event capacity changed during the update. Please retry.");
+        }
+        if (!approved.isEmpty()) {
+            eventCache.invalidateEvent(eventId);
+        }
+        log.info("Organizer {} bulk approved {} of {} users for event {}",
+            organizerId, approved.size(), userIds.size(), eventId);
+
+        return toBulkResponse(eventId, targets, approved, AttendeeStatus.APPROVED, status ->
+            status == AttendeeStatus.PENDING
+                ? "Event is at capacity. Increase max attendees first."
+                : "Only pending requests can be approved");
+    }
+
+    @Override
+    public BulkAttendeeResponse bulkDecline(Long eventId, BulkAttendeeRequest request, Long organizerId) {
+        Event event = findEventOrThrow(eventId);
+        verifyOrganizer(event, organizerId);
+
+        BulkTargets targets = resolveBulkTargets(eventId, request);
+        List<Long> userIds = targets.userIds();
+        List<Long> declined = userIds.isEmpty()
+            ? List.of()
+            : attendeeRepository.declinePending(eventId, userIds.toArray(Long[]::new));
+        if (!declined.isEmpty()) {
+            waitlistService.capacityChanged(eventId);
+        }
+        log.info("Organizer {} bulk declined {} of {} users for event {}",
+            organizerId, declined.size(), userIds.size(), eventId);
+
+        return toBulkResponse(eventId, targets, declined, AttendeeStatus.DECLINED,
+            status -> "Only pending requests can be declined");
+    }
+
+    @Override
+    public BulkAttendeeResponse bulkRemove(Long eventId, BulkAttendeeRequest request, Long organizerId) {
+        Event event = findEventOrThrow(eventId);
+        verifyOrganizer(event, organizerId);
 
-        // Promote first waitlisted user to PENDING
-        attendeeRepository.findFirstInWaitlist(eventId).ifPresent(waitlisted -> {
-            waitlisted.setStatus(AttendeeStatus.PENDING);
-            attendeeRepository.save(waitlisted);
-            log.info("Promoted waitlisted user {} to PENDING for event {}", waitlisted.getUser().getId(), eventId);
-        });
+        BulkTargets targets = resolveBulkTargets(eventId, request);
+        List<Long> userIds = targets.userIds();
+        List<Long> removed = userIds.isEmpty()
+            ? List.of()
+            : attendeeRepository.removeApproved(eventId, userIds.toArray(Long[]::new));
+        if (!removed.isEmpty()) {
+            seatReservationService.release(eventId, removed.size());
+            eventCache.invalidateEvent(eventId);
+            waitlistService.capacityChanged(eventId);
+        }
+        log.info("Organizer {} bulk removed {} of {} users from event {}",
+            organizerId, removed.size(), userIds.size(), eventId);
+
+        return toBulkResponse(eventId, targets, removed, AttendeeStatus.REMOVED,
+            status -> "Only approved attendees can be removed");
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<AttendeeResponse> getAttendees(Long eventId, String status, Pageable pageable) {
+    public CursorPage<AttendeeResponse> getAttendees(Long eventId, String status, String cursor, int limit) {
         findEventOrThrow(eventId);
 
-        Page<EventAttendee> attendees;
-        if (status != null && !status.isBlank()) {
-            AttendeeStatus attendeeStatus = AttendeeStatus.valueOf(status.toUpperCase());
-            attendees = attendeeRepository.findByEventIdAndStatus(eventId, attendeeStatus, pageable);
-        } else {
-            attendees = attendeeRepository.findByEventId(eventId, pageable);
-        }
+        AttendeeStatus attendeeStatus = (status != null && !status.isBlank())
+            ? AttendeeStatus.valueOf(status.toUpperCase())
+            : null;
 
-        return attendees.map(this::toResponse);
+        return ATTENDEES.fetch(
+                attendeeRepository, EventAttendeeSpecifications.ofEvent(eventId, attendeeStatus), cursor, limit)
+            .map(this::toResponse);
     }
 
     // ===== Helper methods =====
@@ -175,6 +297,77 @@ public class AttendeeServiceImpl implements AttendeeService {
             .orElseThrow(() -> new ResourceNotFoundException("Attendee not found for this event"));
     }
 
+    /**
+     * The users a bulk action targets. A status filter targets at most
+     * MAX_TARGETS attendees in join order, the same cap as an explicit list;
+     * hasMore tells the organizer to repeat the action for the rest.
+     */
+    private BulkTargets resolveBulkTargets(Long eventId, BulkAttendeeRequest request) {
+        boolean hasUserIds = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        if (hasUserIds == (request.getStatus() != null)) {
+            throw new BadRequestException("Provide either userIds or a status filter");
+        }
+        if (hasUserIds) {
+            return new BulkTargets(request.getUserIds().stream().distinct().toList(), false);
+        }
+        List<Long> userIds = attendeeRepository.findUserIdsByEventIdAndStatus(
+            eventId, request.getStatus(), Limit.of(BulkAttendeeRequest.MAX_TARGETS + 1));
+        boolean hasMore = userIds.size() > BulkAttendeeRequest.MAX_TARGETS;
+        return new BulkTargets(hasMore ? userIds.subList(0, BulkAttendeeRequest.MAX_TARGETS) : userIds, hasMore);
+    }
+
+    private record BulkTargets(List<Long> userIds, boolean hasMore) {
+    }
+
+    /**
+     * Builds per-user results, loading the current status of only the users the action skipped.
+     */
+    private BulkAttendeeResponse toBulkResponse(
+        Long eventId,
+        BulkTargets targets,
+        List<Long> changed,
+        AttendeeStatus newStatus,
+        Function<AttendeeStatus, String> skipReason
+    ) {
+        List<Long> userIds = targets.userIds();
+        Set<Long> changedIds = new HashSet<>(changed);
+        List<Long> skippedIds = userIds.stream().filter(id -> !changedIds.contains(id)).toList();
+        Map<Long, AttendeeStatus> skippedStatuses = skippedIds.isEmpty()
+            ? Map.of()
+            : attendeeRepository.findByEventIdAndUserIdIn(eventId, skippedIds).stream()
+                .collect(Collectors.toMap(attendee -> attendee.getUser().getId(), EventAttendee::getStatus));
+
+        List<BulkAttendeeResult> results = userIds.stream()
+            .map(userId -> {
+                if (changedIds.contains(userId)) {
+                    return BulkAttendeeResult.succeeded(userId, newStatus);
+                }
+                AttendeeStatus current = skippedStatuses.get(userId);
+                return current == null
+                    ? BulkAttendeeResult.failed(userId, null, "Attendee not found for this event")
+                    : BulkAttendeeResult.failed(userId, current, skipReason.apply(current));
+            })
+            .toList();
+        return BulkAttendeeResponse.of(results, targets.hasMore());
+    }
+
+    private void verifyCanJoin(Long organizerId, EventStatus status, LocalDateTime joinDeadline, Long userId) {
+        // Cannot join your own event
+        if (organizerId.equals(userId)) {
+            throw new BadRequestException("Organizer cannot join their own event");
+        }
+
+        // Event must be ACTIVE or FULL (waitlist)
+        if (status != EventStatus.ACTIVE && status != EventStatus.FULL) {
+            throw new BadRequestException("This event is not accepting join requests");
+        }
+
+        // Check join deadline
+        if (joinDeadline != null && LocalDateTime.now().isAfter(joinDeadline)) {
+            throw new BadRequestException("The join deadline for this event has passed");
+        }
+    }
+
     private void verifyOrganizer(Event event, Long userId) {
         if (!event.getOrganizer().getId().equals(userId)) {
             throw new UnauthorizedException("Only the organizer can perform this action");
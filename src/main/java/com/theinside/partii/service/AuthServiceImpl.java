@@ -9,6 +9,7 @@ import com.theinside.partii.dto.VerifyEmailRequest;
 import com.theinside.partii.enums.AccountStatus;
 import com.theinside.partii.entity.EmailVerificationToken;
 import com.theinside.partii.entity.PasswordResetToken;
+import com.theinside.partii.entity.RefreshToken;
 import com.theinside.partii.entity.User;
 import com.theinside.partii.exception.BadRequestException;
 import com.theinside.partii.exception.NotFoundException;
@@ -17,8 +18,8 @@ import com.theinside.partii.exception.ValidationException;
 import com.theinside.partii.exception.VerificationFailedException;
 import com.theinside.partii.repository.EmailVerificationTokenRepository;
 import com.theinside.partii.repository.PasswordResetTokenRepository;
-import com.theinside.partii.repository.RefreshTokenRepository;
 import com.theinside.partii.repository.UserRepository;
+import com.theinside.partii.security.RefreshTokenStore;
 import com.theinside.partii.security.TokenManager;
 import com.theinside.partii.service.notification.NotificationService;
 import com.theinside.partii.utils.validators.CustomValidator;
@@ -47,7 +48,7 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final EmailVerificationTokenRepository emailVerificationTokenRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final TokenManager tokenManager;
     private final PasswordEncoder passwordEncoder;
     private final NotificationService notificationService;
@@ -208,19 +209,18 @@ public class AuthServiceImpl implements AuthService {
         return new GenericMessageResponse(TOKEN_SENT_MSG);
     }
 
+    /**
+     * Not transactional: the rotation commits in its own transaction before the
+     * user is loaded, so a refresh never holds two connections.
+     */
     @Override
-    @Transactional
     public AuthResponse refreshToken(String refreshToken) {
         log.info("Refreshing access token");
-        var authToken = tokenManager.refreshAccessToken(refreshToken);
-
-        // Get user info from the token
-        UUID tokenId = UUID.fromString(refreshToken);
-        var tokenEntity = refreshTokenRepository.findByToken(tokenId)
-                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        RefreshToken successor = tokenManager.rotateRefreshToken(refreshToken);
 
-        User user = userRepository.findById(tokenEntity.getUserId())
+        User user = userRepository.findById(successor.getUserId())
                 .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
+        var authToken = tokenManager.issueAccessToken(user, successor);
 
         return new AuthResponse(
                 user.getId(),
@@ -245,7 +245,7 @@ public class AuthServiceImpl implements AuthService {
             throw new UnauthorizedException("Invalid refresh token format");
         }
 
-        var tokenEntity = refreshTokenRepository.findByToken(tokenId)
+        var tokenEntity = refreshTokenStore.findByToken(tokenId)
                 .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
 
         // Revoke the entire token family
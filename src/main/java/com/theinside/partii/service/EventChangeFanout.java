@@ -0,0 +1,42 @@
+package com.theinside.partii.service;
+
+import com.theinside.partii.cache.EventCache;
+import com.theinside.partii.feed.EventFeedSnapshots;
+import com.theinside.partii.search.EventSpatialIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies bulk event changes to the caches and in-memory indexes after the
+ * change commits, on the async executor rather than the request thread.
+ * Nothing runs if the transaction rolls back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventChangeFanout {
+
+    private final EventCache eventCache;
+    private final EventSpatialIndex eventSpatialIndex;
+    private final EventFeedSnapshots eventFeedSnapshots;
+
+    /**
+     * Cancelled events leave the feeds and the spatial index. The search index
+     * holds text only and results are loaded from the database, so it is untouched.
+     */
+    @Async
+    @TransactionalEventListener
+    public void onEventsCancelled(EventsCancelled cancelled) {
+        try {
+            eventCache.invalidateEvents(cancelled.eventIds());
+            eventSpatialIndex.remove(cancelled.eventIds());
+            eventFeedSnapshots.remove(cancelled.eventIds());
+            log.debug("Fanned out cancellation of {} events", cancelled.eventIds().size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to fan out cancellation of {} events: {}", cancelled.eventIds().size(), e.getMessage());
+        }
+    }
+}
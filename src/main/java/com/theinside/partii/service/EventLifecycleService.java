@@ -0,0 +1,39 @@
+package com.theinside.partii.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves events through PAST and ARCHIVED as time passes and then into the
+ * archive tier, one bounded chunk per transaction.
+ */
+public interface EventLifecycleService {
+
+    /**
+     * Marks up to limit ACTIVE or FULL events dated before now as PAST.
+     * @return the number of events transitioned
+     */
+    int markPastEvents(LocalDateTime now, int limit);
+
+    /**
+     * Archives up to limit PAST events dated before archiveDate.
+     * @return the number of events transitioned
+     */
+    int archivePastEvents(LocalDateTime archiveDate, int limit);
+
+    /**
+     * Moves up to limit ARCHIVED events, and CANCELLED events dated before
+     * archiveDate, with their attendees and contribution items, to the archive tier.
+     * @return the number of events moved
+     */
+    int moveArchivedEvents(LocalDateTime archiveDate, int limit);
+
+    /**
+     * Creates the archive tier's partitions for the given year if missing.
+     */
+    void ensureArchivePartitions(int year);
+
+    /**
+     * Event date of the longest-overdue event still ACTIVE or FULL, or null if none.
+     */
+    LocalDateTime findOldestOverdueEventDate(LocalDateTime now);
+}
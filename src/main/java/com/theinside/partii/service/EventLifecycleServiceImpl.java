@@ -0,0 +1,72 @@
+package com.theinside.partii.service;
+
+import com.theinside.partii.cache.EventCache;
+import com.theinside.partii.feed.EventFeedSnapshots;
+import com.theinside.partii.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EventLifecycleServiceImpl implements EventLifecycleService {
+
+    private final EventRepository eventRepository;
+    private final EventCache eventCache;
+    private final EventFeedSnapshots eventFeedSnapshots;
+
+    @Override
+    @Transactional
+    public int markPastEvents(LocalDateTime now, int limit) {
+        List<Long> eventIds = eventRepository.markPastEvents(now, limit, Instant.now());
+        eventCache.invalidateEndedEvents(eventIds);
+        eventFeedSnapshots.remove(eventIds);
+        return eventIds.size();
+    }
+
+    @Override
+    @Transactional
+    public int archivePastEvents(LocalDateTime archiveDate, int limit) {
+        List<Long> eventIds = eventRepository.archivePastEvents(archiveDate, limit, Instant.now());
+        eventCache.invalidateEndedEvents(eventIds);
+        return eventIds.size();
+    }
+
+    @Override
+    @Transactional
+    public int moveArchivedEvents(LocalDateTime archiveDate, int limit) {
+        List<Long> eventIds = eventRepository.lockRetiredEventIds(archiveDate, limit);
+        if (eventIds.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = eventIds.toArray(Long[]::new);
+        int attendees = eventRepository.moveAttendeesToArchive(ids);
+        int items = eventRepository.moveContributionItemsToArchive(ids);
+        int events = eventRepository.moveEventsToArchive(ids);
+        eventCache.invalidateEndedEvents(eventIds);
+        log.debug("Moved {} events, {} attendees and {} contribution items to the archive tier",
+            events, attendees, items);
+        return events;
+    }
+
+    @Override
+    @Transactional
+    public void ensureArchivePartitions(int year) {
+        int created = eventRepository.ensureArchivePartitions(year);
+        if (created > 0) {
+            log.info("Created {} archive partitions for {}", created, year);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LocalDateTime findOldestOverdueEventDate(LocalDateTime now) {
+        return eventRepository.findOldestOverdueEventDate(now);
+    }
+}
@@ -3,9 +3,9 @@ package com.theinside.partii.service;
 import com.theinside.partii.dto.CreateEventRequest;
 import com.theinside.partii.dto.CursorPage;
 import com.theinside.partii.dto.EventResponse;
+import com.theinside.partii.dto.EventSearchRequest;
+import com.theinside.partii.dto.EventSearchResponse;
 import com.theinside.partii.dto.UpdateEventRequest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -39,14 +39,6 @@ public interface EventService {
      */
     EventResponse getEventByPrivateLinkCode(String privateLinkCode);
 
-    /**
-     * List all events (admin only).
-     *
-     * @param pageable pagination information
-     * @return page of event responses
-     */
-    Page<EventResponse> getAllEvents(Pageable pageable);
-
     /**
      * Partially update an existing event (PATCH semantics with MapStruct).
      * Only non-null fields in the request will be updated.
@@ -95,7 +87,43 @@ public interface EventService {
     CursorPage<EventResponse> getPublicEvents(String cursor, int limit);
 
     /**
-     * List all events using keyset pagination (admin only).
+     * List upcoming public events within a radius, nearest first.
+     *
+     * @param latitude  latitude of the search center
+     * @param longitude longitude of the search center
+     * @param radiusKm  search radius in kilometers
+     * @param cursor    the cursor from previous page (null for first page)
+     * @param limit     the maximum number of results to return
+     * @return cursor page of event responses
+     */
+    CursorPage<EventResponse> getNearbyEvents(double latitude, double longitude, double radiusKm, String cursor, int limit);
+
+    /**
+     * Search public events with dynamic filters. Keyword searches are ordered by
+     * relevance; other searches by event date.
+     *
+     * @param request the search filters
+     * @param cursor  the cursor from previous page (null for first page)
+     * @param limit   the maximum number of results to return
+     * @return cursor page of event responses
+     */
+    CursorPage<EventResponse> searchEvents(EventSearchRequest request, String cursor, int limit);
+
+    /**
+     * Same as {@link #searchEvents}, plus result counts per event type, budget,
+     * availability and date bucket. Each facet's counts respect every other
+     * active filter, and all of them come from one aggregate query.
+     *
+     * @param request the search filters
+     * @param cursor  the cursor from previous page (null for first page)
+     * @param limit   the maximum number of results to return
+     * @return page of event responses with facet counts
+     */
+    EventSearchResponse searchEventsWithFacets(EventSearchRequest request, String cursor, int limit);
+
+    /**
+     * List all events, including those moved to the archive tier,
+     * using keyset pagination (admin only).
      *
      * @param cursor the cursor from previous page (null for first page)
      * @param limit  the maximum number of results to return
@@ -103,11 +131,24 @@ public interface EventService {
      */
     CursorPage<EventResponse> getAllEventsKeyset(String cursor, int limit);
 
-    Page<EventResponse> getMyOrganizedEvents(Long userId, Pageable pageable);
+    /**
+     * "New Events" landing feed: upcoming public events created recently, newest first.
+     */
+    List<EventResponse> getNewEvents(int limit);
+
+    /**
+     * "Filling Fast" landing feed: upcoming public events at least 75% full, fullest first.
+     */
+    List<EventResponse> getFillingFastEvents(int limit);
+
+    CursorPage<EventResponse> getMyOrganizedEvents(Long userId, String cursor, int limit);
 
     List<EventResponse> getMyAttendingEvents(Long userId);
 
     List<EventResponse> getMyPendingEvents(Long userId);
 
-    Page<EventResponse> getMyPastEvents(Long userId, Pageable pageable);
+    /**
+     * Events the user attended that have already happened, newest first, from both storage tiers.
+     */
+    CursorPage<EventResponse> getMyPastEvents(Long userId, String cursor, int limit);
 }
@@ -1,29 +1,48 @@
 package com.theinside.partii.service;
 
+import com.theinside.partii.cache.EventCache;
 import com.theinside.partii.dto.*;
 import com.theinside.partii.entity.ContributionItem;
 import com.theinside.partii.entity.Event;
+import com.theinside.partii.entity.TieredEvent;
+import com.theinside.partii.entity.TieredEventAttendee;
 import com.theinside.partii.entity.User;
 import com.theinside.partii.enums.ContributionStatus;
 import com.theinside.partii.enums.EventStatus;
 import com.theinside.partii.exception.NotFoundException;
+import com.theinside.partii.feed.EventFeedSnapshots;
+import com.theinside.partii.feed.EventFeedSnapshots.Feed;
 import com.theinside.partii.exception.ResourceNotFoundException;
 import com.theinside.partii.mapper.EventMapper;
 import com.theinside.partii.repository.ContributionItemRepository;
 import com.theinside.partii.repository.EventAttendeeRepository;
 import com.theinside.partii.repository.EventRepository;
+import com.theinside.partii.repository.TieredEventAttendeeRepository;
+import com.theinside.partii.repository.TieredEventRepository;
 import com.theinside.partii.repository.UserRepository;
+import com.theinside.partii.search.EventSearchEngine;
+import com.theinside.partii.search.EventDistance;
+import com.theinside.partii.search.EventSpatialIndex;
+import com.theinside.partii.specification.EventAttendeeSpecifications;
+import com.theinside.partii.specification.EventSpecifications;
+import com.theinside.partii.specification.Keyset;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Limit;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of EventService.
@@ -37,9 +56,31 @@ public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
     private final EventAttendeeRepository eventAttendeeRepository;
+    private final TieredEventRepository tieredEventRepository;
+    private final TieredEventAttendeeRepository tieredEventAttendeeRepository;
     private final ContributionItemRepository contributionItemRepository;
     private final UserRepository userRepository;
     private final EventMapper eventMapper;
+    private final EventCache eventCache;
+    private final EventSpatialIndex eventSpatialIndex;
+    private final EventFeedSnapshots eventFeedSnapshots;
+    private final EventSearchEngine eventSearchEngine;
+    private final WaitlistService waitlistService;
+    private final SeatReservationService seatReservationService;
+
+    /**
+     * Upper bound on matches an in-process search engine returns per keyword search.
+     */
+    private static final int MAX_KEYWORD_MATCHES = 1000;
+
+    private static final Keyset<TieredEvent> ALL_EVENTS =
+        Keyset.<TieredEvent>of(Sort.by(Sort.Direction.DESC, "createdAt")).fetching("organizer");
+    private static final Keyset<Event> ORGANIZED_EVENTS =
+        Keyset.<Event>of(Sort.by(Sort.Direction.DESC, "eventDate")).fetching("organizer");
+    private static final Keyset<Event> SEARCH_RESULTS =
+        Keyset.<Event>of(Sort.by(Sort.Direction.ASC, "eventDate")).fetching("organizer");
+    private static final Keyset<TieredEventAttendee> PAST_PARTICIPATIONS =
+        Keyset.<TieredEventAttendee>of(Sort.by(Sort.Direction.DESC, "event.eventDate")).fetching("event.organizer");
 
     @Override
     @Transactional
@@ -78,6 +119,7 @@ public class EventServiceImpl implements EventService {
             .build();
 
         Event savedEvent = eventRepository.save(event);
+        eventSearchEngine.index(savedEvent);
         log.info("Event created: {} by user: {}", savedEvent.getId(), userId);
 
         // Create contribution items if provided
@@ -94,20 +136,27 @@ public class EventServiceImpl implements EventService {
         return mapToEventResponse(savedEvent);
     }
 
+    /**
+     * Served from the event cache. Runs without a surrounding transaction so that
+     * cache hits never check out a database connection; the loader fetches the
+     * organizer eagerly instead.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public EventResponse getEvent(Long eventId) {
-        Event event = eventRepository.findById(eventId)
-            .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
-        return mapToEventResponse(event);
+        return eventCache.getEvent(eventId, () -> eventRepository.findWithOrganizerById(eventId)
+            .map(this::mapToEventResponse)
+            .or(() -> tieredEventRepository.findWithOrganizerById(eventId).map(this::mapToEventResponse))
+            .orElseThrow(() -> new ResourceNotFoundException("Event not found")));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public EventResponse getEventByPrivateLinkCode(String privateLinkCode) {
-        Event event = eventRepository.findByPrivateLinkCode(privateLinkCode)
-            .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
-        return mapToEventResponse(event);
+        return eventCache.getEventByPrivateLinkCode(privateLinkCode, () ->
+            eventRepository.findWithOrganizerByPrivateLinkCode(privateLinkCode)
+                .map(this::mapToEventResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found")));
     }
 
     private ContributionItem buildContributionItem(Event event, CreateContributionItemRequest request) {
@@ -128,8 +177,8 @@ public class EventServiceImpl implements EventService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<EventResponse> getAllEvents(Pageable pageable) {
-        return eventRepository.findAll(pageable)
+    public CursorPage<EventResponse> getAllEventsKeyset(String cursor, int limit) {
+        return ALL_EVENTS.fetch(tieredEventRepository, (root, query, cb) -> null, cursor, limit)
             .map(this::mapToEventResponse);
     }
 
@@ -157,6 +206,14 @@ public class EventServiceImpl implements EventService {
         eventMapper.updateEventFromDto(request, event);
 
         Event updatedEvent = eventRepository.save(event);
+        if (request.maxAttendees() != null) {
+            seatReservationService.syncCapacityStatus(eventId);
+            waitlistService.capacityChanged(eventId);
+        }
+        eventCache.invalidateEvent(eventId);
+        eventSpatialIndex.update(updatedEvent);
+        eventFeedSnapshots.refresh(updatedEvent.getId());
+        eventSearchEngine.index(updatedEvent);
         log.info("Event patched: {} by user: {}", eventId, userId);
 
         return mapToEventResponse(updatedEvent);
@@ -179,6 +236,10 @@ public class EventServiceImpl implements EventService {
         }
 
         eventRepository.delete(event);
+        eventCache.invalidateEvent(eventId);
+        eventSpatialIndex.remove(eventId);
+        eventFeedSnapshots.remove(List.of(eventId));
+        eventSearchEngine.remove(eventId);
         log.info("Event deleted: {} by user: {}", eventId, userId);
     }
 
@@ -200,6 +261,10 @@ public class EventServiceImpl implements EventService {
 
         event.setStatus(EventStatus.ACTIVE);
         Event updatedEvent = eventRepository.save(event);
+        eventCache.invalidateEvent(eventId);
+        eventSpatialIndex.update(updatedEvent);
+        eventFeedSnapshots.refresh(updatedEvent.getId());
+        eventSearchEngine.index(updatedEvent);
         log.info("Event published: {} by user: {}", eventId, userId);
 
         return mapToEventResponse(updatedEvent);
@@ -224,57 +289,123 @@ public class EventServiceImpl implements EventService {
         event.setStatus(EventStatus.CANCELLED);
         event.setCancellationReason(reason);
         Event updatedEvent = eventRepository.save(event);
+        eventCache.invalidateEvent(eventId);
+        eventSpatialIndex.update(updatedEvent);
+        eventFeedSnapshots.refresh(updatedEvent.getId());
+        eventSearchEngine.index(updatedEvent);
         log.info("Event cancelled: {} by user: {} with reason: {}", eventId, userId, reason);
 
         return mapToEventResponse(updatedEvent);
     }
 
+    /**
+     * The first page (no cursor) is served from the event cache.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public CursorPage<EventResponse> getPublicEvents(String cursorString, int limit) {
-        EventCursor cursor = cursorString != null ? EventCursor.decode(cursorString) : null;
-        LocalDateTime afterDate = cursor != null ? cursor.eventDate() : null;
-        Long afterId = cursor != null ? cursor.id() : null;
+        if (cursorString == null) {
+            return eventCache.getPublicFirstPage(limit, () -> loadPublicEvents(null, limit));
+        }
+        return loadPublicEvents(cursorString, limit);
+    }
 
-        // Fetch limit+1 to determine if there's a next page
-        List<Event> events = eventRepository.findPublicEventsKeyset(
-            LocalDateTime.now(),
-            afterDate,
-            afterId,
-            Limit.of(limit + 1)
+    /**
+     * Resolves the page of IDs from the in-memory spatial index when it is
+     * ready, otherwise from the database, and batch-loads the page. Results are
+     * ordered by distance and then ID, and the cursor is the last (distance, ID)
+     * pair, so both sources page with a keyset.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> getNearbyEvents(double latitude, double longitude, double radiusKm,
+                                                     String cursor, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        NearbyCursor after = NearbyCursor.decode(cursor);
+        double afterDistance = after != null ? after.distanceKm() : -1;
+        long afterId = after != null ? after.id() : 0;
+
+        List<EventDistance> nearby = eventSpatialIndex.isReady()
+            ? eventSpatialIndex.findNearby(latitude, longitude, radiusKm, now, afterDistance, afterId, limit + 1)
+            : eventRepository.findNearbyEvents(latitude, longitude, radiusKm, now, afterDistance, afterId, limit + 1);
+        String nextCursor = nearby.size() > limit
+            ? new NearbyCursor(nearby.get(limit - 1).getDistanceKm(), nearby.get(limit - 1).getId()).encode()
+            : null;
+        CursorPage<Long> ids = CursorPage.of(nearby, nextCursor, limit).map(EventDistance::getId);
+
+        Map<Long, EventResponse> events = eventRepository.findResponsesByIdIn(ids.content()).stream()
+            .collect(Collectors.toMap(EventResponse::id, Function.identity()));
+        // The index can briefly lag a commit made on another node
+        List<EventResponse> responses = ids.content().stream()
+            .map(events::get)
+            .filter(Objects::nonNull)
+            .filter(e -> e.status() == EventStatus.ACTIVE || e.status() == EventStatus.FULL)
+            .toList();
+
+        return new CursorPage<>(responses, ids.nextCursor(), ids.hasNext(), responses.size());
+    }
+
+    /**
+     * Keyword searches match the keyword in the search query itself and page by
+     * keyset on full-text rank. When an in-process engine answers instead, its
+     * best matches are filtered in the database and paged by offset in rank
+     * order. Other searches page by keyset on event date.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> searchEvents(EventSearchRequest request, String cursor, int limit) {
+        return search(request, findKeywordMatchIds(request), cursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventSearchResponse searchEventsWithFacets(EventSearchRequest request, String cursor, int limit) {
+        List<Long> keywordMatchIds = findKeywordMatchIds(request);
+        return EventSearchResponse.of(
+            search(request, keywordMatchIds, cursor, limit),
+            eventRepository.countFacets(request, keywordMatchIds)
         );
+    }
 
-        if (events.isEmpty()) {
-            return CursorPage.empty();
+    /**
+     * IDs ranked by an in-process search engine, or null when the database
+     * matches the keyword or there is none.
+     */
+    private List<Long> findKeywordMatchIds(EventSearchRequest request) {
+        if (!EventSpecifications.hasKeyword(request)) {
+            return null;
         }
+        return eventSearchEngine.findMatchIds(request.keyword(), request.statuses(), MAX_KEYWORD_MATCHES);
+    }
 
-        // Generate next cursor from the last item
-        String nextCursor = null;
-        if (events.size() > limit) {
-            Event lastEvent = events.get(limit - 1);
-            nextCursor = new EventCursor(lastEvent.getEventDate(), lastEvent.getId()).encode();
+    private CursorPage<EventResponse> search(EventSearchRequest request, List<Long> rankedIds, String cursor, int limit) {
+        if (rankedIds == null) {
+            CursorPage<Event> page = EventSpecifications.hasKeyword(request)
+                ? eventRepository.searchByKeyword(request, cursor, limit)
+                : SEARCH_RESULTS.fetch(eventRepository, EventSpecifications.fromSearchRequest(request, null), cursor, limit);
+            return page.map(this::mapToEventResponse);
         }
 
-        List<EventResponse> responses = events.stream()
-            .map(this::mapToEventResponse)
+        Map<Long, Event> matches = eventRepository.findBy(
+                EventSpecifications.fromSearchRequest(request, rankedIds), q -> q.project("organizer").all())
+            .stream()
+            .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<Event> ranked = rankedIds.stream()
+            .map(matches::get)
+            .filter(Objects::nonNull)
             .toList();
 
-        return CursorPage.of(responses, nextCursor, limit);
+        return CursorPage.ofList(ranked, cursor, limit).map(this::mapToEventResponse);
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public CursorPage<EventResponse> getAllEventsKeyset(String cursorString, int limit) {
-        // For admin view, we use createdAt as the sort key
+    private CursorPage<EventResponse> loadPublicEvents(String cursorString, int limit) {
         EventCursor cursor = cursorString != null ? EventCursor.decode(cursorString) : null;
-        // Note: EventCursor uses eventDate, but for admin we need createdAt
-        // We'll reuse the structure but interpret eventDate as createdAt timestamp
-        java.time.Instant afterDate = cursor != null
-            ? cursor.eventDate().atZone(java.time.ZoneId.systemDefault()).toInstant()
-            : null;
+        LocalDateTime afterDate = cursor != null ? cursor.eventDate() : null;
         Long afterId = cursor != null ? cursor.id() : null;
 
-        List<Event> events = eventRepository.findAllEventsKeyset(
+        // Fetch limit+1 to determine if there's a next page
+        List<EventResponse> events = eventRepository.findPublicEventsKeyset(
+            LocalDateTime.now(),
             afterDate,
             afterId,
             Limit.of(limit + 1)
@@ -284,54 +415,99 @@ public class EventServiceImpl implements EventService {
             return CursorPage.empty();
         }
 
+        // Generate next cursor from the last item
         String nextCursor = null;
         if (events.size() > limit) {
-            Event lastEvent = events.get(limit - 1);
-            // Convert createdAt (Instant) to LocalDateTime for cursor encoding
-            LocalDateTime createdAtAsLocalDateTime = LocalDateTime.ofInstant(
-                lastEvent.getCreatedAt(),
-                java.time.ZoneId.systemDefault()
-            );
-            nextCursor = new EventCursor(createdAtAsLocalDateTime, lastEvent.getId()).encode();
+            EventResponse lastEvent = events.get(limit - 1);
+            nextCursor = new EventCursor(lastEvent.eventDate(), lastEvent.id()).encode();
         }
 
-        List<EventResponse> responses = events.stream()
-            .map(this::mapToEventResponse)
-            .toList();
+        return CursorPage.of(events, nextCursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<EventResponse> getNewEvents(int limit) {
+        return readFeed(Feed.NEW_EVENTS, limit, () -> eventRepository.findNewlyCreatedEvents(
+            LocalDateTime.now(), eventFeedSnapshots.newEventsSince(), PageRequest.of(0, limit)).getContent());
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<EventResponse> getFillingFastEvents(int limit) {
+        return readFeed(Feed.FILLING_FAST, limit, () -> eventRepository.findEventsFillingFast(
+            LocalDateTime.now(), PageRequest.of(0, limit)).getContent());
+    }
 
-        return CursorPage.of(responses, nextCursor, limit);
+    /**
+     * Reads the feed's ranked IDs from its snapshot and the events from the event
+     * cache in one batch, falling back to the feed query when the snapshot is unavailable.
+     */
+    private List<EventResponse> readFeed(Feed feed, int limit, Supplier<List<EventResponse>> fallback) {
+        List<Long> eventIds = eventFeedSnapshots.top(feed, limit);
+        if (eventIds == null) {
+            return fallback.get();
+        }
+        return eventCache.getEvents(eventIds, eventRepository::findResponsesByIdIn).stream()
+            .filter(event -> eventFeedSnapshots.isEligible(feed, event))
+            .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<EventResponse> getMyOrganizedEvents(Long userId, Pageable pageable) {
-        return eventRepository.findByOrganizerId(userId, pageable)
+    public CursorPage<EventResponse> getMyOrganizedEvents(Long userId, String cursor, int limit) {
+        return ORGANIZED_EVENTS.fetch(eventRepository, EventSpecifications.hasOrganizer(userId), cursor, limit)
             .map(this::mapToEventResponse);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<EventResponse> getMyAttendingEvents(Long userId) {
-        return eventAttendeeRepository.findActiveParticipationsByUser(userId).stream()
-            .map(ea -> mapToEventResponse(ea.getEvent()))
-            .toList();
+        return eventAttendeeRepository.findActiveParticipationEventsByUser(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<EventResponse> getMyPendingEvents(Long userId) {
-        return eventAttendeeRepository.findPendingRequestsByUser(userId).stream()
-            .map(ea -> mapToEventResponse(ea.getEvent()))
-            .toList();
+        return eventAttendeeRepository.findPendingRequestEventsByUser(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<EventResponse> getMyPastEvents(Long userId, Pageable pageable) {
-        return eventAttendeeRepository.findPastParticipationsByUser(userId, pageable)
+    public CursorPage<EventResponse> getMyPastEvents(Long userId, String cursor, int limit) {
+        return PAST_PARTICIPATIONS.fetch(
+                tieredEventAttendeeRepository, EventAttendeeSpecifications.pastParticipationsOf(userId), cursor, limit)
             .map(ea -> mapToEventResponse(ea.getEvent()));
     }
 
+    private EventResponse mapToEventResponse(TieredEvent event) {
+        return new EventResponse(
+            event.getId(),
+            event.getOrganizer().getId(),
+            event.getOrganizer().getDisplayName(),
+            event.getTitle(),
+            event.getDescription(),
+            event.getEventType(),
+            event.getLocationAddress(),
+            event.getLatitude(),
+            event.getLongitude(),
+            event.getEventDate(),
+            event.getImageUrl(),
+            event.getEstimatedBudget(),
+            event.getCurrency(),
+            event.getMaxAttendees(),
+            event.getCurrentAttendees(),
+            event.getAgeRestriction(),
+            event.getPaymentDeadline(),
+            event.getJoinDeadline(),
+            event.getVisibility(),
+            event.getStatus(),
+            event.getPrivateLinkCode(),
+            event.getCreatedAt(),
+            event.getUpdatedAt()
+        );
+    }
+
     private EventResponse mapToEventResponse(Event event) {
         return new EventResponse(
             event.getId(),
@@ -0,0 +1,10 @@
+package com.theinside.partii.service;
+
+import java.util.List;
+
+/**
+ * Published when events are cancelled in bulk, so the read-side copies can
+ * catch up once the cancelling transaction commits.
+ */
+public record EventsCancelled(List<Long> eventIds) {
+}
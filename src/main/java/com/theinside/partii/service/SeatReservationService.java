@@ -0,0 +1,39 @@
+package com.theinside.partii.service;
+
+/**
+ * Keeps an event's seat count exact under concurrent approvals and removals.
+ */
+public interface SeatReservationService {
+
+    /**
+     * Takes one seat for the event within the current transaction.
+     * @return false if the event is full or no longer open
+     */
+    default boolean tryReserve(Long eventId) {
+        return tryReserve(eventId, 1);
+    }
+
+    /**
+     * Takes the given number of seats for the event within the current transaction, all or none.
+     * @return false if the event lacks room for all of them or is no longer open
+     */
+    boolean tryReserve(Long eventId, int seats);
+
+    /**
+     * Gives back one seat within the current transaction.
+     */
+    default void release(Long eventId) {
+        release(eventId, 1);
+    }
+
+    /**
+     * Gives back the given number of seats within the current transaction.
+     */
+    void release(Long eventId, int seats);
+
+    /**
+     * Recomputes ACTIVE/FULL from the seat counts within the current transaction,
+     * e.g. after maxAttendees changed.
+     */
+    void syncCapacityStatus(Long eventId);
+}
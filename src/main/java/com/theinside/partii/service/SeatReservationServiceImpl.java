@@ -0,0 +1,83 @@
+package com.theinside.partii.service;
+
+import com.theinside.partii.entity.Event;
+import com.theinside.partii.feed.EventFeedSnapshots;
+import com.theinside.partii.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Seat reservation with a single conditional UPDATE on the event row.
+ *
+ * The capacity check and the increment happen in one statement, so approvals
+ * never overbook and need no read-modify-write or explicit lock. The row lock
+ * the UPDATE takes is held until commit, so callers should reserve as their
+ * last write to keep hot events from serializing on long transactions.
+ *
+ * The UPDATEs bypass the persistence context, and currentAttendees is never
+ * written from the entity, so an Event the caller already loaded is refreshed
+ * afterwards rather than left holding the old count and status.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class SeatReservationServiceImpl implements SeatReservationService {
+
+    private final EventRepository eventRepository;
+    private final EventFeedSnapshots eventFeedSnapshots;
+    private final EntityManager entityManager;
+
+    @Override
+    public boolean tryReserve(Long eventId, int seats) {
+        if (seats == 0) {
+            return true;
+        }
+        if (eventRepository.reserveSeats(eventId, seats, Instant.now()) == 0) {
+            return false;
+        }
+        refreshIfLoaded(eventId);
+        eventFeedSnapshots.refresh(eventId);
+        return true;
+    }
+
+    @Override
+    public void release(Long eventId, int seats) {
+        if (seats == 0) {
+            return;
+        }
+        if (eventRepository.releaseSeats(eventId, seats, Instant.now()) == 0) {
+            log.warn("Released {} seats for event {} with fewer seats taken", seats, eventId);
+            return;
+        }
+        refreshIfLoaded(eventId);
+        eventFeedSnapshots.refresh(eventId);
+    }
+
+    @Override
+    public void syncCapacityStatus(Long eventId) {
+        entityManager.flush();
+        if (eventRepository.syncCapacityStatus(eventId) > 0) {
+            refreshIfLoaded(eventId);
+        }
+    }
+
+    /**
+     * Reloads the event if this transaction already holds it. getReference
+     * returns the loaded instance when there is one and an uninitialized proxy,
+     * which will read the new values, otherwise.
+     */
+    private void refreshIfLoaded(Long eventId) {
+        Event event = entityManager.getReference(Event.class, eventId);
+        if (Hibernate.isInitialized(event)) {
+            entityManager.refresh(event);
+        }
+    }
+}
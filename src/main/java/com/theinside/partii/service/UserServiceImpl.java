@@ -1,5 +1,6 @@
 package com.theinside.partii.service;
 
+import com.theinside.partii.cache.EventCache;
 import com.theinside.partii.dto.*;
 import com.theinside.partii.entity.User;
 import com.theinside.partii.entity.UserBlock;
@@ -9,9 +10,11 @@ import com.theinside.partii.exception.BadRequestException;
 import com.theinside.partii.exception.NotFoundException;
 import com.theinside.partii.exception.ResourceNotFoundException;
 import com.theinside.partii.mapper.UserMapper;
+import com.theinside.partii.repository.EventRepository;
 import com.theinside.partii.repository.UserBlockRepository;
 import com.theinside.partii.repository.UserReportRepository;
 import com.theinside.partii.repository.UserRepository;
+import com.theinside.partii.security.PrincipalCache;
 import com.theinside.partii.security.SecurityUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +25,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 import static com.theinside.partii.utils.CustomMessages.USER_NOT_FOUND;
 
@@ -39,6 +43,9 @@ public class UserServiceImpl implements UserService {
     private final UserBlockRepository userBlockRepository;
     private final UserReportRepository userReportRepository;
     private final UserMapper userMapper;
+    private final PrincipalCache principalCache;
+    private final EventRepository eventRepository;
+    private final EventCache eventCache;
 
     // ===== Profile Management =====
 
@@ -105,9 +112,15 @@ public class UserServiceImpl implements UserService {
             }
         }
 
+        String previousDisplayName = user.getDisplayName();
         userMapper.updateUserFromRequest(request, user);
 
         User savedUser = userRepository.save(user);
+        principalCache.evictAfterCommit(userId);
+        if (!Objects.equals(previousDisplayName, savedUser.getDisplayName())) {
+            // Cached event details embed the organizer's display name
+            eventCache.invalidateEvents(eventRepository.findIdsByOrganizerId(userId));
+        }
         log.info("Profile updated for user: {}", savedUser.getEmail());
 
         return mapToProfileResponse(savedUser, userId, true);
@@ -131,6 +144,7 @@ public class UserServiceImpl implements UserService {
         user.setProfileCompleted(true);
 
         User savedUser = userRepository.save(user);
+        principalCache.evictAfterCommit(userId);
         log.info("Profile completed for user: {}", savedUser.getEmail());
 
         return mapToProfileResponse(savedUser, userId, true);
@@ -0,0 +1,27 @@
+package com.theinside.partii.service;
+
+import java.util.Set;
+
+/**
+ * Promotes waitlisted join requests whenever an event's capacity frees up.
+ */
+public interface WaitlistService {
+
+    /**
+     * Marks the event for promotion once the current transaction commits.
+     * Successive changes to the same event are promoted together.
+     */
+    void capacityChanged(Long eventId);
+
+    /**
+     * Takes a batch of the events marked since they were last taken, by any node.
+     */
+    Set<Long> drainChangedEvents();
+
+    /**
+     * Moves waitlisted requests to PENDING, in join order, until pending
+     * requests cover every free seat.
+     * @return the number of requests promoted
+     */
+    int promote(Long eventId);
+}
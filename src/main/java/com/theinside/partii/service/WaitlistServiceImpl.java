@@ -0,0 +1,98 @@
+package com.theinside.partii.service;
+
+import com.theinside.partii.cache.EventCache;
+import com.theinside.partii.enums.AttendeeStatus;
+import com.theinside.partii.repository.EventAttendeeRepository;
+import com.theinside.partii.repository.EventRepository;
+import com.theinside.partii.utils.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Waitlist promotion driven by capacity changes.
+ *
+ * Removals, declines and capacity increases only mark the event; the
+ * WaitlistPromotionScheduler promotes each marked event once per tick, so a
+ * burst of changes to one event costs a single promotion. A promotion locks
+ * the event row, counts pending requests and promotes the shortfall with one
+ * UPDATE, so nodes promoting the same event never overshoot.
+ *
+ * Marks are kept in a Redis set so they survive a restart and any node's
+ * scheduler can pick them up; each tick pops a batch from it. A mark that
+ * cannot be written to Redis is kept on this node until its next tick.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private static final String CHANGED_EVENTS_KEY = "partii:waitlist:changed";
+    private static final int DRAIN_BATCH_SIZE = 500;
+
+    private final EventRepository eventRepository;
+    private final EventAttendeeRepository attendeeRepository;
+    private final EventCache eventCache;
+    private final StringRedisTemplate redisTemplate;
+
+    private final Set<Long> localChangedEvents = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void capacityChanged(Long eventId) {
+        AfterCommit.run(() -> mark(eventId));
+    }
+
+    @Override
+    public Set<Long> drainChangedEvents() {
+        Set<Long> drained = new HashSet<>();
+        Iterator<Long> it = localChangedEvents.iterator();
+        while (it.hasNext()) {
+            drained.add(it.next());
+            it.remove();
+        }
+        try {
+            List<String> popped = redisTemplate.opsForSet().pop(CHANGED_EVENTS_KEY, DRAIN_BATCH_SIZE);
+            if (popped != null) {
+                popped.forEach(eventId -> drained.add(Long.valueOf(eventId)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to read waitlist changes: {}", e.getMessage());
+        }
+        return drained;
+    }
+
+    private void mark(Long eventId) {
+        try {
+            redisTemplate.opsForSet().add(CHANGED_EVENTS_KEY, eventId.toString());
+        } catch (RuntimeException e) {
+            log.warn("Failed to record waitlist change for event {}: {}", eventId, e.getMessage());
+            localChangedEvents.add(eventId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int promote(Long eventId) {
+        Integer freeSeats = eventRepository.lockFreeSeats(eventId).orElse(0);
+        long pending = attendeeRepository.countByEventIdAndStatus(eventId, AttendeeStatus.PENDING);
+        int shortfall = (int) Math.max(0, freeSeats - pending);
+        if (shortfall == 0) {
+            return 0;
+        }
+
+        int promoted = attendeeRepository.promoteFromWaitlist(eventId, shortfall);
+        if (promoted > 0) {
+            eventCache.invalidateEvent(eventId);
+            log.info("Promoted {} waitlisted users to PENDING for event {}", promoted, eventId);
+        }
+        return promoted;
+    }
+}
@@ -0,0 +1,39 @@
+package com.theinside.partii.specification;
+
+import com.theinside.partii.entity.EventAttendee;
+import com.theinside.partii.entity.TieredEventAttendee;
+import com.theinside.partii.enums.AttendeeStatus;
+import com.theinside.partii.enums.EventStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * JPA Specifications for EventAttendee queries.
+ */
+public class EventAttendeeSpecifications {
+
+    /**
+     * Attendees of an event, optionally with a given status.
+     */
+    public static Specification<EventAttendee> ofEvent(Long eventId, AttendeeStatus status) {
+        return (root, query, cb) -> status == null
+            ? cb.equal(root.get("event").get("id"), eventId)
+            : cb.and(
+                cb.equal(root.get("event").get("id"), eventId),
+                cb.equal(root.get("status"), status)
+            );
+    }
+
+    /**
+     * Approved participations of a user in events that have already happened,
+     * in either storage tier.
+     */
+    public static Specification<TieredEventAttendee> pastParticipationsOf(Long userId) {
+        return (root, query, cb) -> cb.and(
+            cb.equal(root.get("user").get("id"), userId),
+            cb.equal(root.get("status"), AttendeeStatus.APPROVED),
+            root.get("event").get("status").in(List.of(EventStatus.PAST, EventStatus.ARCHIVED))
+        );
+    }
+}
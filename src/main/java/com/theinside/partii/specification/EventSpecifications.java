@@ -1,15 +1,27 @@
 package com.theinside.partii.specification;
 
+import com.theinside.partii.dto.EventSearchFacets.BudgetBucket;
+import com.theinside.partii.dto.EventSearchFacets.DateBucket;
 import com.theinside.partii.dto.EventSearchRequest;
 import com.theinside.partii.entity.Event;
 import com.theinside.partii.enums.EventStatus;
 import com.theinside.partii.enums.EventType;
 import com.theinside.partii.enums.EventVisibility;
+import com.theinside.partii.search.EventFullTextFunctions;
+import com.theinside.partii.utils.geo.GeoBoundingBox;
+import com.theinside.partii.utils.geo.GeoHash;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,110 +30,223 @@ import java.util.List;
  */
 public class EventSpecifications {
 
+    /**
+     * Search filters that facet counts are broken down by. Each facet's counts
+     * apply every filter except its own.
+     */
+    public enum SearchFacet {
+        EVENT_TYPE,
+        BUDGET,
+        AVAILABILITY,
+        DATE
+    }
+
     /**
      * Creates a Specification from EventSearchRequest.
      * Only non-null fields are included in the query.
+     *
+     * @param request         the search filters
+     * @param keywordMatchIds IDs matching {@code request.keyword()} from an in-process
+     *                        search engine, or null to match the keyword, if any,
+     *                        against the full-text index
      */
-    public static Specification<Event> fromSearchRequest(EventSearchRequest request) {
+    public static Specification<Event> fromSearchRequest(EventSearchRequest request, Collection<Long> keywordMatchIds) {
         return (root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            // Always filter to PUBLIC visibility for search
-            predicates.add(cb.equal(root.get("visibility"), EventVisibility.PUBLIC));
+            List<Predicate> predicates = new ArrayList<>(baseSearchPredicates(request, keywordMatchIds, root, cb));
+            predicates.addAll(facetFilters(request, null, root, cb));
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
 
-            // Event types
-            if (request.eventTypes() != null && !request.eventTypes().isEmpty()) {
-                predicates.add(root.get("eventType").in(request.eventTypes()));
-            }
+    /**
+     * The search filters that are not a {@link SearchFacet}; they apply to every facet count.
+     */
+    public static List<Predicate> baseSearchPredicates(
+        EventSearchRequest request,
+        Collection<Long> keywordMatchIds,
+        Root<Event> root,
+        CriteriaBuilder cb
+    ) {
+        List<Predicate> predicates = new ArrayList<>();
 
-            // Statuses
-            if (request.statuses() != null && !request.statuses().isEmpty()) {
-                predicates.add(root.get("status").in(request.statuses()));
-            }
+        // Always filter to PUBLIC visibility for search
+        predicates.add(cb.equal(root.get("visibility"), EventVisibility.PUBLIC));
 
-            // Date range
-            if (request.startDate() != null) {
-                predicates.add(cb.greaterThanOrEqualTo(root.get("eventDate"), request.startDate()));
-            }
-            if (request.endDate() != null) {
-                predicates.add(cb.lessThanOrEqualTo(root.get("eventDate"), request.endDate()));
-            }
+        // Statuses
+        if (request.statuses() != null && !request.statuses().isEmpty()) {
+            predicates.add(root.get("status").in(request.statuses()));
+        }
 
-            // Budget range
-            if (request.minBudget() != null) {
-                predicates.add(cb.greaterThanOrEqualTo(root.get("estimatedBudget"), request.minBudget()));
-            }
-            if (request.maxBudget() != null) {
-                predicates.add(cb.lessThanOrEqualTo(root.get("estimatedBudget"), request.maxBudget()));
+        // Location-based search: bounding box and geohash prefilter, then exact Haversine
+        if (request.latitude() != null && request.longitude() != null && request.radiusKm() != null) {
+            GeoBoundingBox box = GeoBoundingBox.around(request.latitude(), request.longitude(), request.radiusKm());
+            predicates.add(cb.between(root.get("latitude"), box.minLatitude(), box.maxLatitude()));
+            predicates.add(cb.between(root.get("longitude"), box.minLongitude(), box.maxLongitude()));
+            List<Predicate> cellMatches = GeoHash.coveringCells(box).stream()
+                .map(cell -> cb.like(root.get("geohash"), cell + "%"))
+                .toList();
+            if (!cellMatches.isEmpty()) {
+                predicates.add(cb.or(cellMatches.toArray(new Predicate[0])));
             }
 
-            // Location-based search (Haversine formula)
-            if (request.latitude() != null && request.longitude() != null && request.radiusKm() != null) {
-                // Haversine formula: distance = 6371 * acos(cos(lat1) * cos(lat2) * cos(lng2 - lng1) + sin(lat1) * sin(lat2))
-                predicates.add(
-                    cb.lessThanOrEqualTo(
-                        cb.prod(
-                            cb.literal(6371.0),
-                            cb.function("acos", Double.class,
-                                cb.sum(
+            // Haversine formula: distance = 6371 * acos(cos(lat1) * cos(lat2) * cos(lng2 - lng1) + sin(lat1) * sin(lat2))
+            predicates.add(
+                cb.lessThanOrEqualTo(
+                    cb.prod(
+                        cb.literal(6371.0),
+                        cb.function("acos", Double.class,
+                            cb.sum(
+                                cb.prod(
+                                    cb.function("cos", Double.class, cb.function("radians", Double.class, cb.literal(request.latitude()))),
                                     cb.prod(
-                                        cb.function("cos", Double.class, cb.function("radians", Double.class, cb.literal(request.latitude()))),
-                                        cb.prod(
-                                            cb.function("cos", Double.class, cb.function("radians", Double.class, root.get("latitude"))),
-                                            cb.function("cos", Double.class,
-                                                cb.diff(
-                                                    cb.function("radians", Double.class, root.get("longitude")),
-                                                    cb.function("radians", Double.class, cb.literal(request.longitude()))
-                                                )
+                                        cb.function("cos", Double.class, cb.function("radians", Double.class, root.get("latitude"))),
+                                        cb.function("cos", Double.class,
+                                            cb.diff(
+                                                cb.function("radians", Double.class, root.get("longitude")),
+                                                cb.function("radians", Double.class, cb.literal(request.longitude()))
                                             )
                                         )
-                                    ),
-                                    cb.prod(
-                                        cb.function("sin", Double.class, cb.function("radians", Double.class, cb.literal(request.latitude()))),
-                                        cb.function("sin", Double.class, cb.function("radians", Double.class, root.get("latitude")))
                                     )
+                                ),
+                                cb.prod(
+                                    cb.function("sin", Double.class, cb.function("radians", Double.class, cb.literal(request.latitude()))),
+                                    cb.function("sin", Double.class, cb.function("radians", Double.class, root.get("latitude")))
                                 )
                             )
-                        ),
-                        request.radiusKm()
-                    )
-                );
-                // Ensure lat/lng are not null
-                predicates.add(cb.isNotNull(root.get("latitude")));
-                predicates.add(cb.isNotNull(root.get("longitude")));
-            }
+                        )
+                    ),
+                    request.radiusKm()
+                )
+            );
+            // Ensure lat/lng are not null
+            predicates.add(cb.isNotNull(root.get("latitude")));
+            predicates.add(cb.isNotNull(root.get("longitude")));
+        }
 
-            // Keyword search (title, description, location)
-            if (request.keyword() != null && !request.keyword().isBlank()) {
-                String pattern = "%" + request.keyword().toLowerCase() + "%";
-                Predicate titleMatch = cb.like(cb.lower(root.get("title")), pattern);
-                Predicate descMatch = cb.like(cb.lower(root.get("description")), pattern);
-                Predicate locMatch = cb.like(cb.lower(root.get("locationAddress")), pattern);
-                predicates.add(cb.or(titleMatch, descMatch, locMatch));
-            }
+        // Keyword search: IDs resolved by an in-process engine, otherwise the full-text index
+        if (keywordMatchIds != null) {
+            predicates.add(keywordMatchIds.isEmpty()
+                ? cb.disjunction()
+                : root.get("id").in(keywordMatchIds));
+        } else if (hasKeyword(request)) {
+            predicates.add(matchesKeyword(request.keyword(), root, cb));
+        }
 
-            // Age restriction
-            if (request.maxAgeRestriction() != null) {
-                predicates.add(
-                    cb.or(
-                        cb.isNull(root.get("ageRestriction")),
-                        cb.lessThanOrEqualTo(root.get("ageRestriction"), request.maxAgeRestriction())
-                    )
-                );
-            }
+        // Age restriction
+        if (request.maxAgeRestriction() != null) {
+            predicates.add(
+                cb.or(
+                    cb.isNull(root.get("ageRestriction")),
+                    cb.lessThanOrEqualTo(root.get("ageRestriction"), request.maxAgeRestriction())
+                )
+            );
+        }
 
-            // Available spots
-            if (request.hasAvailableSpots() != null && request.hasAvailableSpots()) {
-                predicates.add(cb.lessThan(root.get("currentAttendees"), root.get("maxAttendees")));
+        // Organizer
+        if (request.organizerId() != null) {
+            predicates.add(cb.equal(root.get("organizer").get("id"), request.organizerId()));
+        }
+
+        return predicates;
+    }
+
+    /**
+     * Whether the request searches by keyword.
+     */
+    public static boolean hasKeyword(EventSearchRequest request) {
+        return request.keyword() != null && !request.keyword().isBlank();
+    }
+
+    /**
+     * Events whose search_vector matches the keyword query (Postgres only).
+     */
+    public static Predicate matchesKeyword(String keyword, Root<Event> root, CriteriaBuilder cb) {
+        return cb.isTrue(cb.function(EventFullTextFunctions.MATCH, Boolean.class, root.get("id"), bound(keyword, cb)));
+    }
+
+    /**
+     * The event's full-text rank for the keyword query, higher is better (Postgres only).
+     */
+    public static Expression<Float> keywordRank(String keyword, Root<Event> root, CriteriaBuilder cb) {
+        return cb.function(EventFullTextFunctions.RANK, Float.class, root.get("id"), bound(keyword, cb));
+    }
+
+    /**
+     * User input as a bind parameter; criteria literals are rendered inline.
+     */
+    private static Expression<String> bound(String value, CriteriaBuilder cb) {
+        return cb instanceof HibernateCriteriaBuilder hcb ? hcb.value(value) : cb.literal(value);
+    }
+
+    /**
+     * The active facet filters of the request, leaving out {@code except} (null keeps all).
+     */
+    public static List<Predicate> facetFilters(
+        EventSearchRequest request,
+        SearchFacet except,
+        Root<Event> root,
+        CriteriaBuilder cb
+    ) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        // Event types
+        if (except != SearchFacet.EVENT_TYPE && request.eventTypes() != null && !request.eventTypes().isEmpty()) {
+            predicates.add(root.get("eventType").in(request.eventTypes()));
+        }
+
+        // Budget range
+        if (except != SearchFacet.BUDGET) {
+            if (request.minBudget() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("estimatedBudget"), request.minBudget()));
             }
+            if (request.maxBudget() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("estimatedBudget"), request.maxBudget()));
+            }
+        }
+
+        // Available spots
+        if (except != SearchFacet.AVAILABILITY && Boolean.TRUE.equals(request.hasAvailableSpots())) {
+            predicates.add(cb.lessThan(root.get("currentAttendees"), root.get("maxAttendees")));
+        }
 
-            // Organizer
-            if (request.organizerId() != null) {
-                predicates.add(cb.equal(root.get("organizer").get("id"), request.organizerId()));
+        // Date range
+        if (except != SearchFacet.DATE) {
+            if (request.startDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("eventDate"), request.startDate()));
             }
+            if (request.endDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("eventDate"), request.endDate()));
+            }
+        }
 
-            return cb.and(predicates.toArray(new Predicate[0]));
-        };
+        return predicates;
+    }
+
+    /**
+     * Events whose estimated budget falls in the bucket.
+     */
+    public static Predicate inBudgetBucket(BudgetBucket bucket, Root<Event> root, CriteriaBuilder cb) {
+        Path<BigDecimal> budget = root.get("estimatedBudget");
+        if (bucket.lower() == null) {
+            return cb.or(cb.isNull(budget), cb.lessThanOrEqualTo(budget, bucket.upper()));
+        }
+        Predicate aboveLower = cb.greaterThan(budget, bucket.lower());
+        return bucket.upper() == null ? aboveLower : cb.and(aboveLower, cb.lessThanOrEqualTo(budget, bucket.upper()));
+    }
+
+    /**
+     * Events dated within the bucket, counted from {@code startOfToday}.
+     */
+    public static Predicate inDateBucket(DateBucket bucket, LocalDateTime startOfToday, Root<Event> root, CriteriaBuilder cb) {
+        Path<LocalDateTime> eventDate = root.get("eventDate");
+        List<Predicate> bounds = new ArrayList<>();
+        if (bucket.from() != null) {
+            bounds.add(cb.greaterThanOrEqualTo(eventDate, startOfToday.plus(bucket.from())));
+        }
+        if (bucket.to() != null) {
+            bounds.add(cb.lessThan(eventDate, startOfToday.plus(bucket.to())));
+        }
+        return cb.and(bounds.toArray(new Predicate[0]));
     }
 
     /**
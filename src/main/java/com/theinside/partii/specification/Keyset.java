@@ -0,0 +1,174 @@
+package com.theinside.partii.specification;
+
+import com.theinside.partii.dto.CursorPage;
+import com.theinside.partii.exception.BadRequestException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset (cursor) pagination over any entity and sort order.
+ *
+ * The sort must end in a unique key; {@code id} is appended when it does not.
+ * A cursor holds the sort key values of the last row of a page, and the next
+ * page is the rows strictly after it in sort order, so every page costs the
+ * same index range scan however deep it is and no count query is needed.
+ *
+ * Sort keys may be nested paths ("event.eventDate") and must be non-null
+ * Long, Integer, String, Instant or LocalDateTime values. Associations named
+ * with {@link #fetching} are loaded in the same statement through a fetch graph.
+ *
+ * @param <T> the entity type
+ */
+public final class Keyset<T> {
+
+    private final Sort sort;
+    private final List<Sort.Order> orders;
+    private final List<String> fetchPaths;
+
+    private Keyset(Sort sort, List<String> fetchPaths) {
+        if (sort.getOrderFor("id") == null) {
+            List<Sort.Order> given = sort.toList();
+            Sort.Direction direction = given.isEmpty() ? Sort.Direction.ASC : given.get(given.size() - 1).getDirection();
+            sort = sort.and(Sort.by(direction, "id"));
+        }
+        this.sort = sort;
+        this.orders = sort.toList();
+        this.fetchPaths = fetchPaths;
+    }
+
+    public static <T> Keyset<T> of(Sort sort) {
+        return new Keyset<>(sort, List.of());
+    }
+
+    /**
+     * Returns a copy that also fetches the given associations (e.g. "event.organizer").
+     */
+    public Keyset<T> fetching(String... paths) {
+        return new Keyset<>(sort, List.of(paths));
+    }
+
+    public Sort sort() {
+        return sort;
+    }
+
+    /**
+     * Fetches the page after the cursor (the first page when it is null).
+     */
+    public CursorPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> spec, String cursor, int limit) {
+        Specification<T> query = cursor != null ? spec.and(after(cursor)) : spec;
+        List<T> rows = repository.findBy(query, q -> q.sortBy(sort).project(fetchPaths).limit(limit + 1).all());
+        String nextCursor = rows.size() > limit ? cursorFor(rows.get(limit - 1)) : null;
+        return CursorPage.of(rows, nextCursor, limit);
+    }
+
+    /**
+     * Rows strictly after the cursor position:
+     * (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ..., with the comparison flipped for descending keys.
+     */
+    public Specification<T> after(String cursor) {
+        List<Comparable<?>> values = decode(cursor);
+        return (root, query, cb) -> {
+            List<Predicate> alternatives = new ArrayList<>();
+            for (int i = 0; i < orders.size(); i++) {
+                List<Predicate> conjunction = new ArrayList<>();
+                for (int j = 0; j < i; j++) {
+                    conjunction.add(cb.equal(path(root, orders.get(j).getProperty()), values.get(j)));
+                }
+                conjunction.add(beyond(cb, path(root, orders.get(i).getProperty()), values.get(i), orders.get(i).isAscending()));
+                alternatives.add(cb.and(conjunction.toArray(new Predicate[0])));
+            }
+            return cb.or(alternatives.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Encodes the sort key values of a row as an opaque cursor.
+     */
+    public String cursorFor(T row) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(row);
+        List<String> parts = new ArrayList<>(orders.size());
+        for (Sort.Order order : orders) {
+            parts.add(encodeValue(wrapper.getPropertyValue(order.getProperty())));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(String.join("|", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ===== Internals =====
+
+    private List<Comparable<?>> decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != orders.size()) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            List<Comparable<?>> values = new ArrayList<>(parts.length);
+            for (String part : parts) {
+                values.add(decodeValue(part));
+            }
+            return values;
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private static String encodeValue(Object value) {
+        String tag = switch (value) {
+            case Long ignored -> "L";
+            case Integer ignored -> "I";
+            case Instant ignored -> "T";
+            case LocalDateTime ignored -> "D";
+            case String ignored -> "S";
+            case null -> throw new IllegalStateException("Keyset sort keys must not be null");
+            default -> throw new IllegalStateException("Unsupported keyset sort key type: " + value.getClass());
+        };
+        return tag + URLEncoder.encode(value.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static Comparable<?> decodeValue(String part) {
+        if (part.isEmpty()) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        String value = URLDecoder.decode(part.substring(1), StandardCharsets.UTF_8);
+        return switch (part.charAt(0)) {
+            case 'L' -> Long.valueOf(value);
+            case 'I' -> Integer.valueOf(value);
+            case 'T' -> Instant.parse(value);
+            case 'D' -> LocalDateTime.parse(value);
+            case 'S' -> value;
+            default -> throw new BadRequestException("Invalid cursor");
+        };
+    }
+
+    private static Path<?> path(Root<?> root, String property) {
+        Path<?> path = root;
+        for (String segment : property.split("\\.")) {
+            path = path.get(segment);
+        }
+        return path;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate beyond(CriteriaBuilder cb, Path<?> path, Comparable<?> value, boolean ascending) {
+        Expression<Comparable> expression = (Expression<Comparable>) path;
+        Comparable comparable = value;
+        return ascending ? cb.greaterThan(expression, comparable) : cb.lessThan(expression, comparable);
+    }
+}
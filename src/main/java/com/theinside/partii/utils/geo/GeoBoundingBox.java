@@ -0,0 +1,56 @@
+package com.theinside.partii.utils.geo;
+
+/**
+ * Latitude/longitude rectangle that fully contains a search circle.
+ * Used as a cheap, index-friendly prefilter before exact distance checks.
+ */
+public record GeoBoundingBox(
+    double minLatitude,
+    double maxLatitude,
+    double minLongitude,
+    double maxLongitude
+) {
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    /**
+     * Builds the box around a center point. Near the poles, or when the circle
+     * crosses the antimeridian, the box widens to the full longitude range.
+     */
+    public static GeoBoundingBox around(double latitude, double longitude, double radiusKm) {
+        double deltaLat = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90.0, latitude - deltaLat);
+        double maxLat = Math.min(90.0, latitude + deltaLat);
+
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        if (maxLat >= 90.0 || minLat <= -90.0 || cosLat <= 0.0) {
+            return new GeoBoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+
+        double deltaLng = radiusKm / (KM_PER_DEGREE * cosLat);
+        double minLng = longitude - deltaLng;
+        double maxLng = longitude + deltaLng;
+        if (minLng < -180.0 || maxLng > 180.0) {
+            return new GeoBoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+        return new GeoBoundingBox(minLat, maxLat, minLng, maxLng);
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        return latitude >= minLatitude && latitude <= maxLatitude
+            && longitude >= minLongitude && longitude <= maxLongitude;
+    }
+
+    /**
+     * Great-circle distance in kilometers (Haversine formula).
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
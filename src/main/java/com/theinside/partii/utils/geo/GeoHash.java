@@ -0,0 +1,107 @@
+package com.theinside.partii.utils.geo;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Minimal geohash encoder.
+ *
+ * Events store a fixed-precision geohash so that nearby searches can narrow
+ * candidates with an index range scan on a handful of cell prefixes.
+ */
+public final class GeoHash {
+
+    /**
+     * Precision stored on events; 9 characters is roughly a 5m x 5m cell.
+     */
+    public static final int STORED_PRECISION = 9;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90.0, maxLat = 90.0;
+        double minLng = -180.0, maxLng = 180.0;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Returns the geohash cells covering a bounding box, at the finest precision
+     * whose cells are at least as large as the box. That guarantees at most a
+     * 2x2 block of cells. Returns an empty set when the box is too large for any
+     * prefix to narrow the search.
+     */
+    public static Set<String> coveringCells(GeoBoundingBox box) {
+        double latSpan = box.maxLatitude() - box.minLatitude();
+        double lngSpan = box.maxLongitude() - box.minLongitude();
+
+        int precision = 0;
+        for (int p = STORED_PRECISION; p >= 1; p--) {
+            if (cellHeight(p) >= latSpan && cellWidth(p) >= lngSpan) {
+                precision = p;
+                break;
+            }
+        }
+
+        Set<String> cells = new LinkedHashSet<>();
+        if (precision == 0) {
+            return cells;
+        }
+        for (double lat : new double[]{box.minLatitude(), box.maxLatitude()}) {
+            for (double lng : new double[]{box.minLongitude(), box.maxLongitude()}) {
+                cells.add(encode(lat, lng, precision));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Height in degrees of latitude of a cell at the given precision.
+     */
+    public static double cellHeight(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    /**
+     * Width in degrees of longitude of a cell at the given precision.
+     */
+    public static double cellWidth(int precision) {
+        int lngBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lngBits);
+    }
+}
@@ -0,0 +1,61 @@
+-- =============================================
+-- V2: Geohash column for spatial prefiltering of nearby searches
+-- =============================================
+
+ALTER TABLE events ADD COLUMN geohash VARCHAR(12);
+
+-- Same algorithm as GeoHash.encode, used once to backfill existing rows
+CREATE OR REPLACE FUNCTION partii_geohash_encode(lat DOUBLE PRECISION, lng DOUBLE PRECISION, precision INT)
+RETURNS VARCHAR AS $$
+DECLARE
+    base32  CONSTANT TEXT := '0123456789bcdefghjkmnpqrstuvwxyz';
+    min_lat DOUBLE PRECISION := -90.0;
+    max_lat DOUBLE PRECISION := 90.0;
+    min_lng DOUBLE PRECISION := -180.0;
+    max_lng DOUBLE PRECISION := 180.0;
+    mid     DOUBLE PRECISION;
+    hash    TEXT := '';
+    even    BOOLEAN := TRUE;
+    bit     INT := 0;
+    ch      INT := 0;
+BEGIN
+    WHILE length(hash) < precision LOOP
+        IF even THEN
+            mid := (min_lng + max_lng) / 2;
+            IF lng >= mid THEN
+                ch := (ch << 1) | 1;
+                min_lng := mid;
+            ELSE
+                ch := ch << 1;
+                max_lng := mid;
+            END IF;
+        ELSE
+            mid := (min_lat + max_lat) / 2;
+            IF lat >= mid THEN
+                ch := (ch << 1) | 1;
+                min_lat := mid;
+            ELSE
+                ch := ch << 1;
+                max_lat := mid;
+            END IF;
+        END IF;
+        even := NOT even;
+        bit := bit + 1;
+        IF bit = 5 THEN
+            hash := hash || substr(base32, ch + 1, 1);
+            bit := 0;
+            ch := 0;
+        END IF;
+    END LOOP;
+    RETURN hash;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+UPDATE events
+SET geohash = partii_geohash_encode(latitude, longitude, 9)
+WHERE latitude IS NOT NULL AND longitude IS NOT NULL;
+
+DROP FUNCTION partii_geohash_encode(DOUBLE PRECISION, DOUBLE PRECISION, INT);
+
+-- varchar_pattern_ops lets LIKE 'prefix%' use the index regardless of collation
+CREATE INDEX idx_events_geohash ON events (geohash varchar_pattern_ops);
@@ -0,0 +1,14 @@
+-- =============================================
+-- V3: Full-text search vector for event keyword search
+-- =============================================
+
+-- Generated column: Postgres keeps it current on every insert and update.
+-- Title ranks above location, which ranks above description.
+ALTER TABLE events ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english'::regconfig, coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(location_address, '')), 'B') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX idx_events_search_vector ON events USING GIN (search_vector);
@@ -0,0 +1,151 @@
+-- =============================================
+-- V4: Cold tier for archived events
+-- =============================================
+
+-- ARCHIVED events and their attendees and contribution items are moved here
+-- in chunks by the lifecycle scheduler, keeping the hot tables small.
+-- Rows are range-partitioned by event date, one partition per year.
+-- Children carry their event's date so they land in the matching partition.
+
+CREATE TABLE events_archive (
+    id                  BIGINT NOT NULL,
+    organizer_id        BIGINT NOT NULL,
+    title               VARCHAR(100) NOT NULL,
+    description         VARCHAR(2000),
+    event_type          VARCHAR(20) NOT NULL,
+    location_address    VARCHAR(500),
+    latitude            DOUBLE PRECISION,
+    longitude           DOUBLE PRECISION,
+    event_date          TIMESTAMP NOT NULL,
+    image_url           VARCHAR(500),
+    estimated_budget    NUMERIC(12, 2),
+    currency            VARCHAR(3),
+    max_attendees       INT NOT NULL,
+    current_attendees   INT NOT NULL,
+    age_restriction     INT,
+    payment_deadline    TIMESTAMP,
+    join_deadline       TIMESTAMP,
+    visibility          VARCHAR(10) NOT NULL,
+    status              VARCHAR(15) NOT NULL,
+    private_link_code   VARCHAR(10),
+    link_expiration     TIMESTAMP,
+    cancellation_reason VARCHAR(500),
+    created_at          TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at          TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at         TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, event_date)
+) PARTITION BY RANGE (event_date);
+
+CREATE INDEX idx_events_archive_id ON events_archive(id);
+CREATE INDEX idx_events_archive_organizer ON events_archive(organizer_id);
+CREATE INDEX idx_events_archive_created ON events_archive(created_at, id);
+
+CREATE TABLE event_attendees_archive (
+    id              BIGINT NOT NULL,
+    event_id        BIGINT NOT NULL,
+    user_id         BIGINT NOT NULL,
+    status          VARCHAR(15) NOT NULL,
+    payment_amount  NUMERIC(12, 2),
+    payment_status  VARCHAR(10) NOT NULL,
+    amount_paid     NUMERIC(12, 2) NOT NULL,
+    joined_at       TIMESTAMP WITH TIME ZONE NOT NULL,
+    approved_at     TIMESTAMP WITH TIME ZONE,
+    notes           VARCHAR(500),
+    event_date      TIMESTAMP NOT NULL,
+    archived_at     TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, event_date)
+) PARTITION BY RANGE (event_date);
+
+CREATE INDEX idx_event_attendees_archive_event ON event_attendees_archive(event_id);
+CREATE INDEX idx_event_attendees_archive_user ON event_attendees_archive(user_id, event_date);
+
+CREATE TABLE contribution_items_archive (
+    id              BIGINT NOT NULL,
+    event_id        BIGINT NOT NULL,
+    name            VARCHAR(100) NOT NULL,
+    category        VARCHAR(50),
+    type            VARCHAR(10) NOT NULL,
+    quantity        INT,
+    time_commitment INT,
+    estimated_cost  NUMERIC(12, 2),
+    priority        VARCHAR(15) NOT NULL,
+    notes           VARCHAR(500),
+    status          VARCHAR(15) NOT NULL,
+    assigned_to     BIGINT,
+    completed       BOOLEAN NOT NULL,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    claimed_at      TIMESTAMP WITH TIME ZONE,
+    confirmed_at    TIMESTAMP WITH TIME ZONE,
+    event_date      TIMESTAMP NOT NULL,
+    archived_at     TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, event_date)
+) PARTITION BY RANGE (event_date);
+
+CREATE INDEX idx_contributions_archive_event ON contribution_items_archive(event_id);
+CREATE INDEX idx_contributions_archive_assigned_to ON contribution_items_archive(assigned_to);
+
+-- Events dated before the first yearly partition
+CREATE TABLE events_archive_default PARTITION OF events_archive DEFAULT;
+CREATE TABLE event_attendees_archive_default PARTITION OF event_attendees_archive DEFAULT;
+CREATE TABLE contribution_items_archive_default PARTITION OF contribution_items_archive DEFAULT;
+
+-- Creates the given year's partition of each archive table if missing.
+-- Called by the lifecycle scheduler before every archival run.
+CREATE OR REPLACE FUNCTION partii_ensure_archive_partitions(archive_year INT)
+RETURNS INT AS $$
+DECLARE
+    parent  TEXT;
+    created INT := 0;
+    from_ts TIMESTAMP := make_timestamp(archive_year, 1, 1, 0, 0, 0);
+    to_ts   TIMESTAMP := make_timestamp(archive_year + 1, 1, 1, 0, 0, 0);
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['events_archive', 'event_attendees_archive', 'contribution_items_archive'] LOOP
+        IF to_regclass(parent || '_' || archive_year) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                parent || '_' || archive_year, parent, from_ts, to_ts);
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT partii_ensure_archive_partitions(y)
+FROM generate_series(2020, EXTRACT(YEAR FROM NOW())::INT + 1) AS y;
+
+-- Both tiers, for reads that must see every event (past events, admin listings)
+CREATE VIEW events_all AS
+    SELECT id, organizer_id, title, description, event_type, location_address,
+           latitude, longitude, event_date, image_url, estimated_budget, currency,
+           max_attendees, current_attendees, age_restriction, payment_deadline,
+           join_deadline, visibility, status, private_link_code, link_expiration,
+           cancellation_reason, created_at, updated_at, FALSE AS archived
+    FROM events
+    UNION ALL
+    SELECT id, organizer_id, title, description, event_type, location_address,
+           latitude, longitude, event_date, image_url, estimated_budget, currency,
+           max_attendees, current_attendees, age_restriction, payment_deadline,
+           join_deadline, visibility, status, private_link_code, link_expiration,
+           cancellation_reason, created_at, updated_at, TRUE AS archived
+    FROM events_archive;
+
+CREATE VIEW event_attendees_all AS
+    SELECT id, event_id, user_id, status, payment_amount, payment_status,
+           amount_paid, joined_at, approved_at, notes
+    FROM event_attendees
+    UNION ALL
+    SELECT id, event_id, user_id, status, payment_amount, payment_status,
+           amount_paid, joined_at, approved_at, notes
+    FROM event_attendees_archive;
+
+CREATE VIEW contribution_items_all AS
+    SELECT id, event_id, name, category, type, quantity, time_commitment,
+           estimated_cost, priority, notes, status, assigned_to, completed,
+           claimed_at, confirmed_at
+    FROM contribution_items
+    UNION ALL
+    SELECT id, event_id, name, category, type, quantity, time_commitment,
+           estimated_cost, priority, notes, status, assigned_to, completed,
+           claimed_at, confirmed_at
+    FROM contribution_items_archive;
@@ -0,0 +1,65 @@
+-- =============================================
+-- V5: Composite and partial indexes shaped after the repository predicates
+-- =============================================
+
+-- Most reads filter on visibility/status plus a date, on event_id + status,
+-- or on user_id + status. The single-column indexes from V1 on low-cardinality
+-- columns (status, visibility) are never chosen for those and only slow writes,
+-- so they are replaced here. QueryPlanRegressionTest checks that every
+-- repository query shape below still plans to an index scan.
+
+-- 1. Events
+
+-- Upcoming public listings, filtered search and map locations
+CREATE INDEX idx_events_public_upcoming ON events (event_date, id)
+    WHERE visibility = 'PUBLIC' AND status IN ('ACTIVE', 'FULL');
+
+-- "New Events" feed, newest first
+CREATE INDEX idx_events_public_new ON events (created_at DESC)
+    WHERE visibility = 'PUBLIC' AND status = 'ACTIVE';
+
+-- "Filling Fast" feed; the expression matches CAST(... AS double) in JPQL
+CREATE INDEX idx_events_public_fill_ratio
+    ON events ((current_attendees::DOUBLE PRECISION / max_attendees::DOUBLE PRECISION) DESC)
+    WHERE visibility = 'PUBLIC' AND status = 'ACTIVE';
+
+-- Organizer dashboards and active-event counts
+CREATE INDEX idx_events_organizer_status ON events (organizer_id, status);
+
+-- Lifecycle jobs: overdue live events, past events due for archiving, and
+-- archived or cancelled events to move to the archive tier
+CREATE INDEX idx_events_live_date ON events (event_date) WHERE status IN ('ACTIVE', 'FULL');
+CREATE INDEX idx_events_past_date ON events (event_date) WHERE status = 'PAST';
+CREATE INDEX idx_events_retired_date ON events (event_date) WHERE status IN ('ARCHIVED', 'CANCELLED');
+
+DROP INDEX IF EXISTS idx_events_organizer;
+DROP INDEX IF EXISTS idx_events_status;
+DROP INDEX IF EXISTS idx_events_visibility;
+-- Covered by idx_events_keyset (event_date, id)
+DROP INDEX IF EXISTS idx_events_event_date;
+
+-- 2. Event Attendees
+
+-- Per-event lists by status in join order (pending queue, waitlist promotion, counts)
+CREATE INDEX idx_event_attendees_event_status ON event_attendees (event_id, status, joined_at);
+
+-- A user's participations and requests by status
+CREATE INDEX idx_event_attendees_user_status ON event_attendees (user_id, status);
+
+-- Per-event payment tracking
+CREATE INDEX idx_event_attendees_event_payment ON event_attendees (event_id, payment_status);
+
+-- event_id alone is served by uk_event_attendee_event_user (event_id, user_id)
+DROP INDEX IF EXISTS idx_event_attendees_event;
+DROP INDEX IF EXISTS idx_event_attendees_user;
+DROP INDEX IF EXISTS idx_event_attendees_status;
+DROP INDEX IF EXISTS idx_event_attendees_payment;
+
+-- 3. Contribution Items
+
+CREATE INDEX idx_contributions_event_status ON contribution_items (event_id, status);
+CREATE INDEX idx_contributions_assigned_status ON contribution_items (assigned_to, status);
+
+DROP INDEX IF EXISTS idx_contributions_event;
+DROP INDEX IF EXISTS idx_contributions_assigned_to;
+DROP INDEX IF EXISTS idx_contributions_status;
@@ -0,0 +1,30 @@
+-- =============================================
+-- V6: Account purge after the deletion grace period
+-- =============================================
+
+-- Set once a soft-deleted account's personal data has been purged.
+-- The row itself stays, anonymized, because events and reports reference it.
+ALTER TABLE users ADD COLUMN purged_at TIMESTAMP WITH TIME ZONE;
+
+-- Accounts waiting to be purged, in the order the purge walks them
+CREATE INDEX idx_users_purge_pending ON users (id, deleted_at)
+    WHERE deleted_at IS NOT NULL AND purged_at IS NULL;
+
+-- Purge and logout-everywhere look tokens up by user
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+
+-- One row per purge run. last_user_id is the checkpoint: it advances in the
+-- same transaction as each batch, so a run interrupted by a crash resumes
+-- after the last committed batch with the same cutoff.
+CREATE TABLE account_purge_runs (
+    id                  BIGSERIAL PRIMARY KEY,
+    cutoff              TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_user_id        BIGINT NOT NULL DEFAULT 0,
+    accounts_purged     BIGINT NOT NULL DEFAULT 0,
+    rows_affected       BIGINT NOT NULL DEFAULT 0,
+    batches             INT NOT NULL DEFAULT 0,
+    started_at          TIMESTAMP WITH TIME ZONE NOT NULL,
+    finished_at         TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_account_purge_runs_open ON account_purge_runs (id) WHERE finished_at IS NULL;
@@ -0,0 +1,6 @@
+-- =============================================
+-- V7: Incremental refresh token cleanup
+-- =============================================
+
+-- Expired tokens, oldest first
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at);
@@ -0,0 +1,15 @@
+-- =============================================
+-- V8: Atomic refresh token rotation
+-- =============================================
+
+-- Set when a token is rotated, so a concurrent refresh of the same token
+-- within the grace window gets the same successor instead of tripping reuse
+-- detection.
+ALTER TABLE refresh_tokens ADD COLUMN replaced_by UUID;
+ALTER TABLE refresh_tokens ADD COLUMN rotated_at TIMESTAMP WITH TIME ZONE;
+
+-- Every refresh looks its token up by value
+CREATE UNIQUE INDEX idx_refresh_tokens_token ON refresh_tokens (token);
+
+-- Reuse detection revokes whole families
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
@@ -0,0 +1,9 @@
+-- =============================================
+-- V9: Newest-first listings
+-- =============================================
+
+-- The admin listing pages over events_all newest first, on (created_at, id).
+-- events_archive already has idx_events_archive_created (created_at, id),
+-- which every yearly partition inherits; the live table had only the partial
+-- "New Events" index, so its half of the UNION ALL was a full scan and sort.
+CREATE INDEX idx_events_created ON events (created_at, id);
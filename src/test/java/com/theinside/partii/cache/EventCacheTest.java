@@ -0,0 +1,92 @@
+package com.theinside.partii.cache;
+
+import com.theinside.partii.dto.EventResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventCacheTest {
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	private StringRedisTemplate redisTemplate;
+	private ValueOperations<String, String> valueOperations;
+	private EventCache eventCache;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		redisTemplate = mock(StringRedisTemplate.class);
+		valueOperations = mock(ValueOperations.class);
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		eventCache = new EventCache(redisTemplate, jsonMapper, mock(CacheInvalidationPublisher.class), true,
+			Duration.ofMinutes(10), Duration.ofSeconds(30), 100, Duration.ofSeconds(5));
+	}
+
+	@Test
+	void readsManyEventsInOneRoundTripAndLoadsOnlyTheMisses() {
+		when(valueOperations.multiGet(List.of(
+			"partii:event:3", "partii:event:3:version",
+			"partii:event:1", "partii:event:1:version",
+			"partii:event:2", "partii:event:2:version"
+		))).thenReturn(Arrays.asList(
+			null, null,
+			"4:" + jsonMapper.writeValueAsString(event(1L)), "4",
+			"3:" + jsonMapper.writeValueAsString(event(2L)), "4"
+		));
+		List<List<Long>> loads = new ArrayList<>();
+
+		List<EventResponse> events = eventCache.getEvents(List.of(3L, 1L, 2L), ids -> {
+			loads.add(ids);
+			return ids.stream().map(EventCacheTest::event).toList();
+		});
+
+		assertEquals(List.of(3L, 1L, 2L), events.stream().map(EventResponse::id).toList());
+		// Event 2 was written under an older version, so it is reloaded with event 3
+		assertEquals(List.of(List.of(3L, 2L)), loads);
+		verify(redisTemplate).executePipelined(any(RedisCallback.class));
+	}
+
+	@Test
+	void servesRepeatReadsFromTheNearCache() {
+		when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList(null, null));
+
+		eventCache.getEvents(List.of(1L), ids -> ids.stream().map(EventCacheTest::event).toList());
+		List<EventResponse> events = eventCache.getEvents(List.of(1L), ids -> List.of());
+
+		assertEquals(List.of(1L), events.stream().map(EventResponse::id).toList());
+		verify(valueOperations, times(1)).multiGet(anyList());
+	}
+
+	@Test
+	void loadsEverythingWhenRedisIsUnavailable() {
+		when(valueOperations.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+		List<EventResponse> events = eventCache.getEvents(List.of(1L, 2L),
+			ids -> ids.stream().map(EventCacheTest::event).toList());
+
+		assertEquals(List.of(1L, 2L), events.stream().map(EventResponse::id).toList());
+	}
+
+	private static EventResponse event(Long id) {
+		return new EventResponse(id, 10L, "Organizer", "Event " + id, null, null, null, null, null,
+			null, null, null, null, 10, 0, null, null, null, null, null, null, null, null);
+	}
+}
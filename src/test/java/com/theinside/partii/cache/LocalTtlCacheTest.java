@@ -0,0 +1,117 @@
+package com.theinside.partii.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocalTtlCacheTest {
+
+	private final MutableClock clock = new MutableClock();
+
+	@Test
+	void entriesExpireAfterTtl() {
+		LocalTtlCache<String, String> cache = new LocalTtlCache<>(10, Duration.ofSeconds(5), clock);
+		cache.put("a", "1");
+
+		clock.advance(Duration.ofSeconds(4));
+		assertEquals("1", cache.get("a"));
+
+		clock.advance(Duration.ofSeconds(1));
+		assertNull(cache.get("a"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void loaderRunsOnlyOnMissAndNullIsNotCached() {
+		LocalTtlCache<String, String> cache = new LocalTtlCache<>(10, Duration.ofSeconds(5), clock);
+		AtomicInteger loads = new AtomicInteger();
+
+		assertEquals("v", cache.get("a", key -> { loads.incrementAndGet(); return "v"; }));
+		assertEquals("v", cache.get("a", key -> { loads.incrementAndGet(); return "other"; }));
+		assertEquals(1, loads.get());
+
+		assertNull(cache.get("b", key -> null));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void overflowDropsOldestWritesDownToNinetyPercent() {
+		LocalTtlCache<Integer, Integer> cache = new LocalTtlCache<>(10, Duration.ofMinutes(1), clock);
+		for (int i = 0; i < 10; i++) {
+			cache.put(i, i);
+			clock.advance(Duration.ofMillis(1));
+		}
+		cache.put(10, 10);
+
+		assertEquals(9, cache.size());
+		assertNull(cache.get(0));
+		assertNull(cache.get(1));
+		assertEquals(10, cache.get(10));
+		assertEquals(2, cache.get(2));
+	}
+
+	@Test
+	void overflowPurgesExpiredEntriesFirst() {
+		LocalTtlCache<Integer, Integer> cache = new LocalTtlCache<>(3, Duration.ofSeconds(1), clock);
+		cache.put(1, 1);
+		cache.put(2, 2);
+		clock.advance(Duration.ofSeconds(2));
+		cache.put(3, 3);
+		cache.put(4, 4);
+
+		assertEquals(2, cache.size());
+		assertEquals(3, cache.get(3));
+		assertEquals(4, cache.get(4));
+	}
+
+	@Test
+	void invalidateRemovesEntries() {
+		LocalTtlCache<String, String> cache = new LocalTtlCache<>(10, Duration.ofSeconds(5), clock);
+		cache.put("a", "1");
+		cache.put("b", "2");
+
+		cache.invalidate("a");
+		assertNull(cache.get("a"));
+
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void rejectsNonPositiveSize() {
+		assertThrows(IllegalArgumentException.class, () -> new LocalTtlCache<>(0, Duration.ofSeconds(1)));
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
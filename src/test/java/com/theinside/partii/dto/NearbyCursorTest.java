@@ -0,0 +1,38 @@
+package com.theinside.partii.dto;
+
+import com.theinside.partii.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NearbyCursorTest {
+
+	@Test
+	void roundTripsTheExactDistance() {
+		NearbyCursor cursor = new NearbyCursor(1.0000000000000002, 42L);
+
+		assertEquals(cursor, NearbyCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	void blankCursorIsTheFirstPage() {
+		assertNull(NearbyCursor.decode(null));
+		assertNull(NearbyCursor.decode(""));
+	}
+
+	@Test
+	void rejectsMalformedCursors() {
+		assertThrows(BadRequestException.class, () -> NearbyCursor.decode("not base64!"));
+		assertThrows(BadRequestException.class, () -> NearbyCursor.decode(encode("1.5")));
+		assertThrows(BadRequestException.class, () -> NearbyCursor.decode(encode("NaN|1")));
+		assertThrows(BadRequestException.class, () -> NearbyCursor.decode(encode("1.5|x")));
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().encodeToString(raw.getBytes());
+	}
+}
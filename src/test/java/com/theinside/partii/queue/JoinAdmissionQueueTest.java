@@ -0,0 +1,105 @@
+package com.theinside.partii.queue;
+
+import com.theinside.partii.exception.BadRequestException;
+import com.theinside.partii.repository.EventAttendeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JoinAdmissionQueueTest {
+
+	private static final Long EVENT_ID = 42L;
+	private static final Long USER_ID = 7L;
+
+	private StringRedisTemplate redisTemplate;
+	private SetOperations<String, String> setOperations;
+	private EventAttendeeRepository attendeeRepository;
+	private JoinAdmissionQueue queue;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		redisTemplate = mock(StringRedisTemplate.class);
+		setOperations = mock(SetOperations.class);
+		attendeeRepository = mock(EventAttendeeRepository.class);
+		when(redisTemplate.opsForSet()).thenReturn(setOperations);
+		queue = new JoinAdmissionQueue(redisTemplate, attendeeRepository, true, 2, Duration.ofHours(24));
+	}
+
+	@Test
+	void seedsExistingRequestsBeforeTheFirstEnqueue() {
+		when(redisTemplate.execute(script("incr"), anyList(), any(Object[].class)))
+			.thenReturn(-2L, 3L);
+		when(attendeeRepository.findUserIdsByEventId(EVENT_ID)).thenReturn(List.of(1L, 2L));
+
+		assertEquals(3L, queue.enqueue(EVENT_ID, USER_ID));
+
+		verify(redisTemplate).execute(script("for i = 2, #ARGV"),
+			eq(List.of("partii:join-queue:42:requested")), any(Object[].class));
+	}
+
+	@Test
+	void rejectsAUserWhoAlreadyRequested() {
+		when(redisTemplate.execute(script("incr"), anyList(), any(Object[].class))).thenReturn(-1L);
+
+		assertThrows(BadRequestException.class, () -> queue.enqueue(EVENT_ID, USER_ID));
+	}
+
+	@Test
+	void returnsNullWhenRedisIsUnavailable() {
+		when(redisTemplate.execute(script("incr"), anyList(), any(Object[].class)))
+			.thenThrow(new RedisConnectionFailureException("down"));
+
+		assertNull(queue.enqueue(EVENT_ID, USER_ID));
+	}
+
+	@Test
+	void acknowledgesABatchOnlyAfterItIsInserted() {
+		when(setOperations.members("partii:join-queue:events")).thenReturn(Set.of(EVENT_ID.toString()));
+		when(redisTemplate.execute(script("zpopmin"), anyList(), any(Object[].class))).thenReturn(List.of("5", "3"));
+		when(attendeeRepository.insertQueuedJoinRequests(eq(EVENT_ID), any(), any())).thenReturn(2);
+
+		assertEquals(2, queue.drain());
+
+		verify(attendeeRepository).insertQueuedJoinRequests(eq(EVENT_ID), eq(new Long[]{5L, 3L}), any());
+		verify(redisTemplate).execute(script("del"),
+			eq(List.of("partii:join-queue:42:processing", "partii:join-queue:42:requested")));
+	}
+
+	@Test
+	void keepsAFailedBatchClaimedForTheNextDrain() {
+		when(setOperations.members("partii:join-queue:events")).thenReturn(Set.of(EVENT_ID.toString()));
+		when(redisTemplate.execute(script("zpopmin"), anyList(), any(Object[].class))).thenReturn(List.of("5"));
+		when(attendeeRepository.insertQueuedJoinRequests(eq(EVENT_ID), any(), any()))
+			.thenThrow(new IllegalStateException("database down"));
+
+		assertEquals(0, queue.drain());
+
+		verify(redisTemplate, never()).execute(script("del"), anyList());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> RedisScript<T> script(String... fragments) {
+		return argThat(script -> script != null
+			&& List.of(fragments).stream().allMatch(script.getScriptAsString()::contains));
+	}
+}
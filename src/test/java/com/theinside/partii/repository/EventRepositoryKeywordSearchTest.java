@@ -0,0 +1,121 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.dto.CursorPage;
+import com.theinside.partii.dto.EventSearchFacets;
+import com.theinside.partii.dto.EventSearchRequest;
+import com.theinside.partii.entity.Event;
+import com.theinside.partii.entity.User;
+import com.theinside.partii.enums.AccountStatus;
+import com.theinside.partii.enums.EventStatus;
+import com.theinside.partii.enums.EventType;
+import com.theinside.partii.enums.EventVisibility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class EventRepositoryKeywordSearchTest extends PostgresRepositoryTest {
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private User organizer;
+	private User otherOrganizer;
+
+	@BeforeEach
+	void setUp() {
+		organizer = persistUser("organizer");
+		otherOrganizer = persistUser("other");
+	}
+
+	@Test
+	void appliesEveryFilterAndRanksTitleMatchesFirst() {
+		Event titleMatch = persistEvent(organizer, "Board games night", "Bring snacks");
+		Event descriptionMatch = persistEvent(organizer, "Picnic", "Board games and food");
+		persistEvent(otherOrganizer, "Board games club", null);
+		persistEvent(organizer, "Wedding", "Dancing");
+
+		CursorPage<Event> page = eventRepository.searchByKeyword(search("board games", organizer.getId()), null, 10);
+
+		assertEquals(List.of(titleMatch.getId(), descriptionMatch.getId()), ids(page.content()));
+		assertFalse(page.hasNext());
+	}
+
+	@Test
+	void pagesByRankAndIdWithoutGapsOrRepeats() {
+		List<Long> expected = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			expected.add(persistEvent(organizer, "Quiz night " + i, null).getId());
+		}
+
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPage<Event> page = eventRepository.searchByKeyword(search("quiz", organizer.getId()), cursor, 2);
+			seen.addAll(ids(page.content()));
+			cursor = page.nextCursor();
+		} while (cursor != null);
+
+		// Same rank throughout, so ID order breaks the tie
+		assertEquals(expected, seen);
+	}
+
+	@Test
+	void facetsCountOnlyKeywordMatches() {
+		persistEvent(organizer, "Karaoke party", null);
+		persistEvent(organizer, "Karaoke evening", null);
+		persistEvent(organizer, "Book club", null);
+
+		EventSearchFacets facets = eventRepository.countFacets(search("karaoke", organizer.getId()), null);
+
+		assertEquals(2, facets.withAvailableSpots());
+		assertEquals(2, facets.eventTypes().values().stream().mapToLong(Long::longValue).sum());
+	}
+
+	private static EventSearchRequest search(String keyword, Long organizerId) {
+		return new EventSearchRequest(null, null, null, null, null, null, null, null, null,
+			keyword, null, null, organizerId);
+	}
+
+	private static List<Long> ids(List<Event> events) {
+		return events.stream().map(Event::getId).toList();
+	}
+
+	private User persistUser(String name) {
+		return entityManager.persist(User.builder()
+			.email(name + "@example.com")
+			.displayName(name)
+			.provider("local")
+			.providerId(name)
+			.generalLocation("Accra")
+			.primaryAddress("Accra")
+			.phoneNumber("0200000000")
+			.accountStatus(AccountStatus.VERIFIED)
+			.build());
+	}
+
+	private Event persistEvent(User owner, String title, String description) {
+		Event event = entityManager.persist(Event.builder()
+			.organizer(owner)
+			.title(title)
+			.description(description)
+			.eventType(EventType.values()[0])
+			.eventDate(LocalDateTime.now().plusDays(7))
+			.maxAttendees(10)
+			.visibility(EventVisibility.PUBLIC)
+			.status(EventStatus.ACTIVE)
+			.build());
+		entityManager.flush();
+		return event;
+	}
+}
@@ -0,0 +1,99 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.entity.Event;
+import com.theinside.partii.entity.User;
+import com.theinside.partii.enums.AccountStatus;
+import com.theinside.partii.enums.EventStatus;
+import com.theinside.partii.enums.EventType;
+import com.theinside.partii.enums.EventVisibility;
+import com.theinside.partii.search.EventDistance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventRepositoryNearbyTest extends PostgresRepositoryTest {
+
+	// Accra, with events roughly 1km, 5km and 20km north, and one far away in Kumasi
+	private static final double LAT = 5.6037;
+	private static final double LNG = -0.1870;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Long near;
+	private Long mid;
+	private Long far;
+
+	@BeforeEach
+	void setUp() {
+		User organizer = entityManager.persist(User.builder()
+			.email("organizer@example.com")
+			.displayName("Organizer")
+			.provider("local")
+			.providerId("organizer")
+			.generalLocation("Accra")
+			.primaryAddress("Accra")
+			.phoneNumber("0200000000")
+			.accountStatus(AccountStatus.VERIFIED)
+			.build());
+		near = persistEvent(organizer, LAT + 0.009, LNG, EventStatus.ACTIVE);
+		mid = persistEvent(organizer, LAT + 0.045, LNG, EventStatus.FULL);
+		far = persistEvent(organizer, LAT + 0.18, LNG, EventStatus.ACTIVE);
+		persistEvent(organizer, 6.6885, -1.6244, EventStatus.ACTIVE);
+		persistEvent(organizer, LAT, LNG, EventStatus.DRAFT);
+		entityManager.flush();
+	}
+
+	@Test
+	void returnsEventsWithinRadiusNearestFirst() {
+		List<EventDistance> page = eventRepository.findNearbyEvents(LAT, LNG, 10, LocalDateTime.now(), -1, 0, 10);
+
+		assertEquals(List.of(near, mid), page.stream().map(EventDistance::getId).toList());
+		assertTrue(page.get(0).getDistanceKm() < 1.1);
+		assertTrue(page.get(1).getDistanceKm() > 4.9 && page.get(1).getDistanceKm() < 5.1);
+	}
+
+	@Test
+	void pagesAfterDistanceAndId() {
+		List<EventDistance> first = eventRepository.findNearbyEvents(LAT, LNG, 25, LocalDateTime.now(), -1, 0, 2);
+		assertEquals(List.of(near, mid), first.stream().map(EventDistance::getId).toList());
+
+		EventDistance last = first.get(1);
+		List<EventDistance> second = eventRepository.findNearbyEvents(
+			LAT, LNG, 25, LocalDateTime.now(), last.getDistanceKm(), last.getId(), 2);
+		assertEquals(List.of(far), second.stream().map(EventDistance::getId).toList());
+	}
+
+	@Test
+	void largeRadiusFallsBackToBoundingBoxOnly() {
+		List<EventDistance> page = eventRepository.findNearbyEvents(LAT, LNG, 5000, LocalDateTime.now(), -1, 0, 10);
+
+		assertEquals(4, page.size());
+		assertEquals(near, page.get(0).getId());
+	}
+
+	private Long persistEvent(User organizer, double latitude, double longitude, EventStatus status) {
+		Event event = Event.builder()
+			.organizer(organizer)
+			.title("Event")
+			.eventType(EventType.values()[0])
+			.latitude(latitude)
+			.longitude(longitude)
+			.eventDate(LocalDateTime.now().plusDays(7))
+			.maxAttendees(10)
+			.visibility(EventVisibility.PUBLIC)
+			.status(status)
+			.build();
+		return entityManager.persist(event).getId();
+	}
+}
@@ -0,0 +1,131 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.entity.Event;
+import com.theinside.partii.entity.EventAttendee;
+import com.theinside.partii.entity.User;
+import com.theinside.partii.enums.AccountStatus;
+import com.theinside.partii.enums.AttendeeStatus;
+import com.theinside.partii.enums.EventStatus;
+import com.theinside.partii.enums.EventType;
+import com.theinside.partii.enums.EventVisibility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventRepositorySeatsTest extends PostgresRepositoryTest {
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private User organizer;
+	private User attendee;
+
+	@BeforeEach
+	void setUp() {
+		organizer = persistUser("organizer");
+		attendee = persistUser("attendee");
+	}
+
+	@Test
+	void releasingAUsersSeatReopensAFullEvent() {
+		Event event = persistEvent(2, 2, EventStatus.FULL);
+		persistApproved(event, attendee);
+
+		assertEquals(List.of(event.getId()), eventRepository.releaseSeatsOfUsers(new Long[]{attendee.getId()}, Instant.now()));
+
+		Event released = reload(event);
+		assertEquals(1, released.getCurrentAttendees());
+		assertEquals(EventStatus.ACTIVE, released.getStatus());
+	}
+
+	@Test
+	void releasingAUsersSeatKeepsAnOverbookedEventFull() {
+		// Capacity lowered to 2 after 4 seats were taken
+		Event event = persistEvent(2, 4, EventStatus.FULL);
+		persistApproved(event, attendee);
+
+		eventRepository.releaseSeatsOfUsers(new Long[]{attendee.getId()}, Instant.now());
+
+		Event released = reload(event);
+		assertEquals(3, released.getCurrentAttendees());
+		assertEquals(EventStatus.FULL, released.getStatus());
+	}
+
+	@Test
+	void releaseSeatsKeepsAnOverbookedEventFull() {
+		Event event = persistEvent(2, 4, EventStatus.FULL);
+
+		assertEquals(1, eventRepository.releaseSeats(event.getId(), 1, Instant.now()));
+
+		assertEquals(EventStatus.FULL, reload(event).getStatus());
+	}
+
+	@Test
+	void reserveSeatsMarksTheEventFullOnTheLastSeat() {
+		Event event = persistEvent(2, 1, EventStatus.ACTIVE);
+
+		assertEquals(1, eventRepository.reserveSeats(event.getId(), 1, Instant.now()));
+		assertEquals(0, eventRepository.reserveSeats(event.getId(), 1, Instant.now()));
+
+		Event reserved = reload(event);
+		assertEquals(2, reserved.getCurrentAttendees());
+		assertEquals(EventStatus.FULL, reserved.getStatus());
+	}
+
+	private Event reload(Event event) {
+		entityManager.clear();
+		return entityManager.find(Event.class, event.getId());
+	}
+
+	private User persistUser(String name) {
+		return entityManager.persist(User.builder()
+			.email(name + "@example.com")
+			.displayName(name)
+			.provider("local")
+			.providerId(name)
+			.generalLocation("Accra")
+			.primaryAddress("Accra")
+			.phoneNumber("0200000000")
+			.accountStatus(AccountStatus.VERIFIED)
+			.build());
+	}
+
+	private Event persistEvent(int maxAttendees, int currentAttendees, EventStatus status) {
+		Event event = entityManager.persist(Event.builder()
+			.organizer(organizer)
+			.title("Event")
+			.eventType(EventType.values()[0])
+			.eventDate(LocalDateTime.now().plusDays(7))
+			.maxAttendees(maxAttendees)
+			.visibility(EventVisibility.PUBLIC)
+			.status(status)
+			.build());
+		entityManager.flush();
+		// currentAttendees is not updatable through the entity
+		entityManager.getEntityManager()
+			.createNativeQuery("UPDATE events SET current_attendees = :current WHERE id = :id")
+			.setParameter("current", currentAttendees)
+			.setParameter("id", event.getId())
+			.executeUpdate();
+		return event;
+	}
+
+	private void persistApproved(Event event, User user) {
+		entityManager.persist(EventAttendee.builder()
+			.event(event)
+			.user(user)
+			.status(AttendeeStatus.APPROVED)
+			.build());
+		entityManager.flush();
+	}
+}
@@ -0,0 +1,407 @@
+package com.theinside.partii.repository;
+
+import com.theinside.partii.dto.EventSearchRequest;
+import com.theinside.partii.entity.TieredContributionItem;
+import com.theinside.partii.entity.TieredEvent;
+import com.theinside.partii.enums.AttendeeStatus;
+import com.theinside.partii.enums.EventType;
+import com.theinside.partii.enums.PaymentStatus;
+import com.theinside.partii.specification.Keyset;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Guards the query-shape indexes: seeds a realistic dataset into the migrated
+ * Postgres, calls each hot repository method, and checks that the plan of
+ * every statement it sent reads the hot tables through an index, never a
+ * sequential scan.
+ *
+ * Plans come from the real statements: the DataSource is wrapped so that
+ * each prepared statement is EXPLAINed with its own SQL and bound parameters
+ * right before it runs, so editing a repository query is enough to fail here.
+ * The seeded rows are committed once; each call runs in a rolled-back test
+ * transaction.
+ */
+class QueryPlanRegressionTest extends PostgresRepositoryTest {
+
+	private static final int USERS = 2_000;
+	private static final int EVENTS = 60_000;
+	private static final int ATTENDEES_PER_EVENT = 4;
+	private static final int ITEMS_PER_EVENT = 2;
+
+	private static final Pattern SEQ_SCAN_ON_HOT_TABLE =
+		Pattern.compile("Seq Scan on (events|event_attendees|contribution_items)\\b");
+
+	private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+	private static final Keyset<TieredEvent> ALL_EVENTS =
+		Keyset.<TieredEvent>of(Sort.by(Sort.Direction.DESC, "createdAt")).fetching("organizer");
+	private static final Keyset<TieredContributionItem> ALL_CONTRIBUTIONS =
+		Keyset.<TieredContributionItem>of(Sort.by("id")).fetching("event");
+
+	private static final List<StatementPlan> recordedPlans = new ArrayList<>();
+	private static volatile boolean recording;
+
+	private static long eventId;
+	private static long organizerId;
+	private static long userId;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private EventAttendeeRepository attendeeRepository;
+
+	@Autowired
+	private ContributionItemRepository contributionItemRepository;
+
+	@Autowired
+	private TieredEventRepository tieredEventRepository;
+
+	@Autowired
+	private TieredContributionItemRepository tieredContributionItemRepository;
+
+	@BeforeAll
+	static void seed() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(
+				POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())) {
+			seed(connection);
+		}
+	}
+
+	private static void seed(Connection connection) throws SQLException {
+		connection.setAutoCommit(false);
+
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("""
+				INSERT INTO users (email, display_name, provider, provider_id, general_location,
+				                   primary_address, phone_number, account_status, created_at, updated_at)
+				SELECT 'plan-' || g || '@example.test', 'Plan User ' || g, 'local', 'plan-' || g,
+				       'Accra', 'Accra', '0000000000', 0, NOW(), NOW()
+				FROM generate_series(1, %d) AS g
+				""".formatted(USERS));
+			statement.execute("""
+				CREATE TEMP TABLE plan_seed_users ON COMMIT DROP AS
+				SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM users
+				WHERE email LIKE 'plan-%@example.test'
+				""");
+
+			// Mostly past events, a quarter live, a few drafts and cancellations;
+			// 80% public, dates from two years back to six months ahead.
+			statement.execute("""
+				INSERT INTO events (organizer_id, title, event_type, event_date, max_attendees,
+				                    current_attendees, visibility, status, created_at, updated_at)
+				SELECT u.id,
+				       'Plan event ' || g,
+				       (ARRAY['PARTY','DINNER','TRIP','SPORTS','CONCERT','OTHER'])[1 + g %% 6],
+				       CASE WHEN s.status IN ('ACTIVE', 'FULL', 'DRAFT')
+				            THEN NOW() + (g %% 180 + 1) * INTERVAL '1 day'
+				            ELSE NOW() - (g %% 700 + 1) * INTERVAL '1 day' END,
+				       20,
+				       CASE WHEN s.status = 'FULL' THEN 20 ELSE g %% 21 END,
+				       CASE WHEN g %% 5 = 0 THEN 'PRIVATE' ELSE 'PUBLIC' END,
+				       s.status,
+				       NOW() - (g %% 365) * INTERVAL '1 day',
+				       NOW()
+				FROM generate_series(1, %d) AS g
+				JOIN plan_seed_users u ON u.n = g %% %d
+				CROSS JOIN LATERAL (SELECT CASE
+				    WHEN g %% 20 < 10 THEN 'PAST'
+				    WHEN g %% 20 < 12 THEN 'ARCHIVED'
+				    WHEN g %% 20 < 17 THEN 'ACTIVE'
+				    WHEN g %% 20 < 18 THEN 'FULL'
+				    WHEN g %% 20 < 19 THEN 'DRAFT'
+				    ELSE 'CANCELLED' END AS status) s
+				""".formatted(EVENTS, USERS));
+
+			statement.execute("""
+				INSERT INTO event_attendees (event_id, user_id, status, payment_status, amount_paid, joined_at)
+				SELECT e.id,
+				       u.id,
+				       (ARRAY['APPROVED','APPROVED','PENDING','WAITLIST'])[k],
+				       CASE WHEN k = 1 THEN 'PAID' ELSE 'UNPAID' END,
+				       0,
+				       e.created_at + k * INTERVAL '1 hour'
+				FROM events e
+				CROSS JOIN generate_series(1, %d) AS k
+				JOIN plan_seed_users u ON u.n = (e.id * 31 + k * 97) %% %d
+				WHERE e.title LIKE 'Plan event %%'
+				""".formatted(ATTENDEES_PER_EVENT, USERS));
+
+			statement.execute("""
+				INSERT INTO contribution_items (event_id, name, type, priority, status, assigned_to,
+				                                completed, created_at, updated_at)
+				SELECT e.id,
+				       'Item ' || k,
+				       'MATERIAL',
+				       CASE WHEN k = 1 THEN 'MUST_HAVE' ELSE 'NICE_TO_HAVE' END,
+				       CASE WHEN k = 1 THEN 'AVAILABLE' ELSE 'CLAIMED' END,
+				       CASE WHEN k = 1 THEN NULL ELSE e.organizer_id END,
+				       FALSE,
+				       e.created_at,
+				       e.created_at
+				FROM events e
+				CROSS JOIN generate_series(1, %d) AS k
+				WHERE e.title LIKE 'Plan event %%'
+				""".formatted(ITEMS_PER_EVENT));
+
+			eventId = queryLong(statement, """
+				SELECT id FROM events
+				WHERE title LIKE 'Plan event %' AND status = 'ACTIVE'
+				ORDER BY id LIMIT 1
+				""");
+			organizerId = queryLong(statement, "SELECT organizer_id FROM events WHERE id = " + eventId);
+			userId = queryLong(statement, "SELECT id FROM plan_seed_users WHERE n = 1");
+		}
+		connection.commit();
+
+		connection.setAutoCommit(true);
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("ANALYZE users, events, event_attendees, contribution_items");
+		}
+	}
+
+	static Stream<QueryShape> queryShapes() {
+		LocalDateTime now = LocalDateTime.now();
+		Instant updatedAt = Instant.now();
+		return Stream.of(
+			// ===== EventRepository =====
+			new QueryShape("EventRepository.findUpcomingPublicEvents",
+				t -> t.eventRepository.findUpcomingPublicEvents(FIRST_PAGE)),
+			new QueryShape("EventRepository.searchEvents",
+				t -> t.eventRepository.searchEvents(now, EventType.PARTY, null, null, true, FIRST_PAGE)),
+			new QueryShape("EventRepository.findUpcomingPublicLocations",
+				t -> t.eventRepository.findUpcomingPublicLocations(now, 0L, Limit.of(1000))),
+			new QueryShape("EventRepository.searchByKeyword",
+				t -> t.eventRepository.searchByKeyword(keywordSearch("plan event 4242"), null, 20)),
+			new QueryShape("EventRepository.countFacets (keyword)",
+				t -> t.eventRepository.countFacets(keywordSearch("plan event 4242"), null)),
+			new QueryShape("EventRepository.findNewlyCreatedEvents",
+				t -> t.eventRepository.findNewlyCreatedEvents(now, updatedAt.minus(Duration.ofDays(7)), FIRST_PAGE)),
+			new QueryShape("EventRepository.findEventsFillingFast",
+				t -> t.eventRepository.findEventsFillingFast(now, FIRST_PAGE)),
+			new QueryShape("EventRepository.findPublicEventsKeyset",
+				t -> t.eventRepository.findPublicEventsKeyset(now, now.plusDays(30), eventId, Limit.of(21))),
+			new QueryShape("EventRepository.countActiveEventsByOrganizer",
+				t -> t.eventRepository.countActiveEventsByOrganizer(organizerId)),
+			new QueryShape("EventRepository.findByOrganizerId",
+				t -> t.eventRepository.findByOrganizerId(organizerId)),
+			new QueryShape("EventRepository.markPastEvents",
+				t -> t.eventRepository.markPastEvents(now, 5000, updatedAt)),
+			new QueryShape("EventRepository.findOldestOverdueEventDate",
+				t -> t.eventRepository.findOldestOverdueEventDate(now)),
+			new QueryShape("EventRepository.archivePastEvents",
+				t -> t.eventRepository.archivePastEvents(now.minusDays(30), 5000, updatedAt)),
+			new QueryShape("EventRepository.lockRetiredEventIds",
+				t -> t.eventRepository.lockRetiredEventIds(now.minusDays(30), 500)),
+			new QueryShape("EventRepository.reserveSeats",
+				t -> t.eventRepository.reserveSeats(eventId, 1, updatedAt)),
+			new QueryShape("EventRepository.releaseSeats",
+				t -> t.eventRepository.releaseSeats(eventId, 1, updatedAt)),
+			new QueryShape("EventRepository.lockFreeSeats",
+				t -> t.eventRepository.lockFreeSeats(eventId)),
+			new QueryShape("EventRepository.releaseSeatsOfUsers",
+				t -> t.eventRepository.releaseSeatsOfUsers(new Long[]{userId}, updatedAt)),
+			new QueryShape("TieredEventRepository (all events keyset)",
+				t -> ALL_EVENTS.fetch(t.tieredEventRepository, (root, query, cb) -> null, null, 20)),
+
+			// ===== EventAttendeeRepository =====
+			new QueryShape("EventAttendeeRepository.findByEventIdAndStatus",
+				t -> t.attendeeRepository.findByEventIdAndStatus(eventId, AttendeeStatus.APPROVED)),
+			new QueryShape("EventAttendeeRepository.findUserIdsByEventIdAndStatus",
+				t -> t.attendeeRepository.findUserIdsByEventIdAndStatus(eventId, AttendeeStatus.PENDING, Limit.of(10000))),
+			new QueryShape("EventAttendeeRepository.approvePending",
+				t -> t.attendeeRepository.approvePending(eventId, new Long[]{userId, organizerId}, 10, updatedAt)),
+			new QueryShape("EventAttendeeRepository.promoteFromWaitlist",
+				t -> t.attendeeRepository.promoteFromWaitlist(eventId, 5)),
+			new QueryShape("EventAttendeeRepository.countApprovedAttendees",
+				t -> t.attendeeRepository.countApprovedAttendees(eventId)),
+			new QueryShape("EventAttendeeRepository.findByEventIdAndPaymentStatus",
+				t -> t.attendeeRepository.findByEventIdAndPaymentStatus(eventId, PaymentStatus.UNPAID)),
+			new QueryShape("EventAttendeeRepository.findByUserIdAndStatus",
+				t -> t.attendeeRepository.findByUserIdAndStatus(userId, AttendeeStatus.PENDING)),
+			new QueryShape("EventAttendeeRepository.findActiveParticipationEventsByUser",
+				t -> t.attendeeRepository.findActiveParticipationEventsByUser(userId)),
+			new QueryShape("EventAttendeeRepository.findPendingRequestsForOrganizer",
+				t -> t.attendeeRepository.findPendingRequestsForOrganizer(organizerId)),
+
+			// ===== ContributionItemRepository =====
+			new QueryShape("ContributionItemRepository.findAvailableByEventId",
+				t -> t.contributionItemRepository.findAvailableByEventId(eventId)),
+			new QueryShape("ContributionItemRepository.findActiveContributionsByUser",
+				t -> t.contributionItemRepository.findActiveContributionsByUser(organizerId)),
+			new QueryShape("TieredContributionItemRepository (assigned items keyset)",
+				t -> ALL_CONTRIBUTIONS.fetch(t.tieredContributionItemRepository,
+					(root, query, cb) -> cb.equal(root.get("assignedTo").get("id"), userId), null, 20))
+		);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("queryShapes")
+	void usesIndexScans(QueryShape shape) {
+		List<StatementPlan> plans = record(() -> shape.call().accept(this));
+
+		assertFalse(plans.isEmpty(), () -> shape.method() + " sent no statement");
+		for (StatementPlan plan : plans) {
+			assertFalse(plan.lines().stream().anyMatch(line -> SEQ_SCAN_ON_HOT_TABLE.matcher(line).find()),
+				() -> shape.method() + " regressed to a sequential scan:\n" + plan);
+		}
+	}
+
+	private static List<StatementPlan> record(Runnable call) {
+		recordedPlans.clear();
+		recording = true;
+		try {
+			call.run();
+		} finally {
+			recording = false;
+		}
+		return List.copyOf(recordedPlans);
+	}
+
+	private static EventSearchRequest keywordSearch(String keyword) {
+		return new EventSearchRequest(null, null, null, null, null, null, null, null, null,
+			keyword, null, null, null);
+	}
+
+	private static long queryLong(Statement statement, String sql) throws SQLException {
+		try (ResultSet rs = statement.executeQuery(sql)) {
+			rs.next();
+			return rs.getLong(1);
+		}
+	}
+
+	// ===== Plan capture =====
+
+	@TestConfiguration
+	static class ExplainingDataSourceConfig {
+
+		@Bean
+		static BeanPostProcessor explainingDataSource() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					return bean instanceof DataSource dataSource ? explaining(dataSource) : bean;
+				}
+			};
+		}
+	}
+
+	private static DataSource explaining(DataSource target) {
+		return proxy(DataSource.class, (method, args) -> {
+			Object result = invoke(target, method, args);
+			return result instanceof Connection connection ? explaining(connection) : result;
+		});
+	}
+
+	private static Connection explaining(Connection target) {
+		return proxy(Connection.class, (method, args) -> {
+			Object result = invoke(target, method, args);
+			if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+				return explaining(target, statement, (String) args[0]);
+			}
+			return result;
+		});
+	}
+
+	/**
+	 * Records the parameters bound to the statement and, while recording,
+	 * EXPLAINs it with them on the same connection before it executes.
+	 */
+	private static PreparedStatement explaining(Connection connection, PreparedStatement target, String sql) {
+		List<BoundParameter> parameters = new ArrayList<>();
+		return proxy(PreparedStatement.class, (method, args) -> {
+			String name = method.getName();
+			if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+				parameters.add(new BoundParameter(method, args));
+			} else if (name.equals("clearParameters")) {
+				parameters.clear();
+			} else if (recording && args == null && name.startsWith("execute") && !name.endsWith("Batch")) {
+				recordedPlans.add(explain(connection, sql, parameters));
+			}
+			return invoke(target, method, args);
+		});
+	}
+
+	private static StatementPlan explain(Connection connection, String sql, List<BoundParameter> parameters)
+			throws Throwable {
+		List<String> lines = new ArrayList<>();
+		try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+			for (BoundParameter parameter : parameters) {
+				invoke(explain, parameter.method(), parameter.args());
+			}
+			try (ResultSet rs = explain.executeQuery()) {
+				while (rs.next()) {
+					lines.add(rs.getString(1));
+				}
+			}
+		}
+		return new StatementPlan(sql, lines);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Handler handler) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+			(proxy, method, args) -> handler.handle(method, args));
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	@FunctionalInterface
+	private interface Handler {
+		Object handle(Method method, Object[] args) throws Throwable;
+	}
+
+	private record BoundParameter(Method method, Object[] args) {}
+
+	private record StatementPlan(String sql, List<String> lines) {
+
+		@Override
+		public String toString() {
+			return sql + "\n" + String.join("\n", lines);
+		}
+	}
+
+	record QueryShape(String method, Consumer<QueryPlanRegressionTest> call) {
+
+		@Override
+		public String toString() {
+			return method;
+		}
+	}
+}
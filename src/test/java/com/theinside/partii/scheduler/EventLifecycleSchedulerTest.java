@@ -0,0 +1,62 @@
+package com.theinside.partii.scheduler;
+
+import com.theinside.partii.search.EventSearchEngine;
+import com.theinside.partii.search.EventSpatialIndex;
+import com.theinside.partii.service.EventLifecycleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventLifecycleSchedulerTest {
+
+	private static final String LEASE = "lease-token";
+	private static final Duration LEASE_TTL = Duration.ofMinutes(10);
+
+	private EventLifecycleService lifecycleService;
+	private SchedulerLease schedulerLease;
+	private EventLifecycleScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		lifecycleService = mock(EventLifecycleService.class);
+		schedulerLease = mock(SchedulerLease.class);
+		scheduler = new EventLifecycleScheduler(lifecycleService, mock(EventSpatialIndex.class),
+			mock(EventSearchEngine.class), schedulerLease, 2, 2, Duration.ofDays(30), LEASE_TTL);
+		when(schedulerLease.tryAcquire("event-lifecycle", LEASE_TTL)).thenReturn(LEASE);
+	}
+
+	@Test
+	void renewsTheLeaseAfterEveryChunk() {
+		when(schedulerLease.renew("event-lifecycle", LEASE, LEASE_TTL)).thenReturn(true);
+		when(lifecycleService.markPastEvents(any(), eq(2))).thenReturn(2, 2, 1);
+
+		scheduler.transitionEvents();
+
+		verify(lifecycleService, times(3)).markPastEvents(any(), eq(2));
+		// Three chunks to mark, one each to archive and to move
+		verify(schedulerLease, times(5)).renew("event-lifecycle", LEASE, LEASE_TTL);
+		verify(schedulerLease).release("event-lifecycle", LEASE);
+	}
+
+	@Test
+	void stopsOnceTheLeaseIsLost() {
+		when(schedulerLease.renew("event-lifecycle", LEASE, LEASE_TTL)).thenReturn(false);
+		when(lifecycleService.markPastEvents(any(), eq(2))).thenReturn(2);
+
+		scheduler.transitionEvents();
+
+		verify(lifecycleService, times(1)).markPastEvents(any(), eq(2));
+		verify(lifecycleService, never()).archivePastEvents(any(), anyInt());
+		verify(lifecycleService, never()).moveArchivedEvents(any(), anyInt());
+	}
+}
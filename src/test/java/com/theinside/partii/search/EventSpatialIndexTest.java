@@ -0,0 +1,124 @@
+package com.theinside.partii.search;
+
+import com.theinside.partii.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventSpatialIndexTest {
+
+	private static final double LAT = 5.6037;
+	private static final double LNG = -0.1870;
+
+	private EventRepository eventRepository;
+	private EventSpatialIndex index;
+	private LocalDateTime nextWeek;
+
+	@BeforeEach
+	void setUp() {
+		eventRepository = mock(EventRepository.class);
+		index = new EventSpatialIndex(eventRepository, true);
+		nextWeek = LocalDateTime.now().plusDays(7);
+	}
+
+	@Test
+	void findsEventsWithinRadiusNearestFirst() {
+		when(eventRepository.findUpcomingPublicLocations(any(), eq(0L), any(Limit.class))).thenReturn(List.of(
+			new EventLocation(1L, LAT + 0.045, LNG, nextWeek),
+			new EventLocation(2L, LAT + 0.009, LNG, nextWeek),
+			new EventLocation(3L, LAT + 0.5, LNG, nextWeek),
+			new EventLocation(4L, LAT, LNG, LocalDateTime.now().minusDays(1))));
+		index.build();
+
+		assertTrue(index.isReady());
+		assertEquals(List.of(2L, 1L), nearby(10, -1, 0, 10));
+	}
+
+	@Test
+	void pagesAfterDistanceAndId() {
+		when(eventRepository.findUpcomingPublicLocations(any(), eq(0L), any(Limit.class))).thenReturn(List.of(
+			new EventLocation(1L, LAT + 0.01, LNG, nextWeek),
+			new EventLocation(2L, LAT + 0.01, LNG, nextWeek),
+			new EventLocation(3L, LAT + 0.02, LNG, nextWeek)));
+		index.build();
+
+		List<EventDistance> first = index.findNearby(LAT, LNG, 10, LocalDateTime.now(), -1, 0, 1);
+		assertEquals(1L, first.get(0).getId());
+		assertEquals(List.of(2L, 3L), nearby(10, first.get(0).getDistanceKm(), 1L, 10));
+		assertEquals(List.of(2L), nearby(10, first.get(0).getDistanceKm(), 1L, 1));
+	}
+
+	@Test
+	void failedBuildStaysNotReadyAndWaitsBeforeRetrying() {
+		when(eventRepository.findUpcomingPublicLocations(any(), anyLong(), any(Limit.class)))
+			.thenThrow(new IllegalStateException("database down"));
+		index.build();
+		index.retryBuild();
+
+		assertFalse(index.isReady());
+		verify(eventRepository, times(1)).findUpcomingPublicLocations(any(), anyLong(), any(Limit.class));
+	}
+
+	@Test
+	void buildDoesNotOverwriteEventsChangedWhileItRuns() {
+		when(eventRepository.findUpcomingPublicLocations(any(), eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+			// A remote change arrives after the build read its snapshot
+			index.refresh(1L);
+			return List.of(new EventLocation(1L, LAT, LNG, nextWeek));
+		});
+		when(eventRepository.findUpcomingPublicLocationsByIdIn(anyCollection(), any())).thenReturn(List.of());
+		index.build();
+		index.refreshPending();
+
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	void remoteChangesAreReloadedInOneBatch() {
+		when(eventRepository.findUpcomingPublicLocations(any(), anyLong(), any(Limit.class))).thenReturn(List.of(
+			new EventLocation(1L, LAT, LNG, nextWeek)));
+		index.build();
+		when(eventRepository.findUpcomingPublicLocationsByIdIn(anyCollection(), any())).thenReturn(List.of(
+			new EventLocation(2L, LAT + 0.01, LNG, nextWeek)));
+
+		index.refresh(1L);
+		index.refresh(2L);
+		index.refresh(2L);
+		index.refreshPending();
+
+		verify(eventRepository, times(1)).findUpcomingPublicLocationsByIdIn(anyCollection(), any());
+		assertEquals(List.of(2L), nearby(10, -1, 0, 10));
+	}
+
+	private List<Long> nearby(double radiusKm, double afterDistance, long afterId, int limit) {
+		return index.findNearby(LAT, LNG, radiusKm, LocalDateTime.now(), afterDistance, afterId, limit).stream()
+			.map(EventDistance::getId)
+			.toList();
+	}
+
+	@Test
+	void removeDropsTheEvent() {
+		when(eventRepository.findUpcomingPublicLocations(any(), anyLong(), any(Limit.class))).thenReturn(List.of(
+			new EventLocation(1L, LAT, LNG, nextWeek)));
+		index.build();
+
+		index.remove(1L);
+
+		assertEquals(0, index.size());
+	}
+}
@@ -0,0 +1,135 @@
+package com.theinside.partii.search;
+
+import com.theinside.partii.entity.Event;
+import com.theinside.partii.enums.EventStatus;
+import com.theinside.partii.enums.EventType;
+import com.theinside.partii.enums.EventVisibility;
+import com.theinside.partii.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InMemoryEventSearchEngineTest {
+
+	private static final Set<EventStatus> UPCOMING = Set.of(EventStatus.ACTIVE, EventStatus.FULL);
+
+	private EventRepository eventRepository;
+	private InMemoryEventSearchEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		eventRepository = mock(EventRepository.class);
+		engine = new InMemoryEventSearchEngine(eventRepository);
+	}
+
+	@Test
+	void ranksTitleMatchesAboveDescriptionMatches() {
+		build(event(1L, "Board games night", "Bring snacks", EventStatus.ACTIVE),
+			event(2L, "Picnic", "Board games and food", EventStatus.FULL));
+
+		assertEquals(List.of(1L, 2L), engine.findMatchIds("board games", UPCOMING, 10));
+	}
+
+	@Test
+	void matchesPrefixesAndTypos() {
+		build(event(1L, "Birthday party", null, EventStatus.ACTIVE));
+
+		assertEquals(List.of(1L), engine.findMatchIds("birth", UPCOMING, 10));
+		assertEquals(List.of(1L), engine.findMatchIds("brithday ", UPCOMING, 10));
+		assertEquals(List.of(), engine.findMatchIds("wedding ", UPCOMING, 10));
+	}
+
+	@Test
+	void filtersByStatusAndFallsBackToTheDatabaseForOtherStatuses() {
+		build(event(1L, "Party", null, EventStatus.ACTIVE), event(2L, "Party", null, EventStatus.FULL));
+
+		assertEquals(List.of(1L), engine.findMatchIds("party", Set.of(EventStatus.ACTIVE), 10));
+		assertNull(engine.findMatchIds("party", Set.of(EventStatus.PAST), 10));
+	}
+
+	@Test
+	void evictsStartedEventsAndDropsOnesNoLongerIndexable() {
+		Event started = event(1L, "Party", null, EventStatus.ACTIVE);
+		build(started, event(2L, "Party", null, EventStatus.ACTIVE));
+
+		started.setEventDate(LocalDateTime.now().minusMinutes(1));
+		assertEquals(0, engine.evictExpired(LocalDateTime.now().minusHours(1)));
+		engine.index(event(2L, "Party", null, EventStatus.CANCELLED));
+
+		assertEquals(List.of(1L), engine.findMatchIds("party", UPCOMING, 10));
+		assertEquals(1, engine.evictExpired(LocalDateTime.now().plusDays(30)));
+		assertEquals(List.of(), engine.findMatchIds("party", UPCOMING, 10));
+	}
+
+	@Test
+	void remoteRefreshesAreReloadedInOneBatch() {
+		build();
+		when(eventRepository.findAllById(anyCollection())).thenReturn(List.of(
+			event(1L, "Party", null, EventStatus.ACTIVE), event(2L, "Party", null, EventStatus.DRAFT)));
+
+		engine.refresh(1L);
+		engine.refresh(2L);
+		engine.refreshPending();
+
+		verify(eventRepository, times(1)).findAllById(anyCollection());
+		assertEquals(List.of(1L), engine.findMatchIds("party", UPCOMING, 10));
+	}
+
+	@Test
+	void failedBuildFallsBackToTheDatabaseAndWaitsBeforeRetrying() {
+		when(eventRepository.findUpcomingPublicEventsAfterId(any(), anyLong(), any(Limit.class)))
+			.thenThrow(new IllegalStateException("database down"));
+		engine.rebuild();
+		engine.retryBuild();
+
+		verify(eventRepository, times(1)).findUpcomingPublicEventsAfterId(any(), anyLong(), any(Limit.class));
+		assertNull(engine.findMatchIds("party", UPCOMING, 10));
+	}
+
+	@Test
+	void writesDuringTheBuildAreNotOverwrittenByStaleBatches() {
+		Event stale = event(1L, "Picnic", null, EventStatus.ACTIVE);
+		when(eventRepository.findUpcomingPublicEventsAfterId(any(), eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+			engine.index(event(1L, "Wedding", null, EventStatus.ACTIVE));
+			return List.of(stale);
+		});
+
+		engine.rebuild();
+
+		assertEquals(List.of(1L), engine.findMatchIds("wedding", UPCOMING, 10));
+		assertEquals(List.of(), engine.findMatchIds("picnic", UPCOMING, 10));
+	}
+
+	private void build(Event... events) {
+		when(eventRepository.findUpcomingPublicEventsAfterId(any(), eq(0L), any(Limit.class))).thenReturn(List.of(events));
+		engine.rebuild();
+	}
+
+	private static Event event(Long id, String title, String description, EventStatus status) {
+		Event event = Event.builder()
+			.title(title)
+			.description(description)
+			.eventType(EventType.values()[0])
+			.eventDate(LocalDateTime.now().plusDays(7))
+			.visibility(EventVisibility.PUBLIC)
+			.status(status)
+			.build();
+		event.setId(id);
+		return event;
+	}
+}
@@ -0,0 +1,43 @@
+package com.theinside.partii.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextAnalyzerTest {
+
+	@Test
+	void tokenizeLowercasesAndStripsAccents() {
+		assertEquals(List.of("cafe", "creme", "brulee"), TextAnalyzer.tokenize("Café Crème-Brûlée"));
+	}
+
+	@Test
+	void tokenizeDropsStopWordsAndSingleCharacters() {
+		assertEquals(List.of("party", "beach", "2026"), TextAnalyzer.tokenize("A party at the beach, x 2026!"));
+	}
+
+	@Test
+	void tokenizeHandlesEmptyInput() {
+		assertTrue(TextAnalyzer.tokenize(null).isEmpty());
+		assertTrue(TextAnalyzer.tokenize("   ").isEmpty());
+		assertTrue(TextAnalyzer.tokenize("the of a").isEmpty());
+	}
+
+	@Test
+	void editDistanceCountsEditsAndTranspositions() {
+		assertEquals(0, TextAnalyzer.editDistance("party", "party", 2));
+		assertEquals(1, TextAnalyzer.editDistance("party", "parti", 2));
+		assertEquals(1, TextAnalyzer.editDistance("party", "aprty", 2));
+		assertEquals(1, TextAnalyzer.editDistance("party", "partys", 2));
+		assertEquals(2, TextAnalyzer.editDistance("birthday", "brithdya", 2));
+	}
+
+	@Test
+	void editDistanceGivesUpPastTheMaximum() {
+		assertEquals(2, TextAnalyzer.editDistance("party", "picnic", 1));
+		assertEquals(2, TextAnalyzer.editDistance("ab", "abcdef", 1));
+	}
+}
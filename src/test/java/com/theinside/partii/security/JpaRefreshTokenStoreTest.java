@@ -0,0 +1,176 @@
+package com.theinside.partii.security;
+
+import com.theinside.partii.entity.RefreshToken;
+import com.theinside.partii.repository.PostgresRepositoryTest;
+import com.theinside.partii.security.RefreshTokenStore.Rotation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every store call commits on its own, as it does when a refresh runs outside
+ * any transaction.
+ */
+@Import(JpaRefreshTokenStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaRefreshTokenStoreTest extends PostgresRepositoryTest {
+
+	private static final Duration GRACE = Duration.ofSeconds(10);
+	private static final Long USER_ID = 1L;
+	private static final Long OTHER_USER_ID = 2L;
+
+	@Autowired
+	private JpaRefreshTokenStore store;
+
+	private Instant now;
+
+	@BeforeEach
+	void setUp() {
+		now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+	}
+
+	@AfterEach
+	void tearDown() {
+		store.deleteAllOfUsers(new Long[]{USER_ID, OTHER_USER_ID});
+	}
+
+	// ===== Rotation =====
+
+	@Test
+	void concurrentRotationsAllGetTheSameSuccessor() throws Exception {
+		RefreshToken token = issue(USER_ID, UUID.randomUUID(), false);
+
+		List<Rotation> rotations = rotateConcurrently(token.getToken(), 8);
+
+		assertEquals(1, rotations.stream().filter(r -> r.status() == Rotation.Status.ROTATED).count());
+		assertTrue(rotations.stream().allMatch(r ->
+			r.status() == Rotation.Status.ROTATED || r.status() == Rotation.Status.GRACE));
+		Set<UUID> successors = rotations.stream().map(r -> r.successor().getToken()).collect(Collectors.toSet());
+		assertEquals(1, successors.size());
+	}
+
+	@Test
+	void replayWithinTheGraceWindowYieldsTheSuccessor() {
+		RefreshToken token = issue(USER_ID, UUID.randomUUID(), false);
+		UUID successor = rotate(token.getToken(), now).successor().getToken();
+
+		Rotation replay = rotate(token.getToken(), now.plusSeconds(5));
+
+		assertEquals(Rotation.Status.GRACE, replay.status());
+		assertEquals(successor, replay.successor().getToken());
+	}
+
+	@Test
+	void replayAfterTheGraceWindowRevokesTheFamily() {
+		RefreshToken token = issue(USER_ID, UUID.randomUUID(), false);
+		UUID successor = rotate(token.getToken(), now).successor().getToken();
+
+		assertEquals(Rotation.Status.REUSED, rotate(token.getToken(), now.plus(GRACE).plusSeconds(1)).status());
+
+		assertTrue(store.findByToken(successor).orElseThrow().isRevoked());
+	}
+
+	@Test
+	void replayAfterTheFamilyWasRevokedIsRejected() {
+		RefreshToken token = issue(USER_ID, UUID.randomUUID(), false);
+		UUID successor = rotate(token.getToken(), now).successor().getToken();
+		store.revokeFamily(token.getFamilyId());
+
+		assertEquals(Rotation.Status.INVALID, rotate(token.getToken(), now.plusSeconds(5)).status());
+		assertEquals(Rotation.Status.REUSED, rotate(successor, now.plusSeconds(5)).status());
+	}
+
+	// ===== Revocation and purge =====
+
+	@Test
+	void purgeDeletesRotatedAndRevokedTokens() {
+		UUID family = UUID.randomUUID();
+		RefreshToken successor = issue(USER_ID, family, false);
+		RefreshToken rotated = issue(USER_ID, family, true);
+		rotated.setReplacedBy(successor.getToken());
+		rotated.setRotatedAt(now);
+		store.save(rotated);
+		RefreshToken revoked = issue(USER_ID, UUID.randomUUID(), true);
+		RefreshToken kept = issue(OTHER_USER_ID, UUID.randomUUID(), false);
+
+		assertEquals(3, store.deleteAllOfUsers(new Long[]{USER_ID}));
+
+		assertTrue(store.findByToken(successor.getToken()).isEmpty());
+		assertTrue(store.findByToken(rotated.getToken()).isEmpty());
+		assertTrue(store.findByToken(revoked.getToken()).isEmpty());
+		assertTrue(store.findByToken(kept.getToken()).isPresent());
+	}
+
+	@Test
+	void revokedTokensStayUntilTheyExpire() {
+		UUID family = UUID.randomUUID();
+		RefreshToken first = issue(USER_ID, family, false);
+		RefreshToken second = issue(USER_ID, family, false);
+
+		store.revokeFamily(family);
+
+		assertTrue(store.findByToken(first.getToken()).orElseThrow().isRevoked());
+		assertTrue(store.findByToken(second.getToken()).orElseThrow().isRevoked());
+	}
+
+	private Rotation rotate(UUID token, Instant at) {
+		return store.rotate(token, UUID.randomUUID(), at, at.plus(7, ChronoUnit.DAYS), GRACE);
+	}
+
+	private List<Rotation> rotateConcurrently(UUID token, int callers) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(callers);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Callable<Rotation>> calls = IntStream.range(0, callers)
+				.<Callable<Rotation>>mapToObj(i -> () -> {
+					start.await();
+					return rotate(token, now);
+				})
+				.toList();
+			List<Future<Rotation>> futures = calls.stream().map(executor::submit).toList();
+			start.countDown();
+			List<Rotation> rotations = new ArrayList<>();
+			for (Future<Rotation> future : futures) {
+				rotations.add(future.get());
+			}
+			return rotations;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private RefreshToken issue(Long userId, UUID familyId, boolean revoked) {
+		RefreshToken token = RefreshToken.builder()
+			.token(UUID.randomUUID())
+			.userId(userId)
+			.familyId(familyId)
+			.issuedAt(now)
+			.expiresAt(now.plus(7, ChronoUnit.DAYS))
+			.revoked(revoked)
+			.build();
+		store.save(token);
+		return token;
+	}
+}
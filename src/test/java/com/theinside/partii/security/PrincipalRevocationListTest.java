@@ -0,0 +1,95 @@
+package com.theinside.partii.security;
+
+import com.theinside.partii.cache.CacheInvalidation;
+import com.theinside.partii.cache.CacheInvalidationPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrincipalRevocationListTest {
+
+	private CacheInvalidationPublisher publisher;
+	private ValueOperations<String, String> values;
+	private PrincipalRevocationList revocations;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		publisher = mock(CacheInvalidationPublisher.class);
+		StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+		values = mock(ValueOperations.class);
+		when(redisTemplate.opsForValue()).thenReturn(values);
+		revocations = new PrincipalRevocationList(publisher, redisTemplate);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void tokenIssuedInTheSameSecondAsTheRevocationIsKept() {
+		Instant second = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+		revocations.revokeLocally(1L, second.plusMillis(700));
+
+		assertFalse(revocations.isRevoked(1L, second));
+		assertFalse(revocations.isRevoked(1L, second.plusSeconds(1)));
+		assertTrue(revocations.isRevoked(1L, second.minusSeconds(1)));
+	}
+
+	@Test
+	void otherUsersAreNotRevoked() {
+		revocations.revokeLocally(1L, Instant.now());
+
+		assertFalse(revocations.isRevoked(2L, Instant.now().minusSeconds(60)));
+	}
+
+	@Test
+	void revocationWaitsForCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		revocations.revoke(1L);
+
+		assertFalse(revocations.isRevoked(1L, Instant.now().minusSeconds(60)));
+		verify(publisher, never()).publish(any(), anyLong(), anyLong());
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+		assertTrue(revocations.isRevoked(1L, Instant.now().minusSeconds(60)));
+		verify(values).set(eq("partii:principal-revoked:1"), anyString(),
+			eq(Duration.ofMinutes(TokenManager.ACCESS_TOKEN_TTL_MINUTES)));
+		verify(publisher).publish(eq(CacheInvalidation.Type.USER_REVOKED), eq(1L), anyLong());
+	}
+
+	@Test
+	void rolledBackRevocationHasNoEffect() {
+		TransactionSynchronizationManager.initSynchronization();
+		revocations.revoke(1L);
+		TransactionSynchronizationManager.getSynchronizations()
+			.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		assertFalse(revocations.isRevoked(1L, Instant.now().minusSeconds(60)));
+		assertEquals(0, revocations.size());
+	}
+}
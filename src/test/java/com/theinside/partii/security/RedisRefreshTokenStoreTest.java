@@ -0,0 +1,197 @@
+package com.theinside.partii.security;
+
+import com.theinside.partii.entity.RefreshToken;
+import com.theinside.partii.security.RefreshTokenStore.Rotation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the store's scripts on a real Redis. Skipped where Docker is unavailable.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisRefreshTokenStoreTest {
+
+	private static final Duration GRACE = Duration.ofSeconds(10);
+
+	@Container
+	static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+	private static LettuceConnectionFactory connectionFactory;
+	private static StringRedisTemplate redisTemplate;
+
+	private RedisRefreshTokenStore store;
+	private Instant now;
+
+	@BeforeAll
+	static void connect() {
+		connectionFactory = new LettuceConnectionFactory(
+			new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+		connectionFactory.afterPropertiesSet();
+		connectionFactory.start();
+		redisTemplate = new StringRedisTemplate(connectionFactory);
+	}
+
+	@AfterAll
+	static void disconnect() {
+		connectionFactory.destroy();
+	}
+
+	@BeforeEach
+	void setUp() {
+		redisTemplate.execute((RedisCallback<Object>) connection -> {
+			connection.serverCommands().flushAll();
+			return null;
+		});
+		store = new RedisRefreshTokenStore(redisTemplate);
+		now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+	}
+
+	// ===== Rotation =====
+
+	@Test
+	void concurrentRotationsAllGetTheSameSuccessor() throws Exception {
+		RefreshToken token = issue(1L);
+
+		List<Rotation> rotations = rotateConcurrently(token.getToken(), 8);
+
+		assertEquals(1, rotations.stream().filter(r -> r.status() == Rotation.Status.ROTATED).count());
+		assertTrue(rotations.stream().allMatch(r ->
+			r.status() == Rotation.Status.ROTATED || r.status() == Rotation.Status.GRACE));
+		Set<UUID> successors = rotations.stream().map(r -> r.successor().getToken()).collect(Collectors.toSet());
+		assertEquals(1, successors.size());
+	}
+
+	@Test
+	void replayWithinTheGraceWindowYieldsTheSuccessor() {
+		RefreshToken token = issue(1L);
+		UUID successor = rotate(token.getToken());
+
+		Rotation replay = rotate(token.getToken(), now.plusSeconds(5));
+
+		assertEquals(Rotation.Status.GRACE, replay.status());
+		assertEquals(successor, replay.successor().getToken());
+	}
+
+	@Test
+	void replayAfterTheGraceWindowRevokesTheFamily() {
+		RefreshToken token = issue(1L);
+		UUID successor = rotate(token.getToken());
+
+		assertEquals(Rotation.Status.REUSED, rotate(token.getToken(), now.plus(GRACE).plusSeconds(1)).status());
+
+		assertTrue(store.findByToken(successor).orElseThrow().isRevoked());
+	}
+
+	@Test
+	void replayAfterTheFamilyWasRevokedIsRejected() {
+		RefreshToken token = issue(1L);
+		UUID successor = rotate(token.getToken());
+		store.revokeFamily(token.getFamilyId());
+
+		assertEquals(Rotation.Status.INVALID, rotate(token.getToken(), now.plusSeconds(5)).status());
+		assertEquals(Rotation.Status.REUSED, rotate(successor, now.plusSeconds(5)).status());
+	}
+
+	// ===== Revocation and purge =====
+
+	@Test
+	void purgeDeletesRotatedAndRevokedTokens() {
+		RefreshToken first = issue(1L);
+		UUID rotated = rotate(first.getToken());
+		RefreshToken other = issue(1L);
+		store.revokeAllOfUser(1L);
+		RefreshToken kept = issue(2L);
+
+		// first and its successor, plus the other family's revoked token
+		assertEquals(3, store.deleteAllOfUsers(new Long[]{1L}));
+
+		assertTrue(store.findByToken(first.getToken()).isEmpty());
+		assertTrue(store.findByToken(rotated).isEmpty());
+		assertTrue(store.findByToken(other.getToken()).isEmpty());
+		assertTrue(store.findByToken(kept.getToken()).isPresent());
+		assertTrue(redisTemplate.keys("partii:refresh-*").stream().noneMatch(key -> key.endsWith(":1")));
+	}
+
+	@Test
+	void revokedTokensStayUntilTheyExpire() {
+		RefreshToken token = issue(1L);
+		UUID successor = rotate(token.getToken());
+
+		store.revokeFamily(token.getFamilyId());
+
+		assertTrue(store.findByToken(token.getToken()).orElseThrow().isRevoked());
+		assertTrue(store.findByToken(successor).orElseThrow().isRevoked());
+	}
+
+	private RefreshToken issue(Long userId) {
+		RefreshToken token = RefreshToken.builder()
+			.token(UUID.randomUUID())
+			.userId(userId)
+			.familyId(UUID.randomUUID())
+			.issuedAt(now)
+			.expiresAt(now.plus(7, ChronoUnit.DAYS))
+			.revoked(false)
+			.build();
+		store.save(token);
+		return token;
+	}
+
+	private UUID rotate(UUID token) {
+		Rotation rotation = rotate(token, now);
+		assertEquals(Rotation.Status.ROTATED, rotation.status());
+		return rotation.successor().getToken();
+	}
+
+	private Rotation rotate(UUID token, Instant at) {
+		return store.rotate(token, UUID.randomUUID(), at, at.plus(7, ChronoUnit.DAYS), GRACE);
+	}
+
+	private List<Rotation> rotateConcurrently(UUID token, int callers) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(callers);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Callable<Rotation>> calls = IntStream.range(0, callers)
+				.<Callable<Rotation>>mapToObj(i -> () -> {
+					start.await();
+					return rotate(token, now);
+				})
+				.toList();
+			List<Future<Rotation>> futures = calls.stream().map(executor::submit).toList();
+			start.countDown();
+			List<Rotation> rotations = new ArrayList<>();
+			for (Future<Rotation> future : futures) {
+				rotations.add(future.get());
+			}
+			return rotations;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.theinside.partii.security;
+
+import com.theinside.partii.repository.EmailVerificationTokenRepository;
+import com.theinside.partii.repository.PasswordResetTokenRepository;
+import com.theinside.partii.repository.RefreshTokenRepository;
+import com.theinside.partii.scheduler.SchedulerLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class TokenCleanupSchedulerTest {
+
+	private static final Duration LEASE_TTL = Duration.ofMinutes(5);
+
+	private RefreshTokenRepository refreshTokenRepository;
+	private RefreshTokenStore refreshTokenStore;
+	private SchedulerLease schedulerLease;
+	private TokenCleanupScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		refreshTokenRepository = mock(RefreshTokenRepository.class);
+		refreshTokenStore = mock(RefreshTokenStore.class);
+		schedulerLease = mock(SchedulerLease.class);
+		scheduler = new TokenCleanupScheduler(refreshTokenRepository, refreshTokenStore,
+			mock(EmailVerificationTokenRepository.class), mock(PasswordResetTokenRepository.class),
+			schedulerLease, 2, Duration.ofSeconds(10), LEASE_TTL);
+		when(refreshTokenStore.needsCleanup()).thenReturn(true);
+		when(schedulerLease.tryAcquire("refresh-token-cleanup", LEASE_TTL)).thenReturn("lease");
+	}
+
+	@Test
+	void deletesOnlyExpiredTokensUntilABatchComesBackShort() {
+		when(refreshTokenRepository.deleteExpiredBatch(any(), eq(2))).thenReturn(2, 2, 1);
+
+		scheduler.cleanupRefreshTokens();
+
+		// Revoked tokens are kept until they expire, for reuse detection
+		verify(refreshTokenRepository, times(3)).deleteExpiredBatch(any(), eq(2));
+		verifyNoMoreInteractions(refreshTokenRepository);
+		verify(schedulerLease).release("refresh-token-cleanup", "lease");
+	}
+
+	@Test
+	void looksUpTheBacklogOnlyWhenTheBudgetRanOut() {
+		scheduler = new TokenCleanupScheduler(refreshTokenRepository, refreshTokenStore,
+			mock(EmailVerificationTokenRepository.class), mock(PasswordResetTokenRepository.class),
+			schedulerLease, 2, Duration.ZERO, LEASE_TTL);
+		when(refreshTokenRepository.findOldestExpiresAt(any())).thenReturn(Instant.now().minusSeconds(60));
+
+		scheduler.cleanupRefreshTokens();
+
+		verify(refreshTokenRepository, never()).deleteExpiredBatch(any(), anyInt());
+		verify(refreshTokenRepository).findOldestExpiresAt(any());
+	}
+
+	@Test
+	void skipsStoresWhoseTokensExpireOnTheirOwn() {
+		when(refreshTokenStore.needsCleanup()).thenReturn(false);
+
+		scheduler.cleanupRefreshTokens();
+
+		verifyNoInteractions(refreshTokenRepository, schedulerLease);
+	}
+
+	@Test
+	void skipsWhileAnotherReplicaHoldsTheLease() {
+		when(schedulerLease.tryAcquire("refresh-token-cleanup", LEASE_TTL)).thenReturn(null);
+
+		scheduler.cleanupRefreshTokens();
+
+		verify(refreshTokenRepository, never()).deleteExpiredBatch(any(), anyInt());
+	}
+}
@@ -0,0 +1,112 @@
+package com.theinside.partii.service;
+
+import com.theinside.partii.cache.EventCache;
+import com.theinside.partii.entity.AccountPurgeRun;
+import com.theinside.partii.feed.EventFeedSnapshots;
+import com.theinside.partii.repository.AccountPurgeRunRepository;
+import com.theinside.partii.repository.ContributionItemRepository;
+import com.theinside.partii.repository.EventAttendeeRepository;
+import com.theinside.partii.repository.EventRepository;
+import com.theinside.partii.repository.UserBlockRepository;
+import com.theinside.partii.repository.UserReportRepository;
+import com.theinside.partii.repository.UserRepository;
+import com.theinside.partii.security.RefreshTokenStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AccountPurgeServiceImplTest {
+
+	private static final Long RUN_ID = 1L;
+	private static final Instant CUTOFF = Instant.parse("2026-01-01T00:00:00Z");
+	private static final Long[] USER_IDS = {11L, 12L};
+
+	private AccountPurgeRunRepository runRepository;
+	private UserRepository userRepository;
+	private EventRepository eventRepository;
+	private EventAttendeeRepository attendeeRepository;
+	private ContributionItemRepository contributionItemRepository;
+	private RefreshTokenStore refreshTokenStore;
+	private WaitlistService waitlistService;
+	private EventCache eventCache;
+	private EventFeedSnapshots eventFeedSnapshots;
+	private AccountPurgeRun run;
+	private AccountPurgeServiceImpl purgeService;
+
+	@BeforeEach
+	void setUp() {
+		runRepository = mock(AccountPurgeRunRepository.class);
+		userRepository = mock(UserRepository.class);
+		eventRepository = mock(EventRepository.class);
+		attendeeRepository = mock(EventAttendeeRepository.class);
+		contributionItemRepository = mock(ContributionItemRepository.class);
+		refreshTokenStore = mock(RefreshTokenStore.class);
+		waitlistService = mock(WaitlistService.class);
+		eventCache = mock(EventCache.class);
+		eventFeedSnapshots = mock(EventFeedSnapshots.class);
+		purgeService = new AccountPurgeServiceImpl(runRepository, userRepository, eventRepository,
+			attendeeRepository, contributionItemRepository, mock(UserBlockRepository.class),
+			mock(UserReportRepository.class), refreshTokenStore, waitlistService, eventCache, eventFeedSnapshots);
+
+		run = AccountPurgeRun.builder().id(RUN_ID).cutoff(CUTOFF).lastUserId(10L).build();
+		when(runRepository.findWithLockById(RUN_ID)).thenReturn(Optional.of(run));
+	}
+
+	@Test
+	void erasesLiveAndArchivedRecordsOfTheBatch() {
+		when(userRepository.lockPurgeBatch(CUTOFF, 10L, 2)).thenReturn(List.of(11L, 12L));
+		when(eventRepository.releaseSeatsOfUsers(eq(USER_IDS), any())).thenReturn(List.of());
+		when(attendeeRepository.deleteByUserIds(USER_IDS)).thenReturn(3);
+		when(attendeeRepository.deleteArchivedByUserIds(USER_IDS)).thenReturn(4);
+		when(contributionItemRepository.releaseAssignmentsOfUsers(eq(USER_IDS), any())).thenReturn(1);
+		when(contributionItemRepository.releaseArchivedAssignmentsOfUsers(USER_IDS)).thenReturn(2);
+		when(userRepository.anonymizeUsers(eq(USER_IDS), any())).thenReturn(2);
+
+		assertEquals(2, purgeService.purgeBatch(RUN_ID, 2));
+
+		verify(attendeeRepository).deleteArchivedByUserIds(USER_IDS);
+		verify(contributionItemRepository).releaseArchivedAssignmentsOfUsers(USER_IDS);
+		verify(refreshTokenStore).deleteAllOfUsers(USER_IDS);
+		assertEquals(12L, run.getLastUserId());
+		assertEquals(2, run.getAccountsPurged());
+		// 3 + 4 attendees, 1 + 2 items, 2 users
+		assertEquals(12, run.getRowsAffected());
+	}
+
+	@Test
+	void notifiesEventsThatGotSeatsBack() {
+		when(userRepository.lockPurgeBatch(CUTOFF, 10L, 2)).thenReturn(List.of(11L, 12L));
+		when(eventRepository.releaseSeatsOfUsers(eq(USER_IDS), any())).thenReturn(List.of(7L));
+
+		purgeService.purgeBatch(RUN_ID, 2);
+
+		verify(eventCache).invalidateEvent(7L);
+		verify(eventFeedSnapshots).refresh(7L);
+		verify(waitlistService).capacityChanged(7L);
+	}
+
+	@Test
+	void doesNothingOnceNoAccountIsLeft() {
+		when(userRepository.lockPurgeBatch(any(), anyLong(), anyInt())).thenReturn(List.of());
+
+		assertEquals(0, purgeService.purgeBatch(RUN_ID, 2));
+
+		verify(userRepository, never()).anonymizeUsers(any(), any());
+		verifyNoInteractions(eventRepository, attendeeRepository, contributionItemRepository, refreshTokenStore);
+		assertEquals(0, run.getBatches());
+	}
+}
@@ -0,0 +1,103 @@
+package com.theinside.partii.service;
+
+import com.theinside.partii.entity.Event;
+import com.theinside.partii.feed.EventFeedSnapshots;
+import com.theinside.partii.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SeatReservationServiceImplTest {
+
+	private static final Long EVENT_ID = 7L;
+
+	private EventRepository eventRepository;
+	private EventFeedSnapshots eventFeedSnapshots;
+	private EntityManager entityManager;
+	private SeatReservationServiceImpl service;
+	private Event event;
+
+	@BeforeEach
+	void setUp() {
+		eventRepository = mock(EventRepository.class);
+		eventFeedSnapshots = mock(EventFeedSnapshots.class);
+		entityManager = mock(EntityManager.class);
+		service = new SeatReservationServiceImpl(eventRepository, eventFeedSnapshots, entityManager);
+		event = Event.builder().id(EVENT_ID).build();
+		when(entityManager.getReference(Event.class, EVENT_ID)).thenReturn(event);
+	}
+
+	@Test
+	void reserveRefreshesTheLoadedEvent() {
+		when(eventRepository.reserveSeats(eq(EVENT_ID), eq(2), any())).thenReturn(1);
+
+		assertTrue(service.tryReserve(EVENT_ID, 2));
+
+		verify(entityManager).refresh(event);
+		verify(eventFeedSnapshots).refresh(EVENT_ID);
+	}
+
+	@Test
+	void reserveWithoutRoomLeavesTheEventAlone() {
+		when(eventRepository.reserveSeats(eq(EVENT_ID), eq(1), any())).thenReturn(0);
+
+		assertFalse(service.tryReserve(EVENT_ID));
+
+		verify(entityManager, never()).refresh(any());
+		verifyNoInteractions(eventFeedSnapshots);
+	}
+
+	@Test
+	void reservingNoSeatsTouchesNothing() {
+		assertTrue(service.tryReserve(EVENT_ID, 0));
+
+		verify(eventRepository, never()).reserveSeats(anyLong(), anyInt(), any());
+		verify(entityManager, never()).refresh(any());
+	}
+
+	@Test
+	void releaseRefreshesTheLoadedEvent() {
+		when(eventRepository.releaseSeats(eq(EVENT_ID), eq(1), any())).thenReturn(1);
+
+		service.release(EVENT_ID);
+
+		verify(entityManager).refresh(event);
+		verify(eventFeedSnapshots).refresh(EVENT_ID);
+	}
+
+	@Test
+	void releasingMoreSeatsThanTakenChangesNothing() {
+		when(eventRepository.releaseSeats(eq(EVENT_ID), eq(3), any())).thenReturn(0);
+
+		service.release(EVENT_ID, 3);
+
+		verify(entityManager, never()).refresh(any());
+		verifyNoInteractions(eventFeedSnapshots);
+	}
+
+	@Test
+	void syncFlushesPendingChangesBeforeRecomputingStatus() {
+		when(eventRepository.syncCapacityStatus(EVENT_ID)).thenReturn(1);
+
+		service.syncCapacityStatus(EVENT_ID);
+
+		InOrder order = inOrder(entityManager, eventRepository);
+		order.verify(entityManager).flush();
+		order.verify(eventRepository).syncCapacityStatus(EVENT_ID);
+		order.verify(entityManager).refresh(event);
+	}
+}
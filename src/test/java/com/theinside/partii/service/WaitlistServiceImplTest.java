@@ -0,0 +1,96 @@
+package com.theinside.partii.service;
+
+import com.theinside.partii.cache.EventCache;
+import com.theinside.partii.enums.AttendeeStatus;
+import com.theinside.partii.repository.EventAttendeeRepository;
+import com.theinside.partii.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WaitlistServiceImplTest {
+
+	private static final String CHANGED_EVENTS_KEY = "partii:waitlist:changed";
+
+	private EventRepository eventRepository;
+	private EventAttendeeRepository attendeeRepository;
+	private EventCache eventCache;
+	private SetOperations<String, String> setOperations;
+	private WaitlistServiceImpl waitlistService;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		eventRepository = mock(EventRepository.class);
+		attendeeRepository = mock(EventAttendeeRepository.class);
+		eventCache = mock(EventCache.class);
+		StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+		setOperations = mock(SetOperations.class);
+		when(redisTemplate.opsForSet()).thenReturn(setOperations);
+		waitlistService = new WaitlistServiceImpl(eventRepository, attendeeRepository, eventCache, redisTemplate);
+	}
+
+	@Test
+	void recordsChangesInRedis() {
+		waitlistService.capacityChanged(7L);
+
+		verify(setOperations).add(CHANGED_EVENTS_KEY, "7");
+	}
+
+	@Test
+	void drainsChangesRecordedByAnyNode() {
+		when(setOperations.pop(eq(CHANGED_EVENTS_KEY), anyLong())).thenReturn(List.of("7", "9"));
+
+		assertEquals(Set.of(7L, 9L), waitlistService.drainChangedEvents());
+	}
+
+	@Test
+	void keepsChangesLocallyWhileRedisIsDown() {
+		when(setOperations.add(eq(CHANGED_EVENTS_KEY), anyString()))
+			.thenThrow(new RedisConnectionFailureException("down"));
+		when(setOperations.pop(eq(CHANGED_EVENTS_KEY), anyLong()))
+			.thenThrow(new RedisConnectionFailureException("down"));
+
+		waitlistService.capacityChanged(7L);
+
+		assertEquals(Set.of(7L), waitlistService.drainChangedEvents());
+		assertEquals(Set.of(), waitlistService.drainChangedEvents());
+	}
+
+	@Test
+	void promotesOnlyTheShortfallOfPendingRequests() {
+		when(eventRepository.lockFreeSeats(7L)).thenReturn(Optional.of(5));
+		when(attendeeRepository.countByEventIdAndStatus(7L, AttendeeStatus.PENDING)).thenReturn(2L);
+		when(attendeeRepository.promoteFromWaitlist(7L, 3)).thenReturn(3);
+
+		assertEquals(3, waitlistService.promote(7L));
+
+		verify(eventCache).invalidateEvent(7L);
+	}
+
+	@Test
+	void promotesNothingWhenPendingRequestsCoverTheFreeSeats() {
+		when(eventRepository.lockFreeSeats(7L)).thenReturn(Optional.of(2));
+		when(attendeeRepository.countByEventIdAndStatus(7L, AttendeeStatus.PENDING)).thenReturn(2L);
+
+		assertEquals(0, waitlistService.promote(7L));
+
+		verify(attendeeRepository, never()).promoteFromWaitlist(anyLong(), anyInt());
+	}
+}
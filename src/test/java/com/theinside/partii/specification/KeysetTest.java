@@ -0,0 +1,99 @@
+package com.theinside.partii.specification;
+
+import com.theinside.partii.exception.BadRequestException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KeysetTest {
+
+	private static final Instant CREATED = Instant.parse("2026-03-01T10:15:30Z");
+
+	private final Keyset<Row> keyset = Keyset.of(Sort.by(Sort.Direction.DESC, "createdAt"));
+
+	@Test
+	void appendsIdInTheDirectionOfTheLastKey() {
+		assertEquals(
+			List.of(Sort.Order.desc("createdAt"), Sort.Order.desc("id")),
+			keyset.sort().toList());
+		assertEquals(
+			List.of(Sort.Order.asc("id")),
+			Keyset.<Row>of(Sort.unsorted()).sort().toList());
+	}
+
+	@Test
+	void keepsAnExplicitIdKey() {
+		Keyset<Row> explicit = Keyset.of(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.desc("id")));
+
+		assertEquals(List.of(Sort.Order.asc("createdAt"), Sort.Order.desc("id")), explicit.sort().toList());
+	}
+
+	@Test
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	void afterMatchesRowsStrictlyBeyondTheCursor() {
+		Root<Row> root = mock(Root.class);
+		Path<Object> createdAt = mock(Path.class);
+		Path<Object> id = mock(Path.class);
+		when(root.get("createdAt")).thenReturn(createdAt);
+		when(root.get("id")).thenReturn(id);
+		CriteriaBuilder cb = mock(CriteriaBuilder.class);
+
+		String cursor = keyset.cursorFor(new Row(7L, CREATED));
+		keyset.after(cursor).toPredicate(root, mock(CriteriaQuery.class), cb);
+
+		// (createdAt < c) OR (createdAt = c AND id < 7)
+		verify(cb).lessThan(any(), (Comparable) eq(CREATED));
+		verify(cb).equal(createdAt, CREATED);
+		verify(cb).lessThan(any(), (Comparable) eq(7L));
+		verify(cb).or(any(Predicate[].class));
+	}
+
+	@Test
+	void rejectsMalformedCursors() {
+		assertThrows(BadRequestException.class, () -> keyset.after("%%%"));
+		assertThrows(BadRequestException.class, () -> keyset.after(
+			Base64.getUrlEncoder().encodeToString("L1".getBytes())));
+		assertThrows(BadRequestException.class, () -> keyset.after(
+			Base64.getUrlEncoder().encodeToString("Xfoo|L1".getBytes())));
+	}
+
+	@Test
+	void rejectsNullSortKeys() {
+		assertThrows(IllegalStateException.class, () -> keyset.cursorFor(new Row(7L, null)));
+	}
+
+	public static class Row {
+
+		private final Long id;
+		private final Instant createdAt;
+
+		Row(Long id, Instant createdAt) {
+			this.id = id;
+			this.createdAt = createdAt;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public Instant getCreatedAt() {
+			return createdAt;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.theinside.partii.utils.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoHashTest {
+
+	@Test
+	void encodesKnownPoints() {
+		assertEquals("u4pruydqq", GeoHash.encode(57.64911, 10.40744, 9));
+		assertEquals("ezs42", GeoHash.encode(42.6, -5.6, 5));
+		assertEquals("s0000", GeoHash.encode(0.0, 0.0, 5));
+	}
+
+	@Test
+	void longerHashesRefineShorterOnes() {
+		String hash = GeoHash.encode(5.6037, -0.1870, GeoHash.STORED_PRECISION);
+
+		assertTrue(hash.startsWith(GeoHash.encode(5.6037, -0.1870, 4)));
+	}
+
+	@Test
+	void coveringCellsContainEveryPointOfTheBox() {
+		GeoBoundingBox box = GeoBoundingBox.around(5.6037, -0.1870, 10);
+		Set<String> cells = GeoHash.coveringCells(box);
+
+		assertTrue(cells.size() >= 1 && cells.size() <= 4);
+		int precision = cells.iterator().next().length();
+		for (double lat = box.minLatitude(); lat <= box.maxLatitude(); lat += (box.maxLatitude() - box.minLatitude()) / 10) {
+			for (double lng = box.minLongitude(); lng <= box.maxLongitude(); lng += (box.maxLongitude() - box.minLongitude()) / 10) {
+				assertTrue(cells.contains(GeoHash.encode(lat, lng, precision)));
+			}
+		}
+	}
+
+	@Test
+	void coveringCellsAreEmptyForBoxesWiderThanAnyCell() {
+		assertTrue(GeoHash.coveringCells(GeoBoundingBox.around(0, 0, 5000)).isEmpty());
+	}
+
+	@Test
+	void cellSizesHalveAlternately() {
+		assertEquals(45.0, GeoHash.cellWidth(1));
+		assertEquals(45.0, GeoHash.cellHeight(1));
+		assertEquals(11.25, GeoHash.cellWidth(2));
+		assertEquals(5.625, GeoHash.cellHeight(2));
+	}
+}